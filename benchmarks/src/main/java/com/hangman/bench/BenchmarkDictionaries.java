@@ -0,0 +1,52 @@
+package com.hangman.bench;
+
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.DictionaryBuilder;
+import com.hangman.dictionary.MappedDictionary;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Synthetic dictionaries for benchmarks: every word has the same length, so a
+ * benchmark parameterised by word length measures exactly that length whatever
+ * word a game draws.
+ */
+final class BenchmarkDictionaries {
+
+    private static final int CATEGORIES = 8;
+
+    private static final Map<Long, Dictionary> CACHE = new ConcurrentHashMap<>();
+
+    private BenchmarkDictionaries() {
+    }
+
+    /**
+     * Returns a dictionary of {@code size} distinct random words of
+     * {@code wordLength} letters, spread over a few categories. The same arguments
+     * always produce the same words.
+     */
+    static Dictionary of(int size, int wordLength) {
+        if (Math.pow(26, wordLength) < size * 2.0) {
+            throw new IllegalArgumentException("Too few " + wordLength + "-letter words for size " + size);
+        }
+        return CACHE.computeIfAbsent(((long) size << 32) | wordLength, key -> build(size, wordLength));
+    }
+
+    private static Dictionary build(int size, int wordLength) {
+        SplittableRandom random = new SplittableRandom(31L * size + wordLength);
+        DictionaryBuilder builder = new DictionaryBuilder();
+        char[] letters = new char[wordLength];
+        while (builder.size() < size) {
+            for (int i = 0; i < wordLength; i++) {
+                letters[i] = (char) ('A' + random.nextInt(26));
+            }
+            builder.add(new String(letters), "Category " + (builder.size() % CATEGORIES));
+        }
+        Dictionary dictionary = MappedDictionary.wrap(builder.build());
+        // Build the difficulty index up front so the first resetGame() is not measured
+        dictionary.difficulty();
+        return dictionary;
+    }
+}
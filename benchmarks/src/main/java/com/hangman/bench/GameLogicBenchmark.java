@@ -0,0 +1,131 @@
+package com.hangman.bench;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.ManualClock;
+import com.hangman.dictionary.Dictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state cost of the calls a game server makes on every request.
+ *
+ * <p>Games run on a {@link ManualClock} so no timer is involved and a game never
+ * times out mid-measurement. {@code guessWord} includes one {@code resetGame()};
+ * subtract the {@code resetGame} score to get the cost of the guesses alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+
+    @Param({"5", "10", "20"})
+    public int wordLength;
+
+    @Param({"1000", "100000"})
+    public int dictionarySize;
+
+    private GameLogic game;
+    private char guessedLetter;
+
+    @Setup(Level.Trial)
+    public void createGame() {
+        Dictionary dictionary = BenchmarkDictionaries.of(dictionarySize, wordLength);
+        game = new GameLogic(dictionary, new ManualClock(), 42);
+    }
+
+    /**
+     * Starts each iteration from a game with about half of its letters guessed,
+     * plus one miss.
+     */
+    @Setup(Level.Iteration)
+    public void partlyGuessed() {
+        game.resetGame();
+        int wordMask = game.getWordMask();
+        int half = Integer.bitCount(wordMask) / 2;
+        for (int m = wordMask; m != 0 && half-- > 0; m &= m - 1) {
+            game.makeGuess(LetterMask.letter(Integer.numberOfTrailingZeros(m)));
+        }
+        int misses = LetterMask.ALL_LETTERS & ~wordMask;
+        if (misses != 0) {
+            game.makeGuess(LetterMask.letter(Integer.numberOfTrailingZeros(misses)));
+        }
+        guessedLetter = LetterMask.letter(Integer.numberOfTrailingZeros(wordMask));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        game.shutdown();
+    }
+
+    @Benchmark
+    public int resetGame() {
+        game.resetGame();
+        return game.getWordId();
+    }
+
+    /**
+     * Starts a game and guesses every letter of the word, so the last guess runs the
+     * winning branch of the win check.
+     */
+    @Benchmark
+    public boolean guessWord() {
+        game.resetGame();
+        for (int m = game.getWordMask(); m != 0; m &= m - 1) {
+            game.makeGuess(LetterMask.letter(Integer.numberOfTrailingZeros(m)));
+        }
+        return game.isGameWon();
+    }
+
+    /**
+     * A guess the game rejects because the letter was already guessed.
+     */
+    @Benchmark
+    public boolean makeGuessRepeated() {
+        return game.makeGuess(guessedLetter);
+    }
+
+    @Benchmark
+    public String getDisplayWord() {
+        return game.getDisplayWord();
+    }
+
+    /**
+     * Display word right after a new game, when it has to be built rather than read
+     * from the cache. Includes one {@code resetGame()}.
+     */
+    @Benchmark
+    public String getDisplayWordAfterReset() {
+        game.resetGame();
+        return game.getDisplayWord();
+    }
+
+    @Benchmark
+    public void getGuessedLetters(Blackhole blackhole) {
+        for (Character letter : game.getGuessedLetters()) {
+            blackhole.consume(letter);
+        }
+    }
+
+    @Benchmark
+    public boolean getGuessedLettersContains() {
+        return game.getGuessedLetters().contains(guessedLetter);
+    }
+}
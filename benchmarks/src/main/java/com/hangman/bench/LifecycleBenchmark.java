@@ -0,0 +1,77 @@
+package com.hangman.bench;
+
+import com.hangman.GameClock;
+import com.hangman.GameLogic;
+import com.hangman.ManualClock;
+import com.hangman.TimerWheel;
+import com.hangman.dictionary.Dictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating and shutting down games, and of starting the timer thread
+ * that real-time games schedule their countdowns on.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleBenchmark {
+
+    /** "manual" games have no timer; "system" games schedule on the shared timing wheel. */
+    @Param({"manual", "system"})
+    public String clock;
+
+    @Param({"1000", "100000"})
+    public int dictionarySize;
+
+    private Dictionary dictionary;
+    private long seed;
+
+    @Setup
+    public void loadDictionary() {
+        dictionary = BenchmarkDictionaries.of(dictionarySize, 10);
+        if (clock.equals("system")) {
+            // Start the shared wheel here; its one-off start is measured by timerWheelStartup
+            TimerWheel.shared();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int createAndShutdown() {
+        GameClock gameClock = clock.equals("system") ? GameClock.system() : new ManualClock();
+        GameLogic game = new GameLogic(dictionary, gameClock, seed++);
+        int wordId = game.getWordId();
+        game.shutdown();
+        return wordId;
+    }
+
+    /**
+     * Starts a fresh timing wheel thread, schedules one countdown on it and stops it:
+     * the one-off cost the first real-time game in a process pays.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    public boolean timerWheelStartup() {
+        TimerWheel wheel = new TimerWheel(10, TimeUnit.MILLISECONDS, "benchmark-timer-wheel");
+        TimerWheel.Timeout timeout = wheel.schedule(() -> { }, 60, TimeUnit.SECONDS);
+        boolean cancelled = timeout.cancel();
+        wheel.stop();
+        return cancelled;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hangman.bench;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.ManualClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The guess that completes a word: {@code makeGuess} plus the winning branch of
+ * {@code checkWinCondition()}, which stops the clock and scores the game.
+ *
+ * <p>Each invocation needs a game one letter from winning, so the game is prepared
+ * before every call. That setup is not measured, but JMH's per-invocation
+ * bookkeeping is, so compare results of this benchmark only with each other.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinConditionBenchmark {
+
+    @Param({"5", "10", "20"})
+    public int wordLength;
+
+    @Param({"1000", "100000"})
+    public int dictionarySize;
+
+    private GameLogic game;
+    private char lastLetter;
+
+    @Setup(Level.Trial)
+    public void createGame() {
+        game = new GameLogic(BenchmarkDictionaries.of(dictionarySize, wordLength), new ManualClock(), 42);
+    }
+
+    @Setup(Level.Invocation)
+    public void oneLetterLeft() {
+        game.resetGame();
+        int wordMask = game.getWordMask();
+        int last = 31 - Integer.numberOfLeadingZeros(wordMask);
+        for (int m = wordMask & ~(1 << last); m != 0; m &= m - 1) {
+            game.makeGuess(LetterMask.letter(Integer.numberOfTrailingZeros(m)));
+        }
+        lastLetter = LetterMask.letter(last);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        game.shutdown();
+    }
+
+    @Benchmark
+    public boolean winningGuess() {
+        return game.makeGuess(lastLetter);
+    }
+}
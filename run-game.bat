@@ -5,6 +5,10 @@ echo.
 REM Set JavaFX module path
 set PATH_TO_FX=C:\Users\S I F A T\Downloads\openjfx-24.0.2_windows-x64_bin-sdk\javafx-sdk-24.0.2\lib
 
+REM Jackson jars for the HTTP server, from the local Maven repository
+set JACKSON=%USERPROFILE%\.m2\repository\com\fasterxml\jackson
+set PATH_TO_JACKSON=%JACKSON%\core\jackson-core\2.15.2;%JACKSON%\core\jackson-databind\2.15.2;%JACKSON%\core\jackson-annotations\2.15.2
+
 REM Check if JavaFX path exists
 if not exist "%PATH_TO_FX%" (
     echo Error: JavaFX SDK not found at %PATH_TO_FX%
@@ -36,7 +40,7 @@ goto end
 echo Compiling manually...
 if not exist "target\classes" mkdir target\classes
 
-javac --module-path "%PATH_TO_FX%" --add-modules javafx.controls,javafx.fxml -d target/classes src/main/java/com/hangman/*.java src/main/java/module-info.java
+javac --module-path "%PATH_TO_FX%;%PATH_TO_JACKSON%" --add-modules javafx.controls,javafx.fxml -d target/classes src/main/java/com/hangman/*.java src/main/java/com/hangman/dictionary/*.java src/main/java/com/hangman/solver/*.java src/main/java/com/hangman/sim/*.java src/main/java/com/hangman/journal/*.java src/main/java/com/hangman/leaderboard/*.java src/main/java/com/hangman/server/*.java src/main/java/com/hangman/metrics/*.java src/main/java/module-info.java
 if %errorlevel% neq 0 (
     echo Compilation failed!
     pause
@@ -7,6 +7,10 @@ Write-Host ""
 # Set JavaFX module path
 $PATH_TO_FX = "C:\Users\S I F A T\Downloads\openjfx-24.0.2_windows-x64_bin-sdk\javafx-sdk-24.0.2\lib"
 
+# Jackson jars for the HTTP server, from the local Maven repository
+$JACKSON = "$env:USERPROFILE\.m2\repository\com\fasterxml\jackson\core"
+$PATH_TO_JACKSON = "$JACKSON\jackson-core\2.15.2;$JACKSON\jackson-databind\2.15.2;$JACKSON\jackson-annotations\2.15.2"
+
 # Check if JavaFX path exists
 if (-not (Test-Path $PATH_TO_FX)) {
     Write-Host "Error: JavaFX SDK not found at $PATH_TO_FX" -ForegroundColor Red
@@ -50,7 +54,7 @@ if (-not (Test-Path "target\classes")) {
 
 # Compile the Java files
 try {
-    javac --module-path $PATH_TO_FX --add-modules javafx.controls,javafx.fxml -d target/classes src/main/java/com/hangman/*.java src/main/java/module-info.java
+    javac --module-path "$PATH_TO_FX;$PATH_TO_JACKSON" --add-modules javafx.controls,javafx.fxml -d target/classes src/main/java/com/hangman/*.java src/main/java/com/hangman/dictionary/*.java src/main/java/com/hangman/solver/*.java src/main/java/com/hangman/sim/*.java src/main/java/com/hangman/journal/*.java src/main/java/com/hangman/leaderboard/*.java src/main/java/com/hangman/server/*.java src/main/java/com/hangman/metrics/*.java src/main/java/module-info.java
     
     if ($LASTEXITCODE -eq 0) {
         Write-Host "Compilation successful!" -ForegroundColor Green
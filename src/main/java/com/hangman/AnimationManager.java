@@ -0,0 +1,304 @@
+package com.hangman;
+
+import javafx.animation.Animation;
+import javafx.scene.Node;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Plays the UI's decorative animations, one reusable instance per node and
+ * {@link Kind}.
+ *
+ * <p>The first {@link #play} of a kind on a node builds its animation with the
+ * given factory and keeps it in the node's properties; later calls replay the
+ * same instance, so nothing is allocated per event. Playing a kind that is
+ * already running restarts it rather than stacking a second copy, and an
+ * animation that runs forever, like the timer pulse, is left alone. Starting a
+ * kind stops any other running kind on the node that drives the same property,
+ * so a hover and a success bounce never fight over the scale. At most
+ * {@value #MAX_RUNNING} animations run at once; past that a request is dropped
+ * and the node is put straight into its resting state.
+ *
+ * <p>{@link #getStats()} returns counters for checking that animations are not
+ * leaking. Must be used on the FX thread.
+ */
+final class AnimationManager {
+
+    static final int MAX_RUNNING = 32;
+
+    private static final AnimationManager SHARED = new AnimationManager();
+    private static final String PROPERTY_KEY = AnimationManager.class.getName();
+
+    /**
+     * The animated property an animation changes, and how to put it back at rest.
+     */
+    enum Channel {
+        SCALE {
+            @Override
+            void rest(Node node) {
+                node.setScaleX(1.0);
+                node.setScaleY(1.0);
+            }
+        },
+        TRANSLATE_X {
+            @Override
+            void rest(Node node) {
+                node.setTranslateX(0);
+            }
+        },
+        TRANSLATE_Y {
+            @Override
+            void rest(Node node) {
+                node.setTranslateY(0);
+            }
+        },
+        OPACITY {
+            @Override
+            void rest(Node node) {
+                node.setOpacity(1.0);
+            }
+        },
+        EFFECT {
+            @Override
+            void rest(Node node) {
+                node.setEffect(null);
+            }
+        };
+
+        abstract void rest(Node node);
+    }
+
+    /**
+     * The kinds of animation, each on one {@link Channel}.
+     */
+    enum Kind {
+        HOVER_IN(Channel.SCALE),
+        HOVER_OUT(Channel.SCALE),
+        SUCCESS(Channel.SCALE),
+        PULSE(Channel.SCALE),
+        ERROR(Channel.TRANSLATE_X),
+        SLIDE_IN(Channel.TRANSLATE_X),
+        BOUNCE(Channel.TRANSLATE_Y),
+        FADE_IN(Channel.OPACITY),
+        GLOW(Channel.EFFECT);
+
+        final Channel channel;
+
+        Kind(Channel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private int running;
+    private int peakRunning;
+    private long created;
+    private long played;
+    private long restarted;
+    private long deduplicated;
+    private long cancelled;
+    private long dropped;
+
+    static AnimationManager shared() {
+        return SHARED;
+    }
+
+    /**
+     * Plays an animation of a kind on a node, building it with the factory the
+     * first time. Returns whether it is running afterwards.
+     */
+    boolean play(Node node, Kind kind, Function<? super Node, ? extends Animation> factory) {
+        Animation[] animations = animations(node);
+        Animation animation = animations[kind.ordinal()];
+        if (animation != null && animation.getStatus() == Animation.Status.RUNNING) {
+            if (animation.getCycleCount() == Animation.INDEFINITE) {
+                deduplicated++;
+            } else {
+                restarted++;
+                animation.playFromStart();
+            }
+            return true;
+        }
+        for (Kind other : KINDS) {
+            Animation conflicting = animations[other.ordinal()];
+            if (other != kind && other.channel == kind.channel && conflicting != null
+                && conflicting.getStatus() == Animation.Status.RUNNING) {
+                conflicting.stop();
+                cancelled++;
+            }
+        }
+        if (running >= MAX_RUNNING) {
+            dropped++;
+            kind.channel.rest(node);
+            return false;
+        }
+        if (animation == null) {
+            animation = factory.apply(node);
+            animation.statusProperty().addListener((observable, before, after) -> {
+                if (before == Animation.Status.RUNNING) {
+                    running--;
+                }
+                if (after == Animation.Status.RUNNING) {
+                    peakRunning = Math.max(peakRunning, ++running);
+                }
+            });
+            animations[kind.ordinal()] = animation;
+            created++;
+        }
+        played++;
+        animation.playFromStart();
+        return true;
+    }
+
+    /**
+     * Returns the animation of a kind kept for a node, or null if none has been
+     * built yet, so a caller can adjust it before the next {@link #play}.
+     */
+    Animation get(Node node, Kind kind) {
+        Animation[] animations = existingAnimations(node);
+        return animations == null ? null : animations[kind.ordinal()];
+    }
+
+    /**
+     * Stops an animation of a kind on a node, if there is one, and puts the node
+     * back at rest.
+     */
+    void stop(Node node, Kind kind) {
+        Animation[] animations = existingAnimations(node);
+        Animation animation = animations == null ? null : animations[kind.ordinal()];
+        if (animation != null && animation.getStatus() != Animation.Status.STOPPED) {
+            animation.stop();
+            kind.channel.rest(node);
+        }
+    }
+
+    /**
+     * Stops every animation on a node and puts it back at rest.
+     */
+    void stopAll(Node node) {
+        Animation[] animations = existingAnimations(node);
+        if (animations != null) {
+            for (Kind kind : KINDS) {
+                stop(node, kind);
+            }
+        }
+    }
+
+    /**
+     * Returns how many animations are running now.
+     */
+    int getRunning() {
+        return running;
+    }
+
+    Stats getStats() {
+        return new Stats(running, peakRunning, created, played, restarted, deduplicated, cancelled, dropped);
+    }
+
+    private Animation[] animations(Node node) {
+        Animation[] animations = existingAnimations(node);
+        if (animations == null) {
+            animations = new Animation[KINDS.length];
+            node.getProperties().put(PROPERTY_KEY, animations);
+        }
+        return animations;
+    }
+
+    private static Animation[] existingAnimations(Node node) {
+        return node.hasProperties() ? (Animation[]) node.getProperties().get(PROPERTY_KEY) : null;
+    }
+
+    /**
+     * The manager's counters at one moment.
+     */
+    static final class Stats {
+        private final int running;
+        private final int peakRunning;
+        private final long created;
+        private final long played;
+        private final long restarted;
+        private final long deduplicated;
+        private final long cancelled;
+        private final long dropped;
+
+        Stats(int running, int peakRunning, long created, long played, long restarted, long deduplicated,
+              long cancelled, long dropped) {
+            this.running = running;
+            this.peakRunning = peakRunning;
+            this.created = created;
+            this.played = played;
+            this.restarted = restarted;
+            this.deduplicated = deduplicated;
+            this.cancelled = cancelled;
+            this.dropped = dropped;
+        }
+
+        int getRunning() {
+            return running;
+        }
+
+        int getPeakRunning() {
+            return peakRunning;
+        }
+
+        /**
+         * Returns how many animation instances were ever built.
+         */
+        long getCreated() {
+            return created;
+        }
+
+        /**
+         * Returns how many times an animation was started that was not already
+         * running.
+         */
+        long getPlayed() {
+            return played;
+        }
+
+        /**
+         * Returns how many requests restarted an animation that was still running.
+         */
+        long getRestarted() {
+            return restarted;
+        }
+
+        /**
+         * Returns how many requests were ignored because the same endless
+         * animation was already running.
+         */
+        long getDeduplicated() {
+            return deduplicated;
+        }
+
+        /**
+         * Returns how many running animations were stopped by another on the same
+         * property of the same node.
+         */
+        long getCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns how many requests were dropped because {@value AnimationManager#MAX_RUNNING}
+         * animations were already running.
+         */
+        long getDropped() {
+            return dropped;
+        }
+
+        String format() {
+            return String.format(Locale.ROOT,
+                "%d running (peak %d), %,d created, %,d played, %,d restarted, %,d deduplicated,"
+                    + " %,d cancelled, %,d dropped",
+                running, peakRunning, created, played, restarted, deduplicated, cancelled, dropped);
+        }
+
+        @Override
+        public String toString() {
+            return format();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.hangman;
+
+import com.hangman.metrics.LatencyHistogram;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whether the FX thread keeps up: the time between pulses, the time
+ * each pulse spends on animations, CSS and layout, the frames dropped and the
+ * number of running {@link AnimationManager} animations. Statistics are kept
+ * per game, from {@link #gameStarted()} to {@link #gameEnded()}.
+ *
+ * <p>The results can be shown in a small overlay in the corner of the window,
+ * printed as one line per game, or both. Start with
+ * {@code -Dhangman.frames=overlay}, {@code log} or {@code overlay,log}; the
+ * overlay can also be switched from the pause menu. While both are off nothing
+ * is registered with the scene, so the monitor costs nothing. While on, it
+ * keeps pulses coming at the display rate so that gaps show up as long
+ * intervals. Rendering itself happens on another thread and is not included in
+ * the pulse time.
+ *
+ * <p>Must be used on the FX thread.
+ */
+final class FrameMonitor {
+
+    static final String PROPERTY = "hangman.frames";
+
+    private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+    // A pulse interval longer than one and a half frames at 60 Hz skipped frames
+    private static final long DROPPED_FRAME_NANOS = FRAME_NANOS * 3 / 2;
+    private static final long OVERLAY_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final Node node;
+    private final LatencyHistogram intervals = new LatencyHistogram();
+    private final LatencyHistogram pulses = new LatencyHistogram();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulseStarted(now);
+        }
+    };
+    private final Runnable layoutDone = this::pulseEnded;
+    private final ChangeListener<Scene> sceneListener = (observable, before, scene) -> attach(scene);
+    private Scene scene;
+    private Label overlay;
+    private boolean overlayVisible;
+    private boolean logging;
+
+    private long pulseStart;
+    private long lastPulse;
+    private long lastOverlayUpdate;
+    private long dropped;
+    private int peakAnimations;
+    private int games;
+    private boolean inGame;
+    private long gameStart;
+    private long gameDropped;
+    private LatencyHistogram.Snapshot gameIntervals;
+    private LatencyHistogram.Snapshot gamePulses;
+
+    /**
+     * Creates a monitor for the scene that a node is or will be shown in.
+     */
+    FrameMonitor(Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Creates a monitor switched on as {@value #PROPERTY} says.
+     */
+    static FrameMonitor fromProperty(Node node) {
+        FrameMonitor monitor = new FrameMonitor(node);
+        String value = System.getProperty(PROPERTY, "").toLowerCase(Locale.ROOT);
+        boolean both = value.equals("true");
+        monitor.setLogging(both || value.contains("log"));
+        monitor.setOverlayVisible(both || value.contains("overlay"));
+        return monitor;
+    }
+
+    boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    void setOverlayVisible(boolean visible) {
+        boolean wasOn = isOn();
+        overlayVisible = visible;
+        if (overlay != null) {
+            overlay.setVisible(visible);
+        }
+        update(wasOn);
+    }
+
+    boolean isLogging() {
+        return logging;
+    }
+
+    void setLogging(boolean logging) {
+        boolean wasOn = isOn();
+        this.logging = logging;
+        update(wasOn);
+    }
+
+    /**
+     * Starts the statistics for a new game; a game still open is logged first.
+     */
+    void gameStarted() {
+        if (!isOn()) {
+            return;
+        }
+        gameEnded();
+        beginGame();
+    }
+
+    /**
+     * Ends the current game's statistics and logs them if logging is on.
+     */
+    void gameEnded() {
+        if (!inGame) {
+            return;
+        }
+        inGame = false;
+        if (logging) {
+            System.out.println("[frames] game " + games + ": " + format("; "));
+        }
+    }
+
+    // Measures from now on; when switched on mid-game the rest of it counts
+    private void beginGame() {
+        inGame = true;
+        games++;
+        gameStart = System.nanoTime();
+        gameDropped = dropped;
+        gameIntervals = intervals.snapshot();
+        gamePulses = pulses.snapshot();
+        peakAnimations = 0;
+    }
+
+    /**
+     * Stops measuring and removes the overlay.
+     */
+    void stop() {
+        boolean wasOn = isOn();
+        gameEnded();
+        overlayVisible = false;
+        logging = false;
+        update(wasOn);
+    }
+
+    private boolean isOn() {
+        return overlayVisible || logging;
+    }
+
+    // Registers with the scene while on and removes everything while off
+    private void update(boolean wasOn) {
+        if (isOn() == wasOn) {
+            return;
+        }
+        if (isOn()) {
+            node.sceneProperty().addListener(sceneListener);
+            attach(node.getScene());
+            lastPulse = 0;
+            beginGame();
+            timer.start();
+        } else {
+            timer.stop();
+            node.sceneProperty().removeListener(sceneListener);
+            detach();
+            inGame = false;
+        }
+    }
+
+    private void attach(Scene newScene) {
+        if (newScene == scene) {
+            return;
+        }
+        detach();
+        scene = newScene;
+        if (scene == null) {
+            return;
+        }
+        scene.addPostLayoutPulseListener(layoutDone);
+        if (scene.getRoot() instanceof Pane) {
+            overlay = new Label();
+            overlay.getStyleClass().add("frame-overlay");
+            overlay.setManaged(false);
+            overlay.setMouseTransparent(true);
+            overlay.setVisible(overlayVisible);
+            overlay.relocate(8, 8);
+            ((Pane) scene.getRoot()).getChildren().add(overlay);
+        }
+    }
+
+    private void detach() {
+        if (scene != null) {
+            scene.removePostLayoutPulseListener(layoutDone);
+            if (overlay != null) {
+                ((Pane) scene.getRoot()).getChildren().remove(overlay);
+                overlay = null;
+            }
+            scene = null;
+        }
+    }
+
+    private void pulseStarted(long now) {
+        if (lastPulse != 0) {
+            long interval = now - lastPulse;
+            intervals.record(interval);
+            if (interval > DROPPED_FRAME_NANOS) {
+                dropped += Math.round(interval / (double) FRAME_NANOS) - 1;
+            }
+        }
+        lastPulse = now;
+        pulseStart = now;
+        peakAnimations = Math.max(peakAnimations, AnimationManager.shared().getRunning());
+    }
+
+    private void pulseEnded() {
+        if (pulseStart == 0) {
+            return;
+        }
+        long end = System.nanoTime();
+        pulses.record(end - pulseStart);
+        pulseStart = 0;
+        if (overlay != null && overlayVisible && end - lastOverlayUpdate >= OVERLAY_REFRESH_NANOS) {
+            lastOverlayUpdate = end;
+            overlay.setText(format("\n"));
+            overlay.autosize();
+        }
+    }
+
+    // The current game's statistics
+    private String format(String separator) {
+        LatencyHistogram.Snapshot frameTimes = intervals.snapshot().since(gameIntervals);
+        LatencyHistogram.Snapshot pulseTimes = pulses.snapshot().since(gamePulses);
+        double seconds = (System.nanoTime() - gameStart) / (double) TimeUnit.SECONDS.toNanos(1);
+        return String.format(Locale.ROOT, "%,d frames (%.0f fps), %,d dropped", frameTimes.getCount(),
+                frameTimes.getCount() / Math.max(seconds, 1e-3), dropped - gameDropped)
+            + separator + "interval p50 " + millis(frameTimes.getPercentileNanos(50))
+            + " p99 " + millis(frameTimes.getPercentileNanos(99)) + " max " + millis(frameTimes.getMaxNanos())
+            + separator + "pulse p50 " + millis(pulseTimes.getPercentileNanos(50))
+            + " p99 " + millis(pulseTimes.getPercentileNanos(99)) + " max " + millis(pulseTimes.getMaxNanos())
+            + separator + AnimationManager.shared().getRunning() + " animations (peak " + peakAnimations + ")";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,53 @@
+package com.hangman;
+
+/**
+ * Monotonic time source for game countdowns.
+ *
+ * <p>Games normally use {@link #system()}. Headless tests and simulations can pass a
+ * {@link ManualClock} instead and advance it explicitly, so timed games run at full
+ * CPU speed without sleeping.
+ */
+public interface GameClock {
+
+    /**
+     * Returns the current time in nanoseconds. Like {@link System#nanoTime()}, only
+     * differences between two readings are meaningful.
+     */
+    long nanoTime();
+
+    /**
+     * Returns whether this clock follows real time. Only real-time clocks get an
+     * expiry registered with the shared {@link TimerWheel}; other clocks are checked
+     * lazily whenever the game is accessed.
+     */
+    default boolean isRealTime() {
+        return false;
+    }
+
+    /**
+     * Returns the clock backed by {@link System#nanoTime()}.
+     */
+    static GameClock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    /**
+     * Clock backed by {@link System#nanoTime()}.
+     */
+    final class SystemClock implements GameClock {
+        private static final SystemClock INSTANCE = new SystemClock();
+
+        private SystemClock() {
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public boolean isRealTime() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.hangman;
+
+/**
+ * Receives what happens in a {@link GameLogic} as it happens.
+ *
+ * <p>Callbacks run on the thread that changed the game, so they must be short and
+ * must not call back into mutating game methods. Guesses and hints are applied
+ * without the game's lock: when several threads guess the same word at once,
+ * their {@link #guessMade} calls may arrive in any order relative to each other.
+ * {@link #gameOver} comes once per game, after the {@code guessMade} of the
+ * guess that ended it and before the next game's {@link #gameStarted}, but a
+ * {@code guessMade} for a guess that did not end the game can still arrive after
+ * both; the round and state it carries tell which game it belongs to and what
+ * that guess left behind. Callers that keep one guess at a time per game, as the
+ * desktop game and the servers do, see events in the order they happened.
+ * Every callback gets the game clock reading the game itself used for the change,
+ * so the countdown can be reproduced exactly from the reported times.
+ */
+public interface GameEventListener {
+
+    /** Listener that ignores everything. */
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    /**
+     * Called when a new word is picked and its countdown starts.
+     */
+    default void gameStarted(GameLogic game, long clockNanos) {
+    }
+
+    /**
+     * Called for every accepted guess, before {@link #gameOver} if the guess ends
+     * the game. Repeated and invalid guesses are not reported. {@code round} is
+     * the {@link GameLogic#getRound() round} the guess was made in, and
+     * {@code guessedMask} and {@code wrongGuesses} are the game's state right
+     * after the guess; read from the game later, they may already include other
+     * threads' guesses.
+     */
+    default void guessMade(GameLogic game, int round, char letter, boolean correct, int guessedMask,
+                           int wrongGuesses, long clockNanos) {
+    }
+
+    /**
+     * Called when a hint is used.
+     */
+    default void hintUsed(GameLogic game, long clockNanos) {
+    }
+
+    /**
+     * Called when the countdown is paused.
+     */
+    default void timerPaused(GameLogic game, long clockNanos) {
+    }
+
+    /**
+     * Called when the countdown resumes after a pause.
+     */
+    default void timerResumed(GameLogic game, long clockNanos) {
+    }
+
+    /**
+     * Called once when the game is won, lost or runs out of time. {@code points} is
+     * what the game added to the score, zero unless won.
+     */
+    default void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+    }
+
+    /**
+     * Returns a listener that forwards every event to each of the given listeners
+     * in order.
+     */
+    static GameEventListener of(GameEventListener... listeners) {
+        GameEventListener[] all = listeners.clone();
+        if (all.length == 1) {
+            return all[0];
+        }
+        return new GameEventListener() {
+            @Override
+            public void gameStarted(GameLogic game, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.gameStarted(game, clockNanos);
+                }
+            }
+
+            @Override
+            public void guessMade(GameLogic game, int round, char letter, boolean correct, int guessedMask,
+                                  int wrongGuesses, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.guessMade(game, round, letter, correct, guessedMask, wrongGuesses, clockNanos);
+                }
+            }
+
+            @Override
+            public void hintUsed(GameLogic game, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.hintUsed(game, clockNanos);
+                }
+            }
+
+            @Override
+            public void timerPaused(GameLogic game, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.timerPaused(game, clockNanos);
+                }
+            }
+
+            @Override
+            public void timerResumed(GameLogic game, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.timerResumed(game, clockNanos);
+                }
+            }
+
+            @Override
+            public void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+                for (GameEventListener listener : all) {
+                    listener.gameOver(game, won, points, clockNanos);
+                }
+            }
+        };
+    }
+}
@@ -1,416 +1,546 @@
 package com.hangman;
 
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.DifficultyIndex;
+import com.hangman.dictionary.WordRotation;
+import com.hangman.metrics.GameEvents;
+import com.hangman.metrics.GameMetrics;
+
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+/**
+ * One player's game: the current word, the guesses made against it, the countdown
+ * and the running score.
+ *
+ * <p>Everything a guess changes (the guessed letters, the wrong guess count, the
+ * hints used and whether the game is over or won) is packed into one state word
+ * that {@link #makeGuess} and {@link #incrementHintCount} update with a single
+ * compare-and-set, so any number of threads may guess the same word at once, as
+ * in a cooperative game, without taking the lock. Each guess takes effect
+ * atomically at its compare-and-set, exactly one guess or timeout ends the game,
+ * and no guess is accepted after it. The word and the round number in the state
+ * word are replaced together when a new game starts, so a guess meant for the
+ * previous word can never land on the next one. The one guess that ends a game
+ * is made under the lock, as are starting a game, pausing and stopping the
+ * countdown, so a game is always scored and reported over before the next one
+ * starts.
+ */
 public class GameLogic {
-    private static final String[] WORDS = {
-        // Programming Languages & Frameworks
-        "JAVA", "PYTHON", "JAVASCRIPT", "TYPESCRIPT", "C_PLUS_PLUS", "C_SHARP", "RUST", "GO", "KOTLIN", "SWIFT",
-        "JAVAFX", "SPRING", "REACT", "ANGULAR", "VUE", "NODEJS", "EXPRESS", "DJANGO", "FLASK", "LARAVEL",
-        
-        // Computer Science Concepts
-        "ALGORITHM", "DATASTRUCTURE", "COMPLEXITY", "RECURSION", "ITERATION", "SORTING", "SEARCHING", "GRAPH", "TREE", "HEAP",
-        "QUEUE", "STACK", "LINKEDLIST", "ARRAY", "HASHTABLE", "BINARYTREE", "AVLTREE", "REDBLACKTREE", "BPLUSTREE",
-        
-        // Software Engineering
-        "ARCHITECTURE", "DESIGNPATTERN", "SOLID", "DRY", "KISS", "AGILE", "SCRUM", "KANBAN", "WATERFALL", "DEVOPS",
-        "CI_CD", "MICROSERVICES", "MONOLITH", "API", "REST", "GRAPHQL", "SOAP", "WEBSOCKET", "GRPC",
-        
-        // Database & Data
-        "DATABASE", "SQL", "NOSQL", "MONGODB", "POSTGRESQL", "MYSQL", "REDIS", "CASSANDRA", "ELASTICSEARCH", "KAFKA",
-        "DATAWAREHOUSE", "DATALAKE", "ETL", "OLTP", "OLAP", "NORMALIZATION", "INDEXING", "TRANSACTION", "ACID",
-        
-        // Web Technologies
-        "HTML", "CSS", "HTTP", "HTTPS", "DNS", "CDN", "SSL", "TLS", "JWT", "OAUTH", "CORS", "CSP", "SEO", "PWA",
-        
-        // Cloud & Infrastructure
-        "CLOUD", "AWS", "AZURE", "GCP", "DOCKER", "KUBERNETES", "TERRAFORM", "ANSIBLE", "JENKINS", "GITHUB",
-        "VIRTUALIZATION", "CONTAINERIZATION", "ORCHESTRATION", "SCALABILITY", "LOADBALANCING", "AUTOSCALING",
-        
-        // Artificial Intelligence & ML
-        "MACHINELEARNING", "DEEPLEARNING", "NEURALNETWORK", "TENSORFLOW", "PYTORCH", "SCIKIT", "REINFORCEMENT", "SUPERVISED",
-        "UNSUPERVISED", "CLASSIFICATION", "REGRESSION", "CLUSTERING", "NATURALLANGUAGE", "COMPUTERVISION", "ROBOTICS",
-        
-        // Cybersecurity
-        "ENCRYPTION", "HASHING", "AUTHENTICATION", "AUTHORIZATION", "PENETRATION", "VULNERABILITY", "MALWARE", "PHISHING",
-        "FIREWALL", "INTRUSION", "DETECTION", "PREVENTION", "SOC", "SIEM", "ZERO_TRUST", "MULTIFACTOR",
-        
-        // Computer Architecture
-        "PROCESSOR", "MEMORY", "CACHE", "BUS", "REGISTER", "PIPELINE", "MULTICORE", "HYPERTHREADING", "VIRTUALMEMORY",
-        "PAGING", "FRAGMENTATION", "BUFFER", "INTERRUPT", "DMA", "RAID", "SSD", "HDD",
-        
-        // Operating Systems
-        "OPERATINGSYSTEM", "KERNEL", "PROCESS", "THREAD", "SCHEDULING", "SYNCHRONIZATION", "DEADLOCK", "RACECONDITION",
-        "SEMAPHORE", "MUTEX", "MONITOR", "SIGNAL", "FORK", "EXEC", "PIPE", "SOCKET",
-        
-        // Networks & Communication
-        "NETWORK", "PROTOCOL", "TCP", "UDP", "IP", "ROUTING", "SWITCHING", "BANDWIDTH", "LATENCY", "THROUGHPUT",
-        "PACKET", "FRAME", "ETHERNET", "WIFI", "BLUETOOTH", "5G", "FIBER", "COAXIAL",
-        
-        // Academic & Research
-        "COMPILER", "INTERPRETER", "LEXER", "PARSER", "OPTIMIZATION", "COMPLEXITY", "THEORY", "COMPUTABILITY", "TURING",
-        "CHURCH", "P_NP", "NP_COMPLETE", "ALGORITHM", "HEURISTIC", "METAHEURISTIC", "GENETIC", "EVOLUTIONARY"
-    };
+    // Unique across the process and, in practice, across restarts
+    private static final AtomicLong SESSION_IDS = new AtomicLong(System.currentTimeMillis() << 20);
     
-
+    // State word layout, low to high: the guess mask (bits 0-25, bit 0 = 'A'),
+    // wrong guesses (26-29), game over (30), won (31), hints used (32-33) and the
+    // round, bumped by every new game (34-63)
+    private static final long MASK_BITS = LetterMask.ALL_LETTERS;
+    private static final int WRONG_SHIFT = 26;
+    private static final long ONE_WRONG = 1L << WRONG_SHIFT;
+    private static final long OVER = 1L << 30;
+    private static final long WON = 1L << 31;
+    private static final int HINT_SHIFT = 32;
+    private static final long ONE_HINT = 1L << HINT_SHIFT;
+    private static final int ROUND_SHIFT = 34;
+    private static final int ROUND_MASK = (1 << (Long.SIZE - ROUND_SHIFT)) - 1;
+    private static final AtomicLongFieldUpdater<GameLogic> STATE =
+        AtomicLongFieldUpdater.newUpdater(GameLogic.class, "state");
     
-    // Word-Category mapping for logical categorization
-    private static final Map<String, String> WORD_CATEGORIES = new HashMap<>();
-    
-    static {
-        // Programming Languages
-        WORD_CATEGORIES.put("JAVA", "Programming Languages");
-        WORD_CATEGORIES.put("PYTHON", "Programming Languages");
-        WORD_CATEGORIES.put("JAVASCRIPT", "Programming Languages");
-        WORD_CATEGORIES.put("C_PLUS_PLUS", "Programming Languages");
-        WORD_CATEGORIES.put("C_SHARP", "Programming Languages");
-        WORD_CATEGORIES.put("RUBY", "Programming Languages");
-        WORD_CATEGORIES.put("GO", "Programming Languages");
-        WORD_CATEGORIES.put("RUST", "Programming Languages");
-        WORD_CATEGORIES.put("SWIFT", "Programming Languages");
-        WORD_CATEGORIES.put("KOTLIN", "Programming Languages");
-        WORD_CATEGORIES.put("PHP", "Programming Languages");
-        WORD_CATEGORIES.put("SCALA", "Programming Languages");
-        WORD_CATEGORIES.put("HASKELL", "Programming Languages");
-        WORD_CATEGORIES.put("ELIXIR", "Programming Languages");
-        WORD_CATEGORIES.put("CLOJURE", "Programming Languages");
-        WORD_CATEGORIES.put("ERLANG", "Programming Languages");
-        WORD_CATEGORIES.put("F_SHARP", "Programming Languages");
-        WORD_CATEGORIES.put("DART", "Programming Languages");
-        WORD_CATEGORIES.put("PERL", "Programming Languages");
-        WORD_CATEGORIES.put("LUA", "Programming Languages");
-        
-        // Web Development
-        WORD_CATEGORIES.put("HTML", "Web Development");
-        WORD_CATEGORIES.put("CSS", "Web Development");
-        WORD_CATEGORIES.put("HTTP", "Web Development");
-        WORD_CATEGORIES.put("HTTPS", "Web Development");
-        WORD_CATEGORIES.put("DNS", "Web Development");
-        WORD_CATEGORIES.put("CDN", "Web Development");
-        WORD_CATEGORIES.put("SSL", "Web Development");
-        WORD_CATEGORIES.put("TLS", "Web Development");
-        WORD_CATEGORIES.put("JWT", "Web Development");
-        WORD_CATEGORIES.put("OAUTH", "Web Development");
-        WORD_CATEGORIES.put("CORS", "Web Development");
-        WORD_CATEGORIES.put("CSP", "Web Development");
-        WORD_CATEGORIES.put("SEO", "Web Development");
-        WORD_CATEGORIES.put("PWA", "Web Development");
-        WORD_CATEGORIES.put("REST", "Web Development");
-        WORD_CATEGORIES.put("GRAPHQL", "Web Development");
-        WORD_CATEGORIES.put("SOAP", "Web Development");
-        WORD_CATEGORIES.put("WEBSOCKET", "Web Development");
-        WORD_CATEGORIES.put("GRPC", "Web Development");
-        
-        // Database Systems
-        WORD_CATEGORIES.put("DATABASE", "Database Systems");
-        WORD_CATEGORIES.put("SQL", "Database Systems");
-        WORD_CATEGORIES.put("NOSQL", "Database Systems");
-        WORD_CATEGORIES.put("MONGODB", "Database Systems");
-        WORD_CATEGORIES.put("POSTGRESQL", "Database Systems");
-        WORD_CATEGORIES.put("MYSQL", "Database Systems");
-        WORD_CATEGORIES.put("REDIS", "Database Systems");
-        WORD_CATEGORIES.put("CASSANDRA", "Database Systems");
-        WORD_CATEGORIES.put("ELASTICSEARCH", "Database Systems");
-        WORD_CATEGORIES.put("KAFKA", "Database Systems");
-        WORD_CATEGORIES.put("DATAWAREHOUSE", "Database Systems");
-        WORD_CATEGORIES.put("DATALAKE", "Database Systems");
-        WORD_CATEGORIES.put("ETL", "Database Systems");
-        WORD_CATEGORIES.put("OLTP", "Database Systems");
-        WORD_CATEGORIES.put("OLAP", "Database Systems");
-        WORD_CATEGORIES.put("NORMALIZATION", "Database Systems");
-        WORD_CATEGORIES.put("INDEXING", "Database Systems");
-        WORD_CATEGORIES.put("TRANSACTION", "Database Systems");
-        WORD_CATEGORIES.put("ACID", "Database Systems");
-        
-        // Cloud Computing
-        WORD_CATEGORIES.put("CLOUD", "Cloud Computing");
-        WORD_CATEGORIES.put("AWS", "Cloud Computing");
-        WORD_CATEGORIES.put("AZURE", "Cloud Computing");
-        WORD_CATEGORIES.put("GCP", "Cloud Computing");
-        WORD_CATEGORIES.put("DOCKER", "Cloud Computing");
-        WORD_CATEGORIES.put("KUBERNETES", "Cloud Computing");
-        WORD_CATEGORIES.put("TERRAFORM", "Cloud Computing");
-        WORD_CATEGORIES.put("ANSIBLE", "Cloud Computing");
-        WORD_CATEGORIES.put("JENKINS", "Cloud Computing");
-        WORD_CATEGORIES.put("GITHUB", "Cloud Computing");
-        WORD_CATEGORIES.put("VIRTUALIZATION", "Cloud Computing");
-        WORD_CATEGORIES.put("CONTAINERIZATION", "Cloud Computing");
-        WORD_CATEGORIES.put("ORCHESTRATION", "Cloud Computing");
-        WORD_CATEGORIES.put("SCALABILITY", "Cloud Computing");
-        WORD_CATEGORIES.put("LOADBALANCING", "Cloud Computing");
-        WORD_CATEGORIES.put("AUTOSCALING", "Cloud Computing");
-        
-        // Artificial Intelligence & Machine Learning
-        WORD_CATEGORIES.put("MACHINELEARNING", "Machine Learning");
-        WORD_CATEGORIES.put("DEEPLEARNING", "Machine Learning");
-        WORD_CATEGORIES.put("NEURALNETWORK", "Machine Learning");
-        WORD_CATEGORIES.put("TENSORFLOW", "Machine Learning");
-        WORD_CATEGORIES.put("PYTORCH", "Machine Learning");
-        WORD_CATEGORIES.put("SCIKIT", "Machine Learning");
-        WORD_CATEGORIES.put("REINFORCEMENT", "Machine Learning");
-        WORD_CATEGORIES.put("SUPERVISED", "Machine Learning");
-        WORD_CATEGORIES.put("UNSUPERVISED", "Machine Learning");
-        WORD_CATEGORIES.put("CLASSIFICATION", "Machine Learning");
-        WORD_CATEGORIES.put("REGRESSION", "Machine Learning");
-        WORD_CATEGORIES.put("CLUSTERING", "Machine Learning");
-        WORD_CATEGORIES.put("NATURALLANGUAGE", "Machine Learning");
-        WORD_CATEGORIES.put("COMPUTERVISION", "Machine Learning");
-        WORD_CATEGORIES.put("ROBOTICS", "Machine Learning");
-        
-        // Cybersecurity
-        WORD_CATEGORIES.put("ENCRYPTION", "Cybersecurity");
-        WORD_CATEGORIES.put("HASHING", "Cybersecurity");
-        WORD_CATEGORIES.put("AUTHENTICATION", "Cybersecurity");
-        WORD_CATEGORIES.put("AUTHORIZATION", "Cybersecurity");
-        WORD_CATEGORIES.put("PENETRATION", "Cybersecurity");
-        WORD_CATEGORIES.put("VULNERABILITY", "Cybersecurity");
-        WORD_CATEGORIES.put("MALWARE", "Cybersecurity");
-        WORD_CATEGORIES.put("PHISHING", "Cybersecurity");
-        WORD_CATEGORIES.put("FIREWALL", "Cybersecurity");
-        WORD_CATEGORIES.put("INTRUSION", "Cybersecurity");
-        WORD_CATEGORIES.put("DETECTION", "Cybersecurity");
-        WORD_CATEGORIES.put("PREVENTION", "Cybersecurity");
-        WORD_CATEGORIES.put("SOC", "Cybersecurity");
-        WORD_CATEGORIES.put("SIEM", "Cybersecurity");
-        WORD_CATEGORIES.put("ZERO_TRUST", "Cybersecurity");
-        WORD_CATEGORIES.put("MULTIFACTOR", "Cybersecurity");
-        
-        // Computer Architecture
-        WORD_CATEGORIES.put("PROCESSOR", "Computer Architecture");
-        WORD_CATEGORIES.put("MEMORY", "Computer Architecture");
-        WORD_CATEGORIES.put("CACHE", "Computer Architecture");
-        WORD_CATEGORIES.put("BUS", "Computer Architecture");
-        WORD_CATEGORIES.put("REGISTER", "Computer Architecture");
-        WORD_CATEGORIES.put("PIPELINE", "Computer Architecture");
-        WORD_CATEGORIES.put("MULTICORE", "Computer Architecture");
-        WORD_CATEGORIES.put("HYPERTHREADING", "Computer Architecture");
-        WORD_CATEGORIES.put("VIRTUALMEMORY", "Computer Architecture");
-        WORD_CATEGORIES.put("PAGING", "Computer Architecture");
-        WORD_CATEGORIES.put("FRAGMENTATION", "Computer Architecture");
-        WORD_CATEGORIES.put("BUFFER", "Computer Architecture");
-        WORD_CATEGORIES.put("INTERRUPT", "Computer Architecture");
-        WORD_CATEGORIES.put("DMA", "Computer Architecture");
-        WORD_CATEGORIES.put("RAID", "Computer Architecture");
-        WORD_CATEGORIES.put("SSD", "Computer Architecture");
-        WORD_CATEGORIES.put("HDD", "Computer Architecture");
-        
-        // Operating Systems
-        WORD_CATEGORIES.put("OPERATINGSYSTEM", "Operating Systems");
-        WORD_CATEGORIES.put("KERNEL", "Operating Systems");
-        WORD_CATEGORIES.put("PROCESS", "Operating Systems");
-        WORD_CATEGORIES.put("THREAD", "Operating Systems");
-        WORD_CATEGORIES.put("SCHEDULING", "Operating Systems");
-        WORD_CATEGORIES.put("SYNCHRONIZATION", "Operating Systems");
-        WORD_CATEGORIES.put("DEADLOCK", "Operating Systems");
-        WORD_CATEGORIES.put("RACECONDITION", "Operating Systems");
-        WORD_CATEGORIES.put("SEMAPHORE", "Operating Systems");
-        WORD_CATEGORIES.put("MUTEX", "Operating Systems");
-        WORD_CATEGORIES.put("MONITOR", "Operating Systems");
-        WORD_CATEGORIES.put("SIGNAL", "Operating Systems");
-        WORD_CATEGORIES.put("FORK", "Operating Systems");
-        WORD_CATEGORIES.put("EXEC", "Operating Systems");
-        WORD_CATEGORIES.put("PIPE", "Operating Systems");
-        WORD_CATEGORIES.put("SOCKET", "Operating Systems");
-        
-        // Computer Networks
-        WORD_CATEGORIES.put("NETWORK", "Computer Networks");
-        WORD_CATEGORIES.put("PROTOCOL", "Computer Networks");
-        WORD_CATEGORIES.put("TCP", "Computer Networks");
-        WORD_CATEGORIES.put("UDP", "Computer Networks");
-        WORD_CATEGORIES.put("IP", "Computer Networks");
-        WORD_CATEGORIES.put("ROUTING", "Computer Networks");
-        WORD_CATEGORIES.put("SWITCHING", "Computer Networks");
-        WORD_CATEGORIES.put("BANDWIDTH", "Computer Networks");
-        WORD_CATEGORIES.put("LATENCY", "Computer Networks");
-        WORD_CATEGORIES.put("THROUGHPUT", "Computer Networks");
-        WORD_CATEGORIES.put("PACKET", "Computer Networks");
-        WORD_CATEGORIES.put("FRAME", "Computer Networks");
-        WORD_CATEGORIES.put("ETHERNET", "Computer Networks");
-        WORD_CATEGORIES.put("WIFI", "Computer Networks");
-        WORD_CATEGORIES.put("BLUETOOTH", "Computer Networks");
-        WORD_CATEGORIES.put("5G", "Computer Networks");
-        WORD_CATEGORIES.put("FIBER", "Computer Networks");
-        WORD_CATEGORIES.put("COAXIAL", "Computer Networks");
-        
-        // Software Engineering
-        WORD_CATEGORIES.put("ARCHITECTURE", "Software Engineering");
-        WORD_CATEGORIES.put("DESIGNPATTERN", "Software Engineering");
-        WORD_CATEGORIES.put("SOLID", "Software Engineering");
-        WORD_CATEGORIES.put("DRY", "Software Engineering");
-        WORD_CATEGORIES.put("KISS", "Software Engineering");
-        WORD_CATEGORIES.put("AGILE", "Software Engineering");
-        WORD_CATEGORIES.put("SCRUM", "Software Engineering");
-        WORD_CATEGORIES.put("KANBAN", "Software Engineering");
-        WORD_CATEGORIES.put("WATERFALL", "Software Engineering");
-        WORD_CATEGORIES.put("DEVOPS", "Software Engineering");
-        WORD_CATEGORIES.put("CI_CD", "Software Engineering");
-        WORD_CATEGORIES.put("MICROSERVICES", "Software Engineering");
-        WORD_CATEGORIES.put("MONOLITH", "Software Engineering");
-        WORD_CATEGORIES.put("API", "Software Engineering");
-        
-        // Data Science
-        WORD_CATEGORIES.put("DATAWAREHOUSE", "Data Science");
-        WORD_CATEGORIES.put("DATALAKE", "Data Science");
-        WORD_CATEGORIES.put("ETL", "Data Science");
-        WORD_CATEGORIES.put("OLTP", "Data Science");
-        WORD_CATEGORIES.put("OLAP", "Data Science");
-        WORD_CATEGORIES.put("NORMALIZATION", "Data Science");
-        WORD_CATEGORIES.put("INDEXING", "Data Science");
-        WORD_CATEGORIES.put("TRANSACTION", "Data Science");
-        WORD_CATEGORIES.put("ACID", "Data Science");
-        
-        // Academic Research
-        WORD_CATEGORIES.put("COMPILER", "Academic Research");
-        WORD_CATEGORIES.put("INTERPRETER", "Academic Research");
-        WORD_CATEGORIES.put("LEXER", "Academic Research");
-        WORD_CATEGORIES.put("PARSER", "Academic Research");
-        WORD_CATEGORIES.put("OPTIMIZATION", "Academic Research");
-        WORD_CATEGORIES.put("COMPLEXITY", "Academic Research");
-        WORD_CATEGORIES.put("THEORY", "Academic Research");
-        WORD_CATEGORIES.put("COMPUTABILITY", "Academic Research");
-        WORD_CATEGORIES.put("TURING", "Academic Research");
-        WORD_CATEGORIES.put("CHURCH", "Academic Research");
-        WORD_CATEGORIES.put("P_NP", "Academic Research");
-        WORD_CATEGORIES.put("NP_COMPLETE", "Academic Research");
-        WORD_CATEGORIES.put("ALGORITHM", "Academic Research");
-        WORD_CATEGORIES.put("HEURISTIC", "Academic Research");
-        WORD_CATEGORIES.put("METAHEURISTIC", "Academic Research");
-        WORD_CATEGORIES.put("GENETIC", "Academic Research");
-        WORD_CATEGORIES.put("EVOLUTIONARY", "Academic Research");
-    }
-    
-    private String currentWord;
-    private String currentCategory;
-    private Set<Character> guessedLetters;
-    private int wrongGuesses;
-    private int maxWrongGuesses;
-    private int score;
-    private int level;
-    private boolean gameOver;
-    private boolean gameWon;
-    private int hintCount;
-    private static final int MAX_HINTS = 3;
-    
-    private ExecutorService executorService;
-    private Future<?> timerTask;
-    private int timeRemaining;
-    private static final int TIME_LIMIT = 60; // seconds
-    private boolean isTimerPaused = false;
-    private long pauseStartTime = 0;
+    private final Dictionary dictionary;
+    private final long sessionId = SESSION_IDS.incrementAndGet();
+    private final GameEventListener listener;
+    
+    // No-repeat word order for this player: a seeded permutation of the current pool,
+    // positioned by the number of words drawn so far
+    private final long playerSeed;
+    private WordRotation rotation;
+    private long wordsDrawn;
+    
+    private volatile Word word;
+    private volatile long state;
+    private int categoryFilter = -1;
+    private volatile DisplayWord displayWord;
+    private final Set<Character> guessedLettersView = new GuessedLettersView();
+    private volatile int maxWrongGuesses;
+    private volatile int score;
+    private volatile int level;
+    public static final int MAX_HINTS = 3;
+    public static final int MAX_WRONG_GUESSES = 6;
+    
+    // The countdown is a deadline on a monotonic clock. Time remaining is computed on
+    // demand and the timeout is detected lazily on access, or by the shared timer
+    // wheel when the clock is real time, so nothing runs per second per game.
+    private final GameClock clock;
+    private final Runnable expiryTask = this::expireIfDue;
+    private TimerWheel.Timeout expiryTimeout;
+    private volatile long deadlineNanos;
+    private volatile long stoppedRemainingNanos;
+    private volatile boolean clockRunning;
+    public static final int TIME_LIMIT = 60; // seconds
+    private volatile boolean isTimerPaused = false;
+    // Whether the current round counts as running in GameMetrics; guarded by this
+    private boolean running;
     
     public GameLogic() {
-        executorService = Executors.newSingleThreadExecutor();
+        this(Dictionary.getDefault(), GameClock.system());
+    }
+    
+    /**
+     * Creates a game whose countdown follows the given clock, e.g. a
+     * {@link ManualClock} for headless runs.
+     */
+    public GameLogic(GameClock clock) {
+        this(Dictionary.getDefault(), clock);
+    }
+    
+    /**
+     * Creates a game that draws its words from the given dictionary.
+     */
+    public GameLogic(Dictionary dictionary, GameClock clock) {
+        this(dictionary, clock, ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Creates a game whose word order is fixed by the given seed, so the same seed
+     * replays the same sequence of words.
+     */
+    public GameLogic(Dictionary dictionary, GameClock clock, long seed) {
+        this(dictionary, clock, seed, GameEventListener.NONE);
+    }
+    
+    /**
+     * Creates a game that reports what happens in it to a listener, starting with
+     * the first game started here.
+     */
+    public GameLogic(Dictionary dictionary, GameClock clock, long seed, GameEventListener listener) {
+        if (dictionary.size() == 0) {
+            throw new IllegalArgumentException("Dictionary is empty");
+        }
+        this.dictionary = dictionary;
+        this.clock = clock;
+        this.playerSeed = seed;
+        this.listener = listener;
         resetGame();
     }
     
-    public void resetGame() {
-        Random random = new Random();
-        currentWord = WORDS[random.nextInt(WORDS.length)];
-        
-        // Use proper word-category mapping instead of random assignment
-        currentCategory = WORD_CATEGORIES.getOrDefault(currentWord, "General Computing");
-        
-        guessedLetters = new HashSet<>();
-        wrongGuesses = 0;
-        maxWrongGuesses = 6;
-        gameOver = false;
-        gameWon = false;
-        timeRemaining = TIME_LIMIT;
-        hintCount = 0;
-        startTimer();
+    /**
+     * Starts a new game, keeping the category chosen by the last
+     * {@link #resetGame(String)} call if there was one.
+     */
+    public synchronized void resetGame() {
+        long start = GameMetrics.start();
+        GameEvents.GameStarted event = GameEvents.gameStarting();
+        // Words come from the difficulty bucket for the current level, so games get
+        // harder as the player levels up without scanning the word list
+        DifficultyIndex difficulty = dictionary.difficulty();
+        int bucket = nearestBucket(difficulty, DifficultyIndex.bucketForLevel(level));
+        int pool = (categoryFilter + 1) * DifficultyIndex.BUCKETS + bucket;
+        int index = nextInPool(pool, poolSize(difficulty, bucket));
+        int wordId;
+        String category;
+        if (categoryFilter >= 0) {
+            // Pick straight from the category's word list rather than sampling the whole dictionary
+            wordId = difficulty.categoryBucketWord(categoryFilter, bucket, index);
+            category = dictionary.categoryName(categoryFilter);
+        } else {
+            wordId = difficulty.bucketWord(bucket, index);
+            category = dictionary.categoryName(dictionary.categoryOf(wordId));
+        }
+        // The word goes first: a guess that reads the new round from the state
+        // word is then sure to see the new word too
+        int round = (roundOf(state) + 1) & ROUND_MASK;
+        word = new Word(round, wordId, dictionary.word(wordId), category, dictionary.letterMask(wordId));
+        maxWrongGuesses = MAX_WRONG_GUESSES;
+        state = (long) round << ROUND_SHIFT;
+        isTimerPaused = false;
+        long now = clock.nanoTime();
+        startTimer(TimeUnit.SECONDS.toNanos(TIME_LIMIT), now);
+        if (running) {
+            GameMetrics.gameAbandoned();
+        }
+        running = true;
+        GameMetrics.gameStarted();
+        listener.gameStarted(this, now);
+        GameEvents.gameStarted(event, sessionId, wordId, category, word.text.length(), level);
+        GameMetrics.stop(GameMetrics.Timer.RESET_GAME, start);
     }
     
-    private void startTimer() {
-        if (timerTask != null && !timerTask.isDone()) {
-            timerTask.cancel(true);
+    // Every pool's pass is derived from the player's seed, the pool and the words
+    // drawn so far, so nothing is kept per pool: coming back to a pool continues its
+    // pass at a later position, skipping the positions used elsewhere meanwhile
+    private int nextInPool(int pool, int poolSize) {
+        long pass = wordsDrawn / poolSize;
+        int cursor = (int) (wordsDrawn % poolSize);
+        long seed = playerSeed + 0x9E3779B97F4A7C15L * (pool + 1) + 0xC2B2AE3D27D4EB4FL * pass;
+        if (rotation == null || rotation.getPoolSize() != poolSize) {
+            rotation = new WordRotation(poolSize, seed);
         }
-        
-        timerTask = executorService.submit(() -> {
-            try {
-                while (timeRemaining > 0 && !gameOver) {
-                    Thread.sleep(1000);
-                    timeRemaining--;
-                    if (timeRemaining <= 0) {
-                        gameOver = true;
-                        break;
+        if (rotation.getSeed() != seed || rotation.getCursor() != cursor) {
+            rotation.restore(seed, cursor);
+        }
+        wordsDrawn++;
+        return rotation.next();
+    }
+    
+    private int poolSize(DifficultyIndex difficulty, int bucket) {
+        return categoryFilter >= 0
+            ? difficulty.categoryBucketSize(categoryFilter, bucket)
+            : difficulty.bucketSize(bucket);
+    }
+    
+    // Small dictionaries or categories can leave a bucket empty; fall back to the
+    // closest one, preferring easier words
+    private int nearestBucket(DifficultyIndex difficulty, int target) {
+        for (int distance = 0; distance < DifficultyIndex.BUCKETS; distance++) {
+            if (target - distance >= 0 && poolSize(difficulty, target - distance) > 0) {
+                return target - distance;
+            }
+            if (target + distance < DifficultyIndex.BUCKETS && poolSize(difficulty, target + distance) > 0) {
+                return target + distance;
+            }
+        }
+        throw new IllegalStateException("Difficulty index has no words");
+    }
+    
+    /**
+     * Returns how many words this player has been given. With {@link #getSeed()} it
+     * is the player's whole word order state: a game created with the same seed and
+     * restored to the same count continues the same order in every pool.
+     */
+    public synchronized long getWordsDrawn() {
+        return wordsDrawn;
+    }
+    
+    /**
+     * Restores a count saved from {@link #getWordsDrawn()}; the next
+     * {@link #resetGame()} picks the word that count leads to.
+     */
+    public synchronized void restoreWordsDrawn(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative word count: " + count);
+        }
+        wordsDrawn = count;
+    }
+    
+    /**
+     * Starts a new game with a word from the named category. Later calls to
+     * {@link #resetGame()} stay in that category; pass {@code null} to go back to
+     * the whole dictionary.
+     *
+     * @throws IllegalArgumentException if the dictionary has no such category or
+     *         the category is empty
+     */
+    public synchronized void resetGame(String category) {
+        int categoryId = -1;
+        if (category != null) {
+            categoryId = dictionary.categoryId(category);
+            if (categoryId < 0 || dictionary.categorySize(categoryId) == 0) {
+                throw new IllegalArgumentException("No words in category: " + category);
+            }
+        }
+        categoryFilter = categoryId;
+        resetGame();
+    }
+    
+    // Each operation reads the clock once and passes the reading down, so the time
+    // reported to listeners is exactly the time the game used
+    private void startTimer(long remainingNanos, long now) {
+        cancelTimer();
+        deadlineNanos = now + remainingNanos;
+        clockRunning = true;
+        if (clock.isRealTime()) {
+            expiryTimeout = TimerWheel.shared().schedule(expiryTask, remainingNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    // Freezes the clock at its current reading, e.g. on pause or when the game ends
+    private void stopTimer(long now) {
+        if (clockRunning) {
+            stoppedRemainingNanos = Math.max(0, deadlineNanos - now);
+            clockRunning = false;
+        }
+        cancelTimer();
+    }
+    
+    private void cancelTimer() {
+        if (expiryTimeout != null) {
+            expiryTimeout.cancel();
+            expiryTimeout = null;
+        }
+    }
+    
+    private boolean isPastDeadline(long now) {
+        return (state & OVER) == 0 && clockRunning && now - deadlineNanos >= 0;
+    }
+    
+    private void expireIfDue() {
+        expireIfDue(clock.nanoTime());
+    }
+    
+    // Called on access and by the timer wheel. A timeout from a previous round may
+    // still fire, so the current deadline is always re-checked.
+    private void expireIfDue(long now) {
+        if (isPastDeadline(now)) {
+            synchronized (this) {
+                if (isPastDeadline(now)) {
+                    stoppedRemainingNanos = 0;
+                    clockRunning = false;
+                    cancelTimer();
+                    // A guess may end the game first without the lock
+                    if (endGame()) {
+                        running = false;
+                        GameMetrics.gameTimedOut();
+                        GameEvents.timedOut(sessionId, word.id, Integer.bitCount(getGuessedMask()));
+                        GameEvents.gameOver(sessionId, false, 0, score, wrongOf(state), 0);
+                        listener.gameOver(this, false, 0, now);
                     }
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
-        });
+        }
     }
     
+    /**
+     * Guesses a letter and returns whether it is in the word. Repeated guesses,
+     * non-letters and guesses after the game is over change nothing and return
+     * {@code false}. Safe to call from many threads at once without locking.
+     */
     public boolean makeGuess(char letter) {
-        if (gameOver || guessedLetters.contains(letter)) {
+        long start = GameMetrics.start();
+        GameEvents.Guess event = GameEvents.guessing();
+        boolean hit = guess(letter);
+        GameMetrics.stop(GameMetrics.Timer.MAKE_GUESS, start);
+        GameEvents.guessMade(event, sessionId, Character.toUpperCase(letter), hit, wrongOf(state));
+        return hit;
+    }
+    
+    private boolean guess(char letter) {
+        long now = clock.nanoTime();
+        expireIfDue(now);
+        letter = Character.toUpperCase(letter);
+        int bit = LetterMask.bit(letter);
+        if (bit == 0) {
             return false;
         }
-        
-        letter = Character.toUpperCase(letter);
-        guessedLetters.add(letter);
-        
-        if (currentWord.indexOf(letter) == -1) {
-            wrongGuesses++;
-            if (wrongGuesses >= maxWrongGuesses) {
-                gameOver = true;
+        while (true) {
+            long current = state;
+            Word guessed = word;
+            if (guessed.round != roundOf(current)) {
+                // A new game is being started; its state word follows shortly
+                Thread.onSpinWait();
+                continue;
             }
-            return false;
+            if ((current & OVER) != 0 || (current & bit) != 0) {
+                return false;
+            }
+            boolean hit = (guessed.mask & bit) != 0;
+            long next = current | bit;
+            if (!hit) {
+                next += ONE_WRONG;
+                if (wrongOf(next) >= maxWrongGuesses) {
+                    next |= OVER;
+                }
+            } else if (((int) next & guessed.mask) == guessed.mask) {
+                next |= OVER | WON;
+            }
+            if ((next & OVER) == 0) {
+                if (STATE.compareAndSet(this, current, next)) {
+                    GameMetrics.guessMade(hit);
+                    listener.guessMade(this, guessed.round, letter, hit, (int) (next & MASK_BITS), wrongOf(next), now);
+                    return hit;
+                }
+                continue;
+            }
+            // This guess would end the game: make it under the lock, so that the
+            // game is scored from its own countdown and reported over before a new
+            // game can start
+            synchronized (this) {
+                now = clock.nanoTime();
+                if (isPastDeadline(now)) {
+                    expireIfDue(now);
+                    return false;
+                }
+                if (STATE.compareAndSet(this, current, next)) {
+                    GameMetrics.guessMade(hit);
+                    listener.guessMade(this, guessed.round, letter, hit, (int) (next & MASK_BITS), wrongOf(next), now);
+                    guessEndedGame(next, now);
+                    return hit;
+                }
+            }
+        }
+    }
+    
+    // Only the thread whose guess ended the game gets here, once per game, holding the lock
+    private void guessEndedGame(long endState, long now) {
+        boolean won = (endState & WON) != 0;
+        int points = 0;
+        stopTimer(now);
+        running = false;
+        if (won) {
+            GameMetrics.gameWon();
+            points = scoreFor(stoppedRemainingNanos, wrongOf(endState));
+            score += points;
+            level++;
         } else {
-            checkWinCondition();
-            return true;
+            GameMetrics.gameLost();
         }
+        GameEvents.gameOver(sessionId, won, points, score, wrongOf(endState),
+            TimeUnit.NANOSECONDS.toMillis(stoppedRemainingNanos));
+        listener.gameOver(this, won, points, now);
     }
     
-    private void checkWinCondition() {
-        for (char c : currentWord.toCharArray()) {
-            if (!guessedLetters.contains(c)) {
-                return;
+    // Sets the game over flag unless a guess already has; returns whether this call did
+    private boolean endGame() {
+        long current;
+        do {
+            current = state;
+            if ((current & OVER) != 0) {
+                return false;
             }
-        }
-        gameWon = true;
-        gameOver = true;
-        score += calculateScore();
-        level++;
+        } while (!STATE.compareAndSet(this, current, current | OVER));
+        return true;
     }
     
-    private int calculateScore() {
+    private static int roundOf(long state) {
+        return (int) (state >>> ROUND_SHIFT);
+    }
+    
+    private static int wrongOf(long state) {
+        return (int) (state >>> WRONG_SHIFT) & 0xF;
+    }
+    
+    /**
+     * Returns the points for solving a word with the given time left on the clock
+     * and number of wrong guesses. Replays use this to check recorded scores.
+     */
+    public static int scoreFor(long remainingNanos, int wrongGuesses) {
         int baseScore = 100;
-        int timeBonus = timeRemaining * 2;
+        int timeBonus = toSeconds(remainingNanos) * 2;
         int wrongGuessPenalty = wrongGuesses * 10;
         return Math.max(0, baseScore + timeBonus - wrongGuessPenalty);
     }
     
+    /**
+     * Returns the word with unguessed letters shown as "_", e.g. "J _ V _".
+     * Characters that are not letters (digits, word separators) are always
+     * revealed; "_" separators are shown as "-" so they can't be mistaken
+     * for a hidden letter. The string is cached until the next correct guess.
+     */
     public String getDisplayWord() {
-        StringBuilder display = new StringBuilder();
-        for (char c : currentWord.toCharArray()) {
-            if (guessedLetters.contains(c)) {
+        long current = state;
+        Word shown = word;
+        if (shown.round != roundOf(current)) {
+            // Caught a new game half set up; wait for it
+            synchronized (this) {
+                current = state;
+                shown = word;
+            }
+        }
+        // Keyed by round and guesses, so a string built by a slower thread from
+        // older guesses is never served for newer ones
+        long key = current >>> ROUND_SHIFT << ROUND_SHIFT | (current & shown.mask);
+        DisplayWord display = displayWord;
+        if (display == null || display.key != key) {
+            display = new DisplayWord(key, buildDisplayWord(shown.text, (int) current & shown.mask));
+            displayWord = display;
+        }
+        return display.text;
+    }
+    
+    private static String buildDisplayWord(String currentWord, int guessedMask) {
+        StringBuilder display = new StringBuilder(currentWord.length() * 2);
+        for (int i = 0; i < currentWord.length(); i++) {
+            char c = currentWord.charAt(i);
+            int bit = LetterMask.bit(c);
+            if (bit == 0) {
+                display.append(c == '_' ? '-' : c);
+            } else if ((guessedMask & bit) != 0) {
                 display.append(c);
             } else {
-                display.append("_");
+                display.append('_');
             }
-            display.append(" ");
+            display.append(' ');
         }
         return display.toString().trim();
     }
     
     public String getCurrentWord() {
-        return currentWord;
+        return word.text;
     }
     
     public String getCurrentCategory() {
-        return currentCategory;
+        return word.category;
+    }
+    
+    /**
+     * Returns the category new games are restricted to, or {@code null} if words
+     * come from the whole dictionary.
+     */
+    public String getCategoryFilter() {
+        return categoryFilter >= 0 ? dictionary.categoryName(categoryFilter) : null;
+    }
+    
+    /**
+     * Returns the dictionary id of the current word.
+     */
+    public int getWordId() {
+        return word.id;
+    }
+    
+    /**
+     * Returns the number of the current game, one more than the game before it.
+     */
+    public int getRound() {
+        return word.round;
+    }
+    
+    /**
+     * Returns an id for this game instance, unique within the process.
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Returns the seed that fixes this player's word order.
+     */
+    public long getSeed() {
+        return playerSeed;
+    }
+    
+    public Dictionary getDictionary() {
+        return dictionary;
     }
     
+    /**
+     * Returns a read-only live view of the guessed letters. The view is backed by
+     * the guess mask, so it is never copied and always reflects the current game.
+     */
     public Set<Character> getGuessedLetters() {
-        return new HashSet<>(guessedLetters);
+        return guessedLettersView;
+    }
+    
+    /**
+     * Returns the guessed letters as a {@link LetterMask} bit set.
+     */
+    public int getGuessedMask() {
+        return (int) (state & MASK_BITS);
+    }
+    
+    /**
+     * Returns the distinct letters of the current word as a {@link LetterMask} bit set.
+     */
+    public int getWordMask() {
+        return word.mask;
+    }
+    
+    public boolean isLetterGuessed(char letter) {
+        return LetterMask.contains(getGuessedMask(), letter);
     }
     
     public int getWrongGuesses() {
-        return wrongGuesses;
+        return wrongOf(state);
     }
     
     public int getMaxWrongGuesses() {
@@ -426,65 +556,280 @@ public class GameLogic {
     }
     
     public boolean isGameOver() {
-        return gameOver;
+        expireIfDue();
+        return (state & OVER) != 0;
     }
     
     public boolean isGameWon() {
-        return gameWon;
+        return (state & WON) != 0;
     }
     
+    /**
+     * Returns the whole seconds left on the clock, rounded up so a fresh game shows
+     * the full time limit.
+     */
     public int getTimeRemaining() {
-        return timeRemaining;
+        return toSeconds(getRemainingNanos());
+    }
+    
+    private static int toSeconds(long remainingNanos) {
+        return (int) ((remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    /**
+     * Returns the time left on the clock in milliseconds.
+     */
+    public long getTimeRemainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getRemainingNanos());
+    }
+    
+    private long getRemainingNanos() {
+        long remainingNanos = clockRunning ? deadlineNanos - clock.nanoTime() : stoppedRemainingNanos;
+        return Math.max(0, remainingNanos);
+    }
+    
+    public boolean isTimerPaused() {
+        return isTimerPaused;
     }
     
     public int getHintCount() {
-        return hintCount;
+        return (int) (state >>> HINT_SHIFT) & 0x3;
     }
     
     public int getMaxHints() {
         return MAX_HINTS;
     }
     
+    /**
+     * Returns the whole game as of one moment, in a new {@link Snapshot}.
+     */
+    public Snapshot snapshot() {
+        return snapshot(new Snapshot());
+    }
+    
+    /**
+     * Fills a {@link Snapshot} with the whole game as of one moment and returns
+     * it, so a caller writing many responses can reuse one. The guess state is
+     * read once, together with the word it belongs to, and the score, level and
+     * countdown are read under the lock that every change to them holds.
+     */
+    public synchronized Snapshot snapshot(Snapshot into) {
+        // Ends the game first if its time is up
+        expireIfDue();
+        long remainingNanos = getRemainingNanos();
+        long current = state;
+        Word shownWord = word;
+        into.sessionId = sessionId;
+        into.word = shownWord.text;
+        into.category = shownWord.category;
+        into.guessedMask = (int) (current & MASK_BITS);
+        into.wrongGuesses = wrongOf(current);
+        into.maxWrongGuesses = maxWrongGuesses;
+        into.hintsUsed = (int) (current >>> HINT_SHIFT) & 0x3;
+        into.remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos);
+        into.paused = isTimerPaused;
+        into.over = (current & OVER) != 0;
+        into.won = (current & WON) != 0;
+        into.score = score;
+        into.level = level;
+        return into;
+    }
+    
     public boolean canUseHint() {
-        return hintCount < MAX_HINTS;
+        return getHintCount() < MAX_HINTS;
     }
     
     public void incrementHintCount() {
-        if (hintCount < MAX_HINTS) {
-            hintCount++;
-        }
+        long current;
+        do {
+            current = state;
+            if (((current >>> HINT_SHIFT) & 0x3) >= MAX_HINTS) {
+                return;
+            }
+        } while (!STATE.compareAndSet(this, current, current + ONE_HINT));
+        GameMetrics.hintUsed();
+        GameEvents.hintUsed(sessionId, (int) ((current >>> HINT_SHIFT) & 0x3) + 1);
+        listener.hintUsed(this, clock.nanoTime());
     }
     
-    public void pauseTimer() {
-        isTimerPaused = true;
-        pauseStartTime = System.currentTimeMillis();
-        if (timerTask != null && !timerTask.isDone()) {
-            timerTask.cancel(true);
+    public synchronized void pauseTimer() {
+        long now = clock.nanoTime();
+        expireIfDue(now);
+        if (isTimerPaused || (state & OVER) != 0) {
+            return;
         }
+        isTimerPaused = true;
+        stopTimer(now);
+        GameEvents.timerPaused(sessionId, TimeUnit.NANOSECONDS.toMillis(stoppedRemainingNanos));
+        listener.timerPaused(this, now);
     }
     
-    public void resumeTimer() {
+    public synchronized void resumeTimer() {
         if (isTimerPaused) {
             isTimerPaused = false;
-            long pauseDuration = System.currentTimeMillis() - pauseStartTime;
-            // Adjust time remaining based on pause duration
-            timeRemaining = Math.max(0, timeRemaining - (int)(pauseDuration / 1000));
-            startTimer();
+            // The clock was stopped while paused, so pick up exactly where it left off
+            if ((state & OVER) == 0) {
+                long now = clock.nanoTime();
+                startTimer(stoppedRemainingNanos, now);
+                GameEvents.timerResumed(sessionId, TimeUnit.NANOSECONDS.toMillis(stoppedRemainingNanos));
+                listener.timerResumed(this, now);
+            }
         }
     }
     
-    public void shutdown() {
-        if (timerTask != null && !timerTask.isDone()) {
-            timerTask.cancel(true);
+    public synchronized void shutdown() {
+        cancelTimer();
+        if (running) {
+            running = false;
+            GameMetrics.gameAbandoned();
         }
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
+    }
+    
+    /**
+     * A game's state as of one moment, for writing it out. Filled by
+     * {@link GameLogic#snapshot(Snapshot)}.
+     */
+    public static final class Snapshot {
+        private long sessionId;
+        private String word;
+        private String category;
+        private int guessedMask;
+        private int wrongGuesses;
+        private int maxWrongGuesses;
+        private int hintsUsed;
+        private long remainingMillis;
+        private boolean paused;
+        private boolean over;
+        private boolean won;
+        private int score;
+        private int level;
+        
+        public Snapshot() {
+        }
+        
+        public long getSessionId() {
+            return sessionId;
+        }
+        
+        public String getWord() {
+            return word;
+        }
+        
+        public String getCategory() {
+            return category;
+        }
+        
+        public int getGuessedMask() {
+            return guessedMask;
+        }
+        
+        public int getWrongGuesses() {
+            return wrongGuesses;
+        }
+        
+        public int getMaxWrongGuesses() {
+            return maxWrongGuesses;
+        }
+        
+        public int getHintCount() {
+            return hintsUsed;
+        }
+        
+        public int getMaxHints() {
+            return MAX_HINTS;
+        }
+        
+        public long getTimeRemainingMillis() {
+            return remainingMillis;
+        }
+        
+        public boolean isTimerPaused() {
+            return paused;
+        }
+        
+        public boolean isGameOver() {
+            return over;
+        }
+        
+        public boolean isGameWon() {
+            return won;
+        }
+        
+        public int getScore() {
+            return score;
+        }
+        
+        public int getLevel() {
+            return level;
+        }
+    }
+    
+    /**
+     * The current word, replaced as a whole by each new game.
+     */
+    private static final class Word {
+        final int round;
+        final int id;
+        final String text;
+        final String category;
+        final int mask;
+        
+        Word(int round, int id, String text, String category, int mask) {
+            this.round = round;
+            this.id = id;
+            this.text = text;
+            this.category = category;
+            this.mask = mask;
+        }
+    }
+    
+    /**
+     * A built display string and the round and guesses it shows.
+     */
+    private static final class DisplayWord {
+        final long key;
+        final String text;
+        
+        DisplayWord(long key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+    
+    /**
+     * Read-only {@code Set<Character>} over the guess mask.
+     */
+    private final class GuessedLettersView extends AbstractSet<Character> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Character && isLetterGuessed((Character) o);
+        }
+        
+        @Override
+        public int size() {
+            return Integer.bitCount(getGuessedMask());
+        }
+        
+        @Override
+        public Iterator<Character> iterator() {
+            return new Iterator<Character>() {
+                private int remaining = getGuessedMask();
+                
+                @Override
+                public boolean hasNext() {
+                    return remaining != 0;
+                }
+                
+                @Override
+                public Character next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    int index = Integer.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return LetterMask.letter(index);
+                }
+            };
         }
     }
 }
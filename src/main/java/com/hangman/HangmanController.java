@@ -2,14 +2,9 @@ package com.hangman;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
-import javafx.animation.ScaleTransition;
-import javafx.animation.FadeTransition;
-import javafx.animation.TranslateTransition;
-import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.ColumnConstraints;
@@ -22,20 +17,31 @@ import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 import javafx.stage.Modality;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.effect.Glow;
 import javafx.scene.effect.BlurType;
 
-import java.util.Set;
 import javafx.geometry.Pos;
 import javafx.geometry.Insets;
 import java.util.Optional;
 import javafx.scene.layout.HBox;
 import javafx.animation.PauseTransition;
-import javafx.animation.KeyValue;
 import javafx.scene.Node;
+import javafx.css.PseudoClass;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.journal.GameJournal;
+import com.hangman.leaderboard.Leaderboard;
+import com.hangman.leaderboard.WindowedLeaderboard;
+import com.hangman.metrics.GameEvents;
+import com.hangman.metrics.GameMetrics;
+import com.hangman.solver.HintEngine;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class HangmanController {
     
+    private static final PseudoClass CORRECT = PseudoClass.getPseudoClass("correct");
+    private static final PseudoClass WRONG = PseudoClass.getPseudoClass("wrong");
+    
     @FXML private Label categoryLabel;
     @FXML private Label wordLabel;
     @FXML private Label scoreLabel;
@@ -50,21 +56,36 @@ public class HangmanController {
     @FXML private Button hintButton;
     
     private GameLogic gameLogic;
+    private HintEngine hintEngine;
+    private boolean hintPending;
+    private GameJournal journal;
+    private Leaderboard leaderboard;
+    private WindowedLeaderboard rankings;
+    private String playerName;
     private Timeline timerUpdate;
-    private GraphicsContext gc;
+    private final AnimationManager animations = AnimationManager.shared();
+    private HangmanRenderer hangmanRenderer;
+    private FrameMonitor frameMonitor;
+    // Keyboard keys by letter index (A = 0), and the guess mask they last showed
+    private final Button[] letterButtons = new Button[26];
+    private int keyboardMask;
     
     private boolean isPaused = false;
     
     // Enhanced visual effects
     private DropShadow defaultShadow;
     private DropShadow hoverShadow;
-    private Glow successGlow;
-    private Glow errorGlow;
     
     @FXML
     public void initialize() {
-        gameLogic = new GameLogic();
-        gc = hangmanCanvas.getGraphicsContext2D();
+        Dictionary dictionary = Dictionary.getDefault();
+        gameLogic = new GameLogic(dictionary, GameClock.system(), ThreadLocalRandom.current().nextLong(),
+            GameEventListener.of(openJournal(dictionary), openLeaderboard()));
+        hintEngine = new HintEngine(gameLogic.getDictionary());
+        hintEngine.prefetch(gameLogic);
+        hangmanRenderer = new HangmanRenderer(hangmanCanvas);
+        frameMonitor = FrameMonitor.fromProperty(gameInfoBox);
+        frameMonitor.gameStarted();
         
         // Initialize enhanced visual effects
         initializeVisualEffects();
@@ -105,47 +126,30 @@ public class HangmanController {
         hoverShadow.setOffsetX(0.0);
         hoverShadow.setOffsetY(4.0);
         hoverShadow.setColor(Color.rgb(0, 0, 0, 0.3));
-        
-        // Success glow effect
-        successGlow = new Glow();
-        successGlow.setLevel(0.8);
-        
-        // Error glow effect
-        errorGlow = new Glow();
-        errorGlow.setLevel(0.6);
     }
     
     private void applyButtonEffects(Button button) {
         button.setEffect(defaultShadow);
         
         button.setOnMouseEntered(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(150), button);
-            scale.setToX(1.05);
-            scale.setToY(1.05);
-            scale.play();
+            animations.play(button, AnimationManager.Kind.HOVER_IN, UIEnhancer.HOVER_IN);
             button.setEffect(hoverShadow);
         });
         
         button.setOnMouseExited(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(150), button);
-            scale.setToX(1.0);
-            scale.setToY(1.0);
-            scale.play();
+            animations.play(button, AnimationManager.Kind.HOVER_OUT, UIEnhancer.HOVER_OUT);
             button.setEffect(defaultShadow);
         });
     }
     
     private void addFadeInEffect(VBox container) {
-        container.setOpacity(0.0);
-        FadeTransition fadeIn = new FadeTransition(Duration.millis(800), container);
-        fadeIn.setFromValue(0.0);
-        fadeIn.setToValue(1.0);
-        fadeIn.play();
+        UIEnhancer.addFadeInEffect(container);
     }
     
     private void setupKeyboard() {
         // Clear any existing buttons and constraints
         keyboardGrid.getChildren().clear();
+        keyboardMask = 0;
         keyboardGrid.getColumnConstraints().clear();
         keyboardGrid.getRowConstraints().clear();
         
@@ -183,7 +187,6 @@ public class HangmanController {
             button.setMaxSize(60, 60);
             button.setFont(Font.font("Segoe UI", FontWeight.BOLD, 18));
             button.getStyleClass().add("keyboard-button");
-            button.setStyle(getDefaultButtonStyle());
             button.setOnAction(e -> handleLetterGuess(letter.charAt(0)));
             
             // Apply enhanced button effects
@@ -202,6 +205,7 @@ public class HangmanController {
             // Third row: U-Z (6 letters)
             
             keyboardGrid.add(button, col, row);
+            letterButtons[Integer.numberOfTrailingZeros(LetterMask.bit(letter.charAt(0)))] = button;
             col++;
         }
         
@@ -211,45 +215,6 @@ public class HangmanController {
         System.out.println("Rows: " + keyboardGrid.getRowConstraints().size());
     }
     
-    private String getDefaultButtonStyle() {
-        return "-fx-background-color: #ffffff; " +
-               "-fx-text-fill: #2c3e50; " +
-               "-fx-background-radius: 8; " +
-               "-fx-border-color: #e9ecef; " +
-               "-fx-border-width: 2; " +
-               "-fx-border-radius: 8; " +
-               "-fx-cursor: hand; " +
-               "-fx-font-weight: bold; " +
-               "-fx-transition: all 0.2s ease-in-out; " +
-               "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.05), 2, 0, 0, 1);";
-    }
-    
-    private String getCorrectButtonStyle() {
-        return "-fx-background-color: #d4edda; " +
-               "-fx-text-fill: #155724; " +
-               "-fx-background-radius: 8; " +
-               "-fx-border-color: #28a745; " +
-               "-fx-border-width: 2; " +
-               "-fx-border-radius: 8; " +
-               "-fx-cursor: hand; " +
-               "-fx-font-weight: bold; " +
-               "-fx-transition: all 0.3s ease-in-out; " +
-               "-fx-effect: dropshadow(gaussian, rgba(40, 167, 69, 0.3), 4, 0, 0, 2);";
-    }
-    
-    private String getWrongButtonStyle() {
-        return "-fx-background-color: #f8d7da; " +
-               "-fx-text-fill: #721c24; " +
-               "-fx-background-radius: 8; " +
-               "-fx-border-color: #dc3545; " +
-               "-fx-border-width: 2; " +
-               "-fx-border-radius: 8; " +
-               "-fx-cursor: hand; " +
-               "-fx-font-weight: bold; " +
-               "-fx-transition: all 0.3s ease-in-out; " +
-               "-fx-effect: dropshadow(gaussian, rgba(220, 53, 69, 0.3), 4, 0, 0, 2);";
-    }
-    
     private void setupTimer() {
         timerUpdate = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
             updateTimer();
@@ -275,15 +240,16 @@ public class HangmanController {
             return;
         }
         
+        GameEvents.UiAction action = GameEvents.uiAction();
         boolean isCorrect = gameLogic.makeGuess(letter);
         
         // Enhanced visual feedback
         if (isCorrect) {
             addSuccessAnimation(wordLabel);
-            addGlowEffect(wordLabel, successGlow);
+            addGlowEffect(wordLabel);
         } else {
             addErrorAnimation(wrongGuessesLabel);
-            addGlowEffect(wrongGuessesLabel, errorGlow);
+            addGlowEffect(wrongGuessesLabel);
         }
         
         updateUI();
@@ -291,73 +257,60 @@ public class HangmanController {
         
         if (gameLogic.isGameOver()) {
             timerUpdate.stop();
+            UIEnhancer.removePulseEffect(timerLabel);
             // Use Platform.runLater to avoid animation conflicts
             Platform.runLater(() -> showGameOverDialog());
         }
         
         // Update keyboard button states
         updateKeyboardState();
+        
+        // Get the next hint ready in the background
+        hintEngine.prefetch(gameLogic);
+        GameEvents.uiActionDone(action, "guess");
     }
     
     private void addSuccessAnimation(Node node) {
-        ScaleTransition scaleUp = new ScaleTransition(Duration.millis(200), node);
-        scaleUp.setToX(1.2);
-        scaleUp.setToY(1.2);
-        
-        ScaleTransition scaleDown = new ScaleTransition(Duration.millis(200), node);
-        scaleDown.setToX(1.0);
-        scaleDown.setToY(1.0);
-        
-        SequentialTransition sequence = new SequentialTransition(scaleUp, scaleDown);
-        sequence.play();
+        UIEnhancer.addSuccessAnimation(node);
     }
     
     private void addErrorAnimation(Node node) {
-        TranslateTransition shake = new TranslateTransition(Duration.millis(50), node);
-        shake.setByX(-5);
-        shake.setCycleCount(6);
-        shake.setAutoReverse(true);
-        shake.play();
+        UIEnhancer.addErrorAnimation(node);
     }
     
-    private void addGlowEffect(Node node, Glow glow) {
-        node.setEffect(glow);
-        
-        Timeline glowPulse = new Timeline(
-            new KeyFrame(Duration.ZERO, new KeyValue(glow.levelProperty(), 0.3)),
-            new KeyFrame(Duration.millis(1000), new KeyValue(glow.levelProperty(), 0.8)),
-            new KeyFrame(Duration.millis(2000), new KeyValue(glow.levelProperty(), 0.3))
-        );
-        glowPulse.setCycleCount(3);
-        glowPulse.setOnFinished(e -> node.setEffect(null));
-        glowPulse.play();
+    private void addGlowEffect(Node node) {
+        UIEnhancer.addGlowEffect(node);
     }
     
+    // Restyles only the keys whose letter was guessed or cleared since the last call
     private void updateKeyboardState() {
-        Set<Character> guessedLetters = gameLogic.getGuessedLetters();
-        
-        for (javafx.scene.Node node : keyboardGrid.getChildren()) {
-            if (node instanceof Button) {
-                Button button = (Button) node;
-                char letter = button.getText().charAt(0);
-                
-                if (guessedLetters.contains(letter)) {
-                    if (gameLogic.getCurrentWord().indexOf(letter) != -1) {
-                        button.setStyle(getCorrectButtonStyle());
-                        button.getStyleClass().add("correct-guess");
-                        addSuccessAnimation(button);
-                    } else {
-                        button.setStyle(getWrongButtonStyle());
-                        button.getStyleClass().add("wrong-guess");
-                        addErrorAnimation(button);
-                    }
-                    button.setDisable(true);
+        int guessedMask = gameLogic.getGuessedMask();
+        int wordMask = gameLogic.getWordMask();
+        int changed = guessedMask ^ keyboardMask;
+        keyboardMask = guessedMask;
+        
+        for (int remaining = changed; remaining != 0; remaining &= remaining - 1) {
+            int index = Integer.numberOfTrailingZeros(remaining);
+            Button button = letterButtons[index];
+            if ((guessedMask & (1 << index)) != 0) {
+                boolean correct = (wordMask & (1 << index)) != 0;
+                button.pseudoClassStateChanged(correct ? CORRECT : WRONG, true);
+                if (correct) {
+                    addSuccessAnimation(button);
+                } else {
+                    addErrorAnimation(button);
                 }
+                button.setDisable(true);
+            } else {
+                button.pseudoClassStateChanged(CORRECT, false);
+                button.pseudoClassStateChanged(WRONG, false);
+                button.setDisable(false);
             }
         }
     }
     
     private void updateUI() {
+        long start = GameMetrics.start();
         categoryLabel.setText(gameLogic.getCurrentCategory());
         wordLabel.setText(gameLogic.getDisplayWord());
         scoreLabel.setText(String.valueOf(gameLogic.getScore()));
@@ -367,16 +320,22 @@ public class HangmanController {
         
         // Update hint button state
         updateHintButton();
+        GameMetrics.stop(GameMetrics.Timer.UPDATE_UI, start);
     }
     
     private void updateTimer() {
         int timeRemaining = gameLogic.getTimeRemaining();
         timerLabel.setText(timeRemaining + "s");
         
+        if (timeRemaining <= 10 && !gameLogic.isGameOver() && !gameLogic.isTimerPaused()) {
+            timerLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold; -fx-effect: dropshadow(gaussian, #e74c3c, 3, 0, 0, 0);");
+            // Pulse while time is short; called every second, but only one pulse ever runs
+            UIEnhancer.addPulseEffect(timerLabel);
+            return;
+        }
+        UIEnhancer.removePulseEffect(timerLabel);
         if (timeRemaining <= 10) {
             timerLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold; -fx-effect: dropshadow(gaussian, #e74c3c, 3, 0, 0, 0);");
-            // Add pulse effect for urgent timer
-            addPulseEffect(timerLabel);
         } else if (timeRemaining <= 20) {
             timerLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-weight: bold;");
         } else {
@@ -384,87 +343,10 @@ public class HangmanController {
         }
     }
     
-    private void addPulseEffect(Node node) {
-        ScaleTransition pulse = new ScaleTransition(Duration.millis(500), node);
-        pulse.setToX(1.1);
-        pulse.setToY(1.1);
-        pulse.setCycleCount(Timeline.INDEFINITE);
-        pulse.setAutoReverse(true);
-        pulse.play();
-    }
-    
     private void drawHangman() {
-        gc.clearRect(0, 0, hangmanCanvas.getWidth(), hangmanCanvas.getHeight());
-        
-        int wrongGuesses = gameLogic.getWrongGuesses();
-        
-        // Draw gallows with modern styling and enhanced effects
-        gc.setStroke(Color.web("#6c757d"));
-        gc.setLineWidth(4);
-        
-        // Add shadow effect for depth
-        gc.setGlobalAlpha(0.3);
-        gc.setStroke(Color.web("#495057"));
-        gc.setLineWidth(6);
-        gc.strokeLine(82, 242, 82, 82);
-        gc.strokeLine(82, 82, 202, 82);
-        gc.strokeLine(202, 82, 202, 102);
-        gc.setGlobalAlpha(1.0);
-        
-        // Main gallows
-        gc.setStroke(Color.web("#6c757d"));
-        gc.setLineWidth(4);
-        
-        // Vertical post
-        gc.strokeLine(80, 240, 80, 80);
-        // Horizontal beam
-        gc.strokeLine(80, 80, 200, 80);
-        // Rope
-        gc.strokeLine(200, 80, 200, 100);
-        
-        // Draw hangman parts based on wrong guesses with modern colors and effects
-        if (wrongGuesses >= 1) {
-            // Head with enhanced styling
-            gc.setStroke(Color.web("#495057"));
-            gc.setLineWidth(4);
-            gc.strokeOval(180, 100, 40, 40);
-            
-            // Add inner detail
-            gc.setStroke(Color.web("#6c757d"));
-            gc.setLineWidth(2);
-            gc.strokeOval(185, 105, 30, 30);
-        }
-        if (wrongGuesses >= 2) {
-            // Body
-            gc.setStroke(Color.web("#495057"));
-            gc.setLineWidth(4);
-            gc.strokeLine(200, 140, 200, 200);
-        }
-        if (wrongGuesses >= 3) {
-            // Left arm
-            gc.strokeLine(200, 160, 170, 180);
-        }
-        if (wrongGuesses >= 4) {
-            // Right arm
-            gc.strokeLine(200, 160, 230, 180);
-        }
-        if (wrongGuesses >= 5) {
-            // Left leg
-            gc.strokeLine(200, 200, 170, 240);
-        }
-        if (wrongGuesses >= 6) {
-            // Right leg
-            gc.strokeLine(200, 200, 230, 240);
-        }
-        
-        // Add enhanced shadow effect for the hangman
-        if (wrongGuesses > 0) {
-            gc.setGlobalAlpha(0.2);
-            gc.setStroke(Color.web("#495057"));
-            gc.setLineWidth(6);
-            gc.strokeOval(180, 100, 40, 40);
-            gc.setGlobalAlpha(1.0);
-        }
+        long start = GameMetrics.start();
+        hangmanRenderer.draw(gameLogic.getWrongGuesses());
+        GameMetrics.stop(GameMetrics.Timer.DRAW_HANGMAN, start);
     }
     
     private void showHint() {
@@ -473,23 +355,40 @@ public class HangmanController {
             return;
         }
         
-        String currentWord = gameLogic.getCurrentWord();
-        Set<Character> guessedLetters = gameLogic.getGuessedLetters();
-        
-        // Find a letter that hasn't been guessed yet
-        char hintLetter = ' ';
-        for (char c : currentWord.toCharArray()) {
-            if (!guessedLetters.contains(Character.toUpperCase(c))) {
-                hintLetter = Character.toUpperCase(c);
-                break;
-            }
+        if (hintPending) {
+            return;
         }
         
-        if (hintLetter != ' ') {
-            showHintDialog(hintLetter);
-        } else {
-            showNoHintsAvailableDialog();
+        // The hint is ranked off the FX thread; usually it was prefetched and is ready
+        hintPending = true;
+        int wordId = gameLogic.getWordId();
+        int guessedMask = gameLogic.getGuessedMask();
+        hintEngine.hint(wordId, guessedMask).whenComplete((hint, error) -> Platform.runLater(() -> {
+            hintPending = false;
+            if (gameLogic.getWordId() != wordId || gameLogic.getGuessedMask() != guessedMask || gameLogic.isGameOver()) {
+                return; // The game moved on while the hint was computed
+            }
+            char hintLetter = hint != null && hint.hasLetter() ? hint.getLetter() : firstUnguessedLetter();
+            if (hintLetter != ' ') {
+                showHintDialog(hintLetter);
+            } else {
+                showNoHintsAvailableDialog();
+            }
+        }));
+    }
+    
+    // Fallback when the hint engine is unavailable, e.g. its queue is full
+    private char firstUnguessedLetter() {
+        String currentWord = gameLogic.getCurrentWord();
+        int guessedMask = gameLogic.getGuessedMask();
+        for (int i = 0; i < currentWord.length(); i++) {
+            char c = Character.toUpperCase(currentWord.charAt(i));
+            int bit = LetterMask.bit(c);
+            if (bit != 0 && (guessedMask & bit) == 0) {
+                return c;
+            }
         }
+        return ' ';
     }
     
     private void showHintDialog(char hintLetter) {
@@ -679,6 +578,7 @@ public class HangmanController {
     }
     
     private void showGameOverDialog() {
+        frameMonitor.gameEnded();
         String message;
         String title;
         String icon;
@@ -747,6 +647,15 @@ public class HangmanController {
             content.getChildren().addAll(gameOverIcon, titleLabel, wordLabel, scoreLabel);
         }
         
+        int rank = rankings != null ? rankings.rank(WindowedLeaderboard.Window.ALL_TIME, playerName) : 0;
+        if (rank > 0) {
+            Label rankLabel = new Label("Leaderboard Rank: #" + rank + " of " + leaderboard.size()
+                + " (today #" + rankings.rank(WindowedLeaderboard.Window.DAILY, playerName)
+                + ", this week #" + rankings.rank(WindowedLeaderboard.Window.WEEKLY, playerName) + ")");
+            rankLabel.setStyle("-fx-font-size: 18; -fx-text-fill: #ffffff; -fx-font-weight: bold;");
+            content.getChildren().add(rankLabel);
+        }
+        
         // Buttons
         ButtonType newGameButton = new ButtonType("🔄 New Game", ButtonBar.ButtonData.OK_DONE);
         ButtonType quitButton = new ButtonType("🚪 Quit", ButtonBar.ButtonData.CANCEL_CLOSE);
@@ -774,27 +683,20 @@ public class HangmanController {
     }
     
     private void startNewGame() {
+        GameEvents.UiAction action = GameEvents.uiAction();
         gameLogic.resetGame();
+        frameMonitor.gameStarted();
+        UIEnhancer.removePulseEffect(timerLabel);
         isPaused = false;
         newGameButton.setText("⏸");
         newGameButton.setStyle("-fx-font-size: 18; -fx-padding: 8; -fx-background-color: transparent; -fx-border-color: #2c3e50; -fx-border-width: 2; -fx-border-radius: 20; -fx-min-width: 40; -fx-min-height: 40; -fx-cursor: hand;");
         updateUI();
         drawHangman();
-        resetKeyboard();
+        updateKeyboardState();
         timerUpdate.play();
         gameInfoBox.requestFocus();
-    }
-    
-    private void resetKeyboard() {
-        for (javafx.scene.Node node : keyboardGrid.getChildren()) {
-            if (node instanceof Button) {
-                Button button = (Button) node;
-                button.setStyle(getDefaultButtonStyle());
-                button.setDisable(false);
-                button.getStyleClass().remove("correct-guess");
-                button.getStyleClass().remove("wrong-guess");
-            }
-        }
+        hintEngine.prefetch(gameLogic);
+        GameEvents.uiActionDone(action, "newGame");
     }
     
     private void showPauseMenu() {
@@ -808,20 +710,25 @@ public class HangmanController {
     }
     
     private void pauseGame() {
+        GameEvents.UiAction action = GameEvents.uiAction();
         isPaused = true;
         if (timerUpdate != null) {
             timerUpdate.pause();
         }
+        UIEnhancer.removePulseEffect(timerLabel);
         // Also pause the GameLogic timer
         gameLogic.pauseTimer();
         newGameButton.setText("▶️");
         newGameButton.setStyle("-fx-font-size: 18; -fx-padding: 8; -fx-background-color: #27ae60; -fx-border-color: #27ae60; -fx-border-width: 2; -fx-border-radius: 20; -fx-min-width: 40; -fx-min-height: 40; -fx-cursor: hand; -fx-text-fill: white;");
+        // Not timed any further: the pause menu waits for the player
+        GameEvents.uiActionDone(action, "pause");
         
         // Show pause menu dialog
         showPauseMenuDialog();
     }
     
     private void resumeGame() {
+        GameEvents.UiAction action = GameEvents.uiAction();
         isPaused = false;
         if (timerUpdate != null) {
             timerUpdate.play();
@@ -833,6 +740,7 @@ public class HangmanController {
         
         // Hide pause menu if visible
         hidePauseMenu();
+        GameEvents.uiActionDone(action, "resume");
     }
     
     private void showPauseMenuDialog() {
@@ -842,7 +750,7 @@ public class HangmanController {
         
         // Set dialog size for better proportions and to prevent button cutoff
         pauseMenuDialog.setWidth(500);
-        pauseMenuDialog.setHeight(650);
+        pauseMenuDialog.setHeight(720);
         
         // Pause icon
         Label pauseIcon = new Label("⏸");
@@ -897,7 +805,14 @@ public class HangmanController {
             Platform.exit();
         });
         
-        menuOptions.getChildren().addAll(resumeBtn, newGameBtn, quitBtn);
+        Button frameStatsBtn = new Button(frameMonitor.isOverlayVisible() ? "📊 Hide Frame Stats" : "📊 Show Frame Stats");
+        frameStatsBtn.setStyle("-fx-background-color: linear-gradient(to bottom, #8e44ad, #a569bd); -fx-text-fill: white; -fx-font-size: 16; -fx-font-weight: bold; -fx-padding: 12 24; -fx-background-radius: 25; -fx-cursor: hand; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 5, 0, 0, 2); -fx-min-width: 250; -fx-min-height: 50;");
+        frameStatsBtn.setOnAction(e -> {
+            frameMonitor.setOverlayVisible(!frameMonitor.isOverlayVisible());
+            frameStatsBtn.setText(frameMonitor.isOverlayVisible() ? "📊 Hide Frame Stats" : "📊 Show Frame Stats");
+        });
+        
+        menuOptions.getChildren().addAll(resumeBtn, newGameBtn, frameStatsBtn, quitBtn);
         
         // Close button
         Button closeBtn = new Button("❌ Close");
@@ -933,6 +848,39 @@ public class HangmanController {
         // Currently the dialog handles its own closing
     }
     
+    // Games are journalled only when -Dhangman.journal names a directory
+    private GameEventListener openJournal(Dictionary dictionary) {
+        String directory = System.getProperty(GameJournal.PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            return GameEventListener.NONE;
+        }
+        try {
+            journal = GameJournal.open(Paths.get(directory), dictionary.fingerprint());
+            return journal;
+        } catch (IOException e) {
+            System.err.println("Could not open game journal in " + directory + ": " + e.getMessage());
+            return GameEventListener.NONE;
+        }
+    }
+    
+    // Totals are ranked only when -Dhangman.leaderboard names a directory
+    private GameEventListener openLeaderboard() {
+        String directory = System.getProperty(Leaderboard.PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            return GameEventListener.NONE;
+        }
+        String player = System.getProperty(Leaderboard.PLAYER_PROPERTY, System.getProperty("user.name", "player"));
+        playerName = player.length() > Leaderboard.MAX_NAME_LENGTH ? player.substring(0, Leaderboard.MAX_NAME_LENGTH) : player;
+        try {
+            leaderboard = Leaderboard.open(Paths.get(directory));
+            rankings = new WindowedLeaderboard(leaderboard);
+            return rankings.listener(playerName);
+        } catch (IOException e) {
+            System.err.println("Could not open leaderboard in " + directory + ": " + e.getMessage());
+            return GameEventListener.NONE;
+        }
+    }
+    
     private void updateHintButton() {
         if (!gameLogic.canUseHint()) {
             hintButton.setDisable(true);
@@ -943,12 +891,44 @@ public class HangmanController {
         }
     }
     
+    /**
+     * Stops the game and closes the journal and the leaderboard, which write
+     * out what is still buffered. Called from {@link HangmanGame#stop()} when
+     * the application exits.
+     */
     public void shutdown() {
-        if (timerUpdate != null) {
-            timerUpdate.stop();
-        }
-        if (gameLogic != null) {
-            gameLogic.shutdown();
+        try {
+            if (timerUpdate != null) {
+                timerUpdate.stop();
+            }
+            if (frameMonitor != null) {
+                frameMonitor.stop();
+            }
+            if (GameMetrics.ENABLED) {
+                System.out.println("[animations] " + animations.getStats().format());
+            }
+            if (gameLogic != null) {
+                gameLogic.shutdown();
+            }
+            if (hintEngine != null) {
+                hintEngine.shutdown();
+            }
+        } finally {
+            // The files are closed even if stopping the game failed, so no score is lost
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close game journal: " + e.getMessage());
+                }
+            }
+            if (leaderboard != null) {
+                try {
+                    leaderboard.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close leaderboard: " + e.getMessage());
+                }
+            }
         }
     }
 }
@@ -8,9 +8,13 @@ import javafx.stage.Stage;
 
 public class HangmanGame extends Application {
 
+    private HangmanController controller;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
-        Parent root = FXMLLoader.load(getClass().getResource("/hangman.fxml"));
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/hangman.fxml"));
+        Parent root = loader.load();
+        controller = loader.getController();
         
         // Increased window size to accommodate all content including instructions
         Scene scene = new Scene(root, 1200, 900);
@@ -32,6 +36,15 @@ public class HangmanGame extends Application {
         primaryStage.show();
     }
 
+    // Runs on Platform.exit() and when the last window closes; without it the
+    // leaderboard and journal would never be closed
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,231 @@
+package com.hangman;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+/**
+ * Draws the gallows and the hangman on a canvas from cached images.
+ *
+ * <p>Each stage, from the bare gallows to all six body parts, is rendered once
+ * into an image at the canvas size and the window's output scale, so showing a
+ * stage is a clear and a single image draw. When one more wrong guess comes in,
+ * only the new body part is stroked, growing over a short animation, on top of
+ * the previous stage's image. The images are rebuilt on the next draw after the
+ * canvas is resized or the window moves to a screen with another scale.
+ *
+ * <p>Must be used on the FX thread.
+ */
+final class HangmanRenderer {
+
+    static final int STAGES = GameLogic.MAX_WRONG_GUESSES + 1;
+
+    private static final Color GALLOWS = Color.web("#6c757d");
+    private static final Color FIGURE = Color.web("#495057");
+    private static final Duration STROKE_TIME = Duration.millis(250);
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final WritableImage[] stages = new WritableImage[STAGES];
+    private final StrokeAnimation strokeAnimation = new StrokeAnimation();
+    // One instance of each, so they can be moved when the canvas changes scene or window
+    private final ChangeListener<Number> scaleListener = (observable, before, after) -> redraw();
+    private final ChangeListener<Window> windowListener = (observable, before, window) -> watchScale(before, window);
+    private final ChangeListener<Scene> sceneListener = (observable, before, scene) -> watchWindow(before, scene);
+    private double cachedWidth;
+    private double cachedHeight;
+    private double cachedScale;
+    private int shown = -1;
+
+    HangmanRenderer(Canvas canvas) {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+        canvas.widthProperty().addListener((observable, before, after) -> redraw());
+        canvas.heightProperty().addListener((observable, before, after) -> redraw());
+        canvas.sceneProperty().addListener(sceneListener);
+        watchWindow(null, canvas.getScene());
+    }
+
+    /**
+     * Shows the hangman for a number of wrong guesses. One more than is shown now
+     * strokes the new body part; any other change is drawn at once.
+     */
+    void draw(int wrongGuesses) {
+        int stage = Math.max(0, Math.min(STAGES - 1, wrongGuesses));
+        int previous = shown;
+        strokeAnimation.stop();
+        shown = stage;
+        if (stage == previous + 1 && previous >= 0 && ensureCached()) {
+            strokeAnimation.start(stage);
+        } else {
+            blit(stage);
+        }
+    }
+
+    /**
+     * Draws the current stage again, without animation.
+     */
+    void redraw() {
+        if (shown >= 0) {
+            strokeAnimation.stop();
+            blit(shown);
+        }
+    }
+
+    private void watchWindow(Scene before, Scene scene) {
+        if (before != null) {
+            before.windowProperty().removeListener(windowListener);
+        }
+        watchScale(before != null ? before.getWindow() : null, scene != null ? scene.getWindow() : null);
+        if (scene != null) {
+            scene.windowProperty().addListener(windowListener);
+        }
+    }
+
+    private void watchScale(Window before, Window window) {
+        if (before != null) {
+            before.outputScaleXProperty().removeListener(scaleListener);
+            before.outputScaleYProperty().removeListener(scaleListener);
+        }
+        if (window != null) {
+            window.outputScaleXProperty().addListener(scaleListener);
+            window.outputScaleYProperty().addListener(scaleListener);
+        }
+    }
+
+    private void blit(int stage) {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (ensureCached()) {
+            gc.drawImage(stages[stage], 0, 0, canvas.getWidth(), canvas.getHeight());
+        } else {
+            paintStage(gc, stage);
+        }
+    }
+
+    // Returns false when the canvas is empty and there is nothing to cache
+    private boolean ensureCached() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        double scale = outputScale();
+        if (width != cachedWidth || height != cachedHeight || scale != cachedScale) {
+            Canvas scratch = new Canvas(width, height);
+            GraphicsContext scratchGc = scratch.getGraphicsContext2D();
+            SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            parameters.setTransform(Transform.scale(scale, scale));
+            for (int stage = 0; stage < STAGES; stage++) {
+                scratchGc.clearRect(0, 0, width, height);
+                paintStage(scratchGc, stage);
+                stages[stage] = scratch.snapshot(parameters, null);
+            }
+            cachedWidth = width;
+            cachedHeight = height;
+            cachedScale = scale;
+        }
+        return true;
+    }
+
+    private double outputScale() {
+        Window window = canvas.getScene() != null ? canvas.getScene().getWindow() : null;
+        if (window != null && window.getOutputScaleX() > 0) {
+            return Math.max(window.getOutputScaleX(), window.getOutputScaleY());
+        }
+        return Screen.getPrimary().getOutputScaleX();
+    }
+
+    private static void paintStage(GraphicsContext gc, int stage) {
+        // Gallows, over a faint offset copy for depth
+        gc.setGlobalAlpha(0.3);
+        gc.setStroke(FIGURE);
+        gc.setLineWidth(6);
+        gc.strokeLine(82, 242, 82, 82);
+        gc.strokeLine(82, 82, 202, 82);
+        gc.strokeLine(202, 82, 202, 102);
+        gc.setGlobalAlpha(1.0);
+
+        gc.setStroke(GALLOWS);
+        gc.setLineWidth(4);
+        // Vertical post
+        gc.strokeLine(80, 240, 80, 80);
+        // Horizontal beam
+        gc.strokeLine(80, 80, 200, 80);
+        // Rope
+        gc.strokeLine(200, 80, 200, 100);
+
+        for (int part = 1; part <= stage; part++) {
+            paintPart(gc, part, 1.0);
+        }
+        if (stage > 0) {
+            // Soft outline around the head
+            gc.setGlobalAlpha(0.2);
+            gc.setStroke(FIGURE);
+            gc.setLineWidth(6);
+            gc.strokeOval(180, 100, 40, 40);
+            gc.setGlobalAlpha(1.0);
+        }
+    }
+
+    // Strokes a body part, 1 (head) to 6 (right leg), the given fraction of the way
+    private static void paintPart(GraphicsContext gc, int part, double progress) {
+        gc.setStroke(FIGURE);
+        gc.setLineWidth(4);
+        switch (part) {
+            case 1:
+                gc.strokeArc(180, 100, 40, 40, 90, 360 * progress, ArcType.OPEN);
+                gc.setStroke(GALLOWS);
+                gc.setLineWidth(2);
+                gc.strokeArc(185, 105, 30, 30, 90, 360 * progress, ArcType.OPEN);
+                break;
+            case 2: strokeLine(gc, 200, 140, 200, 200, progress); break;
+            case 3: strokeLine(gc, 200, 160, 170, 180, progress); break;
+            case 4: strokeLine(gc, 200, 160, 230, 180, progress); break;
+            case 5: strokeLine(gc, 200, 200, 170, 240, progress); break;
+            case 6: strokeLine(gc, 200, 200, 230, 240, progress); break;
+            default: throw new IllegalArgumentException("No body part " + part);
+        }
+    }
+
+    private static void strokeLine(GraphicsContext gc, double x1, double y1, double x2, double y2, double progress) {
+        gc.strokeLine(x1, y1, x1 + (x2 - x1) * progress, y1 + (y2 - y1) * progress);
+    }
+
+    /**
+     * Grows the newest body part over the previous stage's image, then settles
+     * on the new stage's image. One instance is reused for every guess.
+     */
+    private final class StrokeAnimation extends Transition {
+        private int stage;
+
+        StrokeAnimation() {
+            setCycleDuration(STROKE_TIME);
+            setInterpolator(Interpolator.EASE_OUT);
+            setOnFinished(e -> blit(stage));
+        }
+
+        void start(int stage) {
+            this.stage = stage;
+            playFromStart();
+        }
+
+        @Override
+        protected void interpolate(double fraction) {
+            gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            gc.drawImage(stages[stage - 1], 0, 0, canvas.getWidth(), canvas.getHeight());
+            paintPart(gc, stage, fraction);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hangman;
+
+/**
+ * Helpers for representing sets of letters A-Z as the low 26 bits of an int.
+ * Bit 0 is 'A', bit 25 is 'Z'. Characters outside A-Z (after upper-casing)
+ * have no bit and are never part of a mask.
+ */
+public final class LetterMask {
+
+    /** Mask with every letter A-Z set. */
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private LetterMask() {
+    }
+
+    /**
+     * Returns the single-bit mask for a letter, or 0 if the character is not A-Z.
+     */
+    public static int bit(char c) {
+        int index = Character.toUpperCase(c) - 'A';
+        return (index >= 0 && index < 26) ? 1 << index : 0;
+    }
+
+    /**
+     * Returns the mask of all distinct letters in a word.
+     */
+    public static int of(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            mask |= bit(word.charAt(i));
+        }
+        return mask;
+    }
+
+    /**
+     * Returns whether a letter's bit is set in the mask.
+     */
+    public static boolean contains(int mask, char c) {
+        int bit = bit(c);
+        return bit != 0 && (mask & bit) != 0;
+    }
+
+    /**
+     * Returns the letter for a bit index (0-25).
+     */
+    public static char letter(int index) {
+        return (char) ('A' + index);
+    }
+}
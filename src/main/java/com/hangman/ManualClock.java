@@ -0,0 +1,32 @@
+package com.hangman;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link GameClock} that only moves when {@link #advance} is called.
+ */
+public final class ManualClock implements GameClock {
+
+    private final AtomicLong nanos;
+
+    public ManualClock() {
+        this(0);
+    }
+
+    public ManualClock(long startNanos) {
+        this.nanos = new AtomicLong(startNanos);
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos.get();
+    }
+
+    /**
+     * Moves the clock forward and returns the new reading.
+     */
+    public long advance(long amount, TimeUnit unit) {
+        return nanos.addAndGet(unit.toNanos(amount));
+    }
+}
@@ -0,0 +1,280 @@
+package com.hangman;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hierarchical timing wheel that runs every game countdown in the process on one
+ * daemon thread.
+ *
+ * <p>The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Level 0 covers
+ * the next 64 ticks one slot per tick, level 1 the next 64^2 ticks 64 ticks per slot,
+ * and so on. Timeouts are placed in the coarsest slot that still resolves their
+ * deadline and are cascaded down as the wheel turns, so scheduling, cancelling and
+ * expiring a timeout are all O(1) regardless of how many are pending.
+ *
+ * <p>{@link #schedule} and {@link Timeout#cancel()} may be called from any thread;
+ * they only enqueue work that the wheel thread applies at the start of its next
+ * tick. Expiry tasks run on the wheel thread and must be short and non-blocking.
+ */
+public final class TimerWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static volatile TimerWheel shared;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] wheel = new Timeout[LEVELS][SLOTS];
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    // Next tick to process; only touched by the wheel thread
+    private long currentTick;
+
+    /**
+     * Creates and starts a wheel with the given tick resolution.
+     */
+    public TimerWheel(long tickDuration, TimeUnit unit, String threadName) {
+        this.tickNanos = Math.max(1, unit.toNanos(tickDuration));
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Returns the process-wide wheel used by all game sessions.
+     */
+    public static TimerWheel shared() {
+        TimerWheel wheel = shared;
+        if (wheel == null) {
+            synchronized (TimerWheel.class) {
+                wheel = shared;
+                if (wheel == null) {
+                    wheel = new TimerWheel(DEFAULT_TICK_NANOS, TimeUnit.NANOSECONDS, "hangman-timer-wheel");
+                    shared = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel has been stopped");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        // Round up so a timeout never fires before its delay has passed
+        Timeout timeout = new Timeout(this, task, (deadline + tickNanos - 1) / tickNanos);
+        pendingCount.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts that have been scheduled but have neither
+     * expired nor been cancelled.
+     */
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops the wheel thread. Pending timeouts are dropped without running.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            long sleepNanos = nextTickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            // Catch up on every tick that has elapsed, e.g. after a long GC pause
+            long elapsedTicks = (System.nanoTime() - startNanos) / tickNanos;
+            while (running && currentTick <= elapsedTicks) {
+                processPending();
+                tick();
+                currentTick++;
+            }
+        }
+    }
+
+    private void processPending() {
+        Timeout timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            unlink(timeout);
+        }
+        while ((timeout = pendingAdds.poll()) != null) {
+            if (timeout.state == Timeout.ST_INIT) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void tick() {
+        long tick = currentTick;
+        // Cascade coarser levels first so a timeout can drop several levels at once
+        if ((tick & SLOT_MASK) == 0) {
+            int level = 1;
+            while (level < LEVELS - 1 && ((tick >>> (SLOT_BITS * level)) & SLOT_MASK) == 0) {
+                level++;
+            }
+            for (; level >= 1; level--) {
+                cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+        }
+
+        int slot = (int) (tick & SLOT_MASK);
+        Timeout timeout = wheel[0][slot];
+        wheel[0][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.level = -1;
+            if (timeout.deadlineTick <= tick) {
+                timeout.expire();
+            } else {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout timeout = wheel[level][slot];
+        wheel[level][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.level = -1;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick);
+        long delta = deadline - currentTick;
+        if (delta >= MAX_SPAN) {
+            // Beyond the top level: park in the furthest slot and re-place on cascade
+            delta = MAX_SPAN - 1;
+            deadline = currentTick + delta;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Timeout head = wheel[level][slot];
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheel[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.level < 0) {
+            return;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheel[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimerWheel owner;
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile int state = ST_INIT;
+
+        // Bucket links; only touched by the wheel thread
+        private Timeout prev;
+        private Timeout next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(TimerWheel owner, Runnable task, long deadlineTick) {
+            this.owner = owner;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the timeout. Returns false if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            owner.pendingCount.decrementAndGet();
+            owner.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            owner.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                System.err.println("Timer task failed: " + t);
+            }
+        }
+    }
+}
@@ -3,17 +3,68 @@ package com.hangman;
 import javafx.animation.*;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Glow;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 
+import java.util.function.Function;
+
 /**
- * UI Enhancement utility class for modern visual effects
+ * UI Enhancement utility class for modern visual effects. Animations are played
+ * through {@link AnimationManager}, so each node reuses its own instances.
  */
 public class UIEnhancer {
     
+    private static final AnimationManager ANIMATIONS = AnimationManager.shared();
+    
+    // Builders for the animations each node gets once and then replays
+    static final Function<Node, Animation> HOVER_IN = node -> scaleTo(node, 150, 1.05);
+    static final Function<Node, Animation> HOVER_OUT = node -> scaleTo(node, 150, 1.0);
+    static final Function<Node, Animation> SUCCESS = node ->
+        new SequentialTransition(scaleTo(node, 200, 1.2), scaleTo(node, 200, 1.0));
+    static final Function<Node, Animation> PULSE = node -> {
+        ScaleTransition pulse = scaleTo(node, 500, 1.1);
+        pulse.setCycleCount(Animation.INDEFINITE);
+        pulse.setAutoReverse(true);
+        return pulse;
+    };
+    static final Function<Node, Animation> ERROR = node -> {
+        // From the rest position, so a shake restarted halfway does not drift
+        TranslateTransition shake = new TranslateTransition(Duration.millis(50), node);
+        shake.setFromX(0);
+        shake.setToX(-5);
+        shake.setCycleCount(6);
+        shake.setAutoReverse(true);
+        return shake;
+    };
+    static final Function<Node, Animation> FADE_IN = node -> {
+        FadeTransition fadeIn = new FadeTransition(Duration.millis(800), node);
+        fadeIn.setFromValue(0.0);
+        fadeIn.setToValue(1.0);
+        return fadeIn;
+    };
+    static final Function<Node, Animation> GLOW = node -> {
+        // The glow goes on at the start of every run and comes off at the end
+        Glow glow = new Glow();
+        Timeline glowPulse = new Timeline(
+            new KeyFrame(Duration.ZERO, new KeyValue(node.effectProperty(), glow),
+                new KeyValue(glow.levelProperty(), 0.3)),
+            new KeyFrame(Duration.millis(1000), new KeyValue(glow.levelProperty(), 0.8)),
+            new KeyFrame(Duration.millis(2000), new KeyValue(glow.levelProperty(), 0.3))
+        );
+        glowPulse.setCycleCount(3);
+        glowPulse.setOnFinished(e -> node.setEffect(null));
+        return glowPulse;
+    };
+    static final Function<Node, Animation> BOUNCE = node -> new Timeline(
+        new KeyFrame(Duration.ZERO, new KeyValue(node.translateYProperty(), 0)),
+        new KeyFrame(Duration.millis(100), new KeyValue(node.translateYProperty(), -10)),
+        new KeyFrame(Duration.millis(200), new KeyValue(node.translateYProperty(), 0)),
+        new KeyFrame(Duration.millis(300), new KeyValue(node.translateYProperty(), -5)),
+        new KeyFrame(Duration.millis(400), new KeyValue(node.translateYProperty(), 0))
+    );
+    
     /**
      * Applies modern button effects with hover animations
      */
@@ -36,18 +87,12 @@ public class UIEnhancer {
         
         // Add hover effects
         button.setOnMouseEntered(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(150), button);
-            scale.setToX(1.05);
-            scale.setToY(1.05);
-            scale.play();
+            ANIMATIONS.play(button, AnimationManager.Kind.HOVER_IN, HOVER_IN);
             button.setEffect(hoverShadow);
         });
         
         button.setOnMouseExited(e -> {
-            ScaleTransition scale = new ScaleTransition(Duration.millis(150), button);
-            scale.setToX(1.0);
-            scale.setToY(1.0);
-            scale.play();
+            ANIMATIONS.play(button, AnimationManager.Kind.HOVER_OUT, HOVER_OUT);
             button.setEffect(defaultShadow);
         });
     }
@@ -56,93 +101,68 @@ public class UIEnhancer {
      * Adds a fade-in effect to any node
      */
     public static void addFadeInEffect(Node node) {
-        node.setOpacity(0.0);
-        FadeTransition fadeIn = new FadeTransition(Duration.millis(800), node);
-        fadeIn.setFromValue(0.0);
-        fadeIn.setToValue(1.0);
-        fadeIn.play();
+        ANIMATIONS.play(node, AnimationManager.Kind.FADE_IN, FADE_IN);
     }
     
     /**
      * Adds a success animation to a node
      */
     public static void addSuccessAnimation(Node node) {
-        ScaleTransition scaleUp = new ScaleTransition(Duration.millis(200), node);
-        scaleUp.setToX(1.2);
-        scaleUp.setToY(1.2);
-        
-        ScaleTransition scaleDown = new ScaleTransition(Duration.millis(200), node);
-        scaleDown.setToX(1.0);
-        scaleDown.setToY(1.0);
-        
-        SequentialTransition sequence = new SequentialTransition(scaleUp, scaleDown);
-        sequence.play();
+        ANIMATIONS.play(node, AnimationManager.Kind.SUCCESS, SUCCESS);
     }
     
     /**
      * Adds an error animation to a node
      */
     public static void addErrorAnimation(Node node) {
-        TranslateTransition shake = new TranslateTransition(Duration.millis(50), node);
-        shake.setByX(-5);
-        shake.setCycleCount(6);
-        shake.setAutoReverse(true);
-        shake.play();
+        ANIMATIONS.play(node, AnimationManager.Kind.ERROR, ERROR);
     }
     
     /**
-     * Adds a pulse effect to a node
+     * Adds a pulse effect to a node; does nothing if the node is already pulsing
      */
     public static void addPulseEffect(Node node) {
-        ScaleTransition pulse = new ScaleTransition(Duration.millis(500), node);
-        pulse.setToX(1.1);
-        pulse.setToY(1.1);
-        pulse.setCycleCount(Timeline.INDEFINITE);
-        pulse.setAutoReverse(true);
-        pulse.play();
+        ANIMATIONS.play(node, AnimationManager.Kind.PULSE, PULSE);
     }
     
     /**
-     * Adds a glow effect to a label
+     * Stops the pulse effect on a node and returns it to its normal size
      */
-    public static void addGlowEffect(Label label, Color glowColor) {
-        Glow glow = new Glow();
-        glow.setLevel(0.8);
-        label.setEffect(glow);
-        
-        Timeline glowPulse = new Timeline(
-            new KeyFrame(Duration.ZERO, new KeyValue(glow.levelProperty(), 0.3)),
-            new KeyFrame(Duration.millis(1000), new KeyValue(glow.levelProperty(), 0.8)),
-            new KeyFrame(Duration.millis(2000), new KeyValue(glow.levelProperty(), 0.3))
-        );
-        glowPulse.setCycleCount(3);
-        glowPulse.setOnFinished(e -> label.setEffect(null));
-        glowPulse.play();
+    public static void removePulseEffect(Node node) {
+        ANIMATIONS.stop(node, AnimationManager.Kind.PULSE);
+    }
+    
+    /**
+     * Adds a glow effect to a node
+     */
+    public static void addGlowEffect(Node node) {
+        ANIMATIONS.play(node, AnimationManager.Kind.GLOW, GLOW);
     }
     
     /**
      * Adds a bounce effect to a node
      */
     public static void addBounceEffect(Node node) {
-        Timeline bounce = new Timeline(
-            new KeyFrame(Duration.ZERO, new KeyValue(node.translateYProperty(), 0)),
-            new KeyFrame(Duration.millis(100), new KeyValue(node.translateYProperty(), -10)),
-            new KeyFrame(Duration.millis(200), new KeyValue(node.translateYProperty(), 0)),
-            new KeyFrame(Duration.millis(300), new KeyValue(node.translateYProperty(), -5)),
-            new KeyFrame(Duration.millis(400), new KeyValue(node.translateYProperty(), 0))
-        );
-        bounce.play();
+        ANIMATIONS.play(node, AnimationManager.Kind.BOUNCE, BOUNCE);
     }
     
     /**
      * Adds a slide-in effect from left to right
      */
     public static void addSlideInEffect(Node node, double fromX, double toX) {
-        node.setTranslateX(fromX);
-        TranslateTransition slideIn = new TranslateTransition(Duration.millis(600), node);
-        slideIn.setFromX(fromX);
-        slideIn.setToX(toX);
-        slideIn.play();
+        // The kept transition is moved to this call's positions before it replays
+        Animation kept = ANIMATIONS.get(node, AnimationManager.Kind.SLIDE_IN);
+        if (kept != null) {
+            TranslateTransition slideIn = (TranslateTransition) kept;
+            slideIn.setFromX(fromX);
+            slideIn.setToX(toX);
+        }
+        ANIMATIONS.play(node, AnimationManager.Kind.SLIDE_IN, target -> {
+            TranslateTransition slideIn = new TranslateTransition(Duration.millis(600), target);
+            slideIn.setFromX(fromX);
+            slideIn.setToX(toX);
+            return slideIn;
+        });
     }
     
     /**
@@ -150,6 +170,7 @@ public class UIEnhancer {
      */
     public static void stopAnimations(Node node) {
         // Stop any running animations
+        ANIMATIONS.stopAll(node);
         node.getTransforms().clear();
         node.setTranslateX(0);
         node.setTranslateY(0);
@@ -157,4 +178,11 @@ public class UIEnhancer {
         node.setScaleY(1.0);
         node.setRotate(0);
     }
+    
+    private static ScaleTransition scaleTo(Node node, double millis, double scale) {
+        ScaleTransition transition = new ScaleTransition(Duration.millis(millis), node);
+        transition.setToX(scale);
+        transition.setToY(scale);
+        return transition;
+    }
 }
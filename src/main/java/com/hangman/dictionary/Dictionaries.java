@@ -0,0 +1,60 @@
+package com.hangman.dictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Lazily loaded shared dictionaries behind {@link Dictionary#getDefault()} and
+ * {@link Dictionary#builtIn()}.
+ */
+final class Dictionaries {
+
+    static final String BUILT_IN_RESOURCE = "/dictionary/default.txt";
+
+    private Dictionaries() {
+    }
+
+    static Dictionary builtIn() {
+        return BuiltInHolder.INSTANCE;
+    }
+
+    static Dictionary defaultDictionary() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static final class BuiltInHolder {
+        static final Dictionary INSTANCE = load();
+
+        private static Dictionary load() {
+            try (InputStream in = Dictionaries.class.getResourceAsStream(BUILT_IN_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Built-in word pack is missing: " + BUILT_IN_RESOURCE);
+                }
+                return MappedDictionary.wrap(DictionaryCompiler.compile(
+                    new InputStreamReader(in, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load built-in word pack", e);
+            }
+        }
+    }
+
+    private static final class DefaultHolder {
+        static final Dictionary INSTANCE = load();
+
+        private static Dictionary load() {
+            String path = System.getProperty(Dictionary.DICTIONARY_PROPERTY);
+            if (path == null || path.isBlank()) {
+                return builtIn();
+            }
+            try {
+                return MappedDictionary.open(Path.of(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open dictionary " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hangman.dictionary;
+
+/**
+ * Read-only word list addressed by integer id.
+ *
+ * <p>Ids run from 0 to {@link #size()} - 1. Words are upper-case ASCII and unique.
+ * Every word belongs to one or more categories, also addressed by id, and each
+ * category keeps an inverted list of its word ids so a random word in a category
+ * can be picked in constant time.
+ */
+public interface Dictionary {
+
+    /** System property naming a compiled dictionary file to use instead of the built-in pack. */
+    String DICTIONARY_PROPERTY = "hangman.dictionary";
+
+    /** Category reported for words that were not listed under any category. */
+    String DEFAULT_CATEGORY = "General Computing";
+
+    int size();
+
+    /**
+     * Returns a copy of the word as a String.
+     */
+    String word(int id);
+
+    /**
+     * Returns a view of the word that reads directly from the backing storage
+     * without copying its characters.
+     */
+    CharSequence wordView(int id);
+
+    int wordLength(int id);
+
+    char charAt(int id, int index);
+
+    /**
+     * Returns the distinct letters of the word as a {@link com.hangman.LetterMask} bit set.
+     */
+    int letterMask(int id);
+
+    int categoryCount();
+
+    String categoryName(int categoryId);
+
+    /**
+     * Returns the id of the named category, or -1 if there is none.
+     */
+    int categoryId(String name);
+
+    /**
+     * Returns the primary category id of a word.
+     */
+    int categoryOf(int id);
+
+    /**
+     * Returns how many categories a word belongs to.
+     */
+    int wordCategoryCount(int id);
+
+    /**
+     * Returns one of a word's categories; index 0 is its primary category.
+     */
+    int wordCategory(int id, int index);
+
+    /**
+     * Returns the number of words in a category.
+     */
+    int categorySize(int categoryId);
+
+    /**
+     * Returns the word id at a position in a category's word list, which is in
+     * ascending id order.
+     */
+    int categoryWord(int categoryId, int index);
+
+    /**
+     * Returns a hash of the dictionary contents: the words, the category names and
+     * which categories each word is in. Two dictionaries with the same fingerprint
+     * have the same words and categories.
+     */
+    long fingerprint();
+
+    /**
+     * Returns the difficulty index for this dictionary, building or loading it on
+     * first use.
+     */
+    DifficultyIndex difficulty();
+
+    /**
+     * Returns the dictionary games use by default: the compiled file named by the
+     * {@value #DICTIONARY_PROPERTY} system property if set, otherwise the built-in pack.
+     */
+    static Dictionary getDefault() {
+        return Dictionaries.defaultDictionary();
+    }
+
+    /**
+     * Returns the word pack bundled with the game.
+     */
+    static Dictionary builtIn() {
+        return Dictionaries.builtIn();
+    }
+}
@@ -0,0 +1,244 @@
+package com.hangman.dictionary;
+
+import com.hangman.LetterMask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collects words and writes them in the compiled dictionary format read by
+ * {@link MappedDictionary}.
+ */
+public final class DictionaryBuilder {
+
+    private byte[] wordBytes = new byte[1024];
+    private int wordBytesLength;
+    private int[] wordOffsets = new int[257];
+    private int[] letterMasks = new int[256];
+    private int wordCount;
+    private final Map<String, Integer> wordIds = new HashMap<>();
+
+    // (word id, category id) memberships in the order they were added
+    private int[] memberWords = new int[256];
+    private int[] memberCategories = new int[256];
+    private int memberCount;
+
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+
+    /**
+     * Adds a word under a category. Words are stored upper-case and may only contain
+     * printable ASCII characters. Adding a word again under another category makes
+     * it a member of both; the first category added stays its primary category.
+     */
+    public DictionaryBuilder add(String word, String category) {
+        String normalized = word.trim().toUpperCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Empty word");
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c <= ' ' || c > '~') {
+                throw new IllegalArgumentException("Word contains unsupported character: " + word);
+            }
+        }
+
+        Integer existing = wordIds.get(normalized);
+        int id = existing != null ? existing : addWord(normalized);
+        if (memberCount == memberWords.length) {
+            memberWords = Arrays.copyOf(memberWords, memberCount * 2);
+            memberCategories = Arrays.copyOf(memberCategories, memberCount * 2);
+        }
+        memberWords[memberCount] = id;
+        memberCategories[memberCount] = categoryId(category == null ? Dictionary.DEFAULT_CATEGORY : category);
+        memberCount++;
+        return this;
+    }
+
+    private int addWord(String normalized) {
+        if (wordCount + 1 >= wordOffsets.length) {
+            int capacity = wordOffsets.length * 2;
+            wordOffsets = Arrays.copyOf(wordOffsets, capacity + 1);
+            letterMasks = Arrays.copyOf(letterMasks, capacity);
+        }
+        if (wordBytesLength + normalized.length() > wordBytes.length) {
+            wordBytes = Arrays.copyOf(wordBytes, Math.max(wordBytes.length * 2, wordBytesLength + normalized.length()));
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            wordBytes[wordBytesLength++] = (byte) normalized.charAt(i);
+        }
+        int id = wordCount++;
+        letterMasks[id] = LetterMask.of(normalized);
+        wordOffsets[wordCount] = wordBytesLength;
+        wordIds.put(normalized, id);
+        return id;
+    }
+
+    private int categoryId(String category) {
+        return categoryIds.computeIfAbsent(category, name -> {
+            categoryNames.add(name);
+            return categoryNames.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the number of distinct words added.
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the compiled dictionary in a heap buffer.
+     */
+    public ByteBuffer build() {
+        byte[][] names = new byte[categoryNames.size()][];
+        int[] nameOffsets = new int[names.length + 1];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = categoryNames.get(i).getBytes(StandardCharsets.UTF_8);
+            nameOffsets[i + 1] = nameOffsets[i] + names[i].length;
+        }
+
+        // Group memberships by word with a stable counting sort, keeping the order
+        // categories were added in and dropping repeats of the same category
+        int[] wordCategoryOffsets = new int[wordCount + 1];
+        for (int i = 0; i < memberCount; i++) {
+            wordCategoryOffsets[memberWords[i] + 1]++;
+        }
+        for (int i = 0; i < wordCount; i++) {
+            wordCategoryOffsets[i + 1] += wordCategoryOffsets[i];
+        }
+        int[] grouped = new int[memberCount];
+        int[] fill = Arrays.copyOf(wordCategoryOffsets, wordCount);
+        for (int i = 0; i < memberCount; i++) {
+            grouped[fill[memberWords[i]]++] = memberCategories[i];
+        }
+        int[] wordCategoryIds = new int[memberCount];
+        int[] postingCounts = new int[names.length + 1];
+        int distinct = 0;
+        for (int word = 0; word < wordCount; word++) {
+            int start = distinct;
+            for (int i = wordCategoryOffsets[word]; i < wordCategoryOffsets[word + 1]; i++) {
+                int category = grouped[i];
+                boolean repeated = false;
+                for (int j = start; j < distinct && !repeated; j++) {
+                    repeated = wordCategoryIds[j] == category;
+                }
+                if (!repeated) {
+                    wordCategoryIds[distinct++] = category;
+                    postingCounts[category + 1]++;
+                }
+            }
+            wordCategoryOffsets[word] = start;
+        }
+        wordCategoryOffsets[wordCount] = distinct;
+
+        // Invert into ascending word ids per category
+        int[] postingOffsets = postingCounts;
+        for (int i = 0; i < names.length; i++) {
+            postingOffsets[i + 1] += postingOffsets[i];
+        }
+        int[] postings = new int[distinct];
+        int[] next = Arrays.copyOf(postingOffsets, names.length);
+        for (int word = 0; word < wordCount; word++) {
+            for (int i = wordCategoryOffsets[word]; i < wordCategoryOffsets[word + 1]; i++) {
+                postings[next[wordCategoryIds[i]]++] = word;
+            }
+        }
+
+        int[][] sections = {
+            {DictionaryFormat.WORD_OFFSETS, (wordCount + 1) * 4},
+            {DictionaryFormat.WORD_BYTES, wordBytesLength},
+            {DictionaryFormat.LETTER_MASKS, wordCount * 4},
+            {DictionaryFormat.CATEGORY_OFFSETS, nameOffsets.length * 4},
+            {DictionaryFormat.CATEGORY_BYTES, nameOffsets[names.length]},
+            {DictionaryFormat.WORD_CATEGORY_OFFSETS, (wordCount + 1) * 4},
+            {DictionaryFormat.WORD_CATEGORY_IDS, distinct * 4},
+            {DictionaryFormat.CATEGORY_POSTING_OFFSETS, postingOffsets.length * 4},
+            {DictionaryFormat.CATEGORY_POSTINGS, distinct * 4},
+            {DictionaryFormat.FINGERPRINT, 8},
+        };
+        int position = DictionaryFormat.align(DictionaryFormat.HEADER_SIZE + sections.length * DictionaryFormat.SECTION_ENTRY_SIZE);
+        int[] offsets = new int[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            offsets[i] = position;
+            position = DictionaryFormat.align(position + sections[i][1]);
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(position).order(DictionaryFormat.ORDER);
+        out.putInt(DictionaryFormat.MAGIC)
+           .putInt(DictionaryFormat.VERSION)
+           .putInt(wordCount)
+           .putInt(names.length)
+           .putInt(sections.length);
+        for (int i = 0; i < sections.length; i++) {
+            out.putInt(sections[i][0]).putInt(offsets[i]).putInt(sections[i][1]);
+        }
+
+        putInts(out, offsets[0], wordOffsets, wordCount + 1);
+        out.position(offsets[1]);
+        out.put(wordBytes, 0, wordBytesLength);
+        putInts(out, offsets[2], letterMasks, wordCount);
+        putInts(out, offsets[3], nameOffsets, nameOffsets.length);
+        out.position(offsets[4]);
+        for (byte[] name : names) {
+            out.put(name);
+        }
+        putInts(out, offsets[5], wordCategoryOffsets, wordCount + 1);
+        putInts(out, offsets[6], wordCategoryIds, distinct);
+        putInts(out, offsets[7], postingOffsets, postingOffsets.length);
+        putInts(out, offsets[8], postings, distinct);
+
+        long fingerprint = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < wordBytesLength; i++) {
+            fingerprint = (fingerprint ^ wordBytes[i]) * 0x100000001B3L;
+        }
+        for (int i = 0; i <= wordCount; i++) {
+            fingerprint = DictionaryFormat.mix(fingerprint ^ wordOffsets[i]);
+        }
+        for (int i = 0; i <= wordCount; i++) {
+            fingerprint = DictionaryFormat.mix(fingerprint ^ wordCategoryOffsets[i]);
+        }
+        for (int i = 0; i < distinct; i++) {
+            fingerprint = DictionaryFormat.mix(fingerprint ^ wordCategoryIds[i]);
+        }
+        for (int i = 0; i <= names.length; i++) {
+            fingerprint = DictionaryFormat.mix(fingerprint ^ nameOffsets[i]);
+        }
+        for (byte[] name : names) {
+            for (byte b : name) {
+                fingerprint = (fingerprint ^ b) * 0x100000001B3L;
+            }
+        }
+        out.putLong(offsets[9], fingerprint);
+        return out.clear();
+    }
+
+    private static void putInts(ByteBuffer out, int position, int[] values, int count) {
+        out.position(position);
+        out.asIntBuffer().put(values, 0, count);
+    }
+
+    /**
+     * Writes the compiled dictionary to a file, replacing any existing file.
+     */
+    public void writeTo(Path path) throws IOException {
+        ByteBuffer data = build();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.hangman.dictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compiles a text word pack into the binary dictionary format.
+ *
+ * <p>The text format has one word per line. A line of the form {@code [Category]}
+ * starts a category section; blank lines and lines starting with {@code #} are
+ * ignored. Words before the first section belong to
+ * {@value Dictionary#DEFAULT_CATEGORY}. A word listed in several sections belongs
+ * to each of those categories.
+ *
+ * <pre>
+ * java -cp hangman-game.jar com.hangman.dictionary.DictionaryCompiler words.txt words.hmd
+ * </pre>
+ */
+public final class DictionaryCompiler {
+
+    private DictionaryCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DictionaryCompiler <source.txt> <target.hmd>");
+            System.exit(2);
+        }
+        DictionaryBuilder builder = parse(Path.of(args[0]));
+        builder.writeTo(Path.of(args[1]));
+        System.out.println("Compiled " + builder.size() + " words to " + args[1]);
+    }
+
+    /**
+     * Compiles a text pack into a heap buffer.
+     */
+    public static ByteBuffer compile(Reader source) throws IOException {
+        return parse(source).build();
+    }
+
+    /**
+     * Compiles a text pack file into a dictionary file.
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        parse(source).writeTo(target);
+    }
+
+    private static DictionaryBuilder parse(Path source) throws IOException {
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    private static DictionaryBuilder parse(Reader source) throws IOException {
+        DictionaryBuilder builder = new DictionaryBuilder();
+        BufferedReader reader = source instanceof BufferedReader
+            ? (BufferedReader) source : new BufferedReader(source);
+        String category = Dictionary.DEFAULT_CATEGORY;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                category = line.substring(1, line.length() - 1).trim();
+                continue;
+            }
+            try {
+                builder.add(line, category);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,71 @@
+package com.hangman.dictionary;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the compiled dictionary file.
+ *
+ * <pre>
+ * header   int magic, int version, int wordCount, int categoryCount, int sectionCount
+ * sections sectionCount x (int id, int offset, int length)
+ * data     section payloads, each aligned to 8 bytes
+ * </pre>
+ *
+ * All values are little-endian. Readers locate sections through the directory, so
+ * new sections can be added without moving existing ones.
+ */
+final class DictionaryFormat {
+
+    static final int MAGIC = 0x43444D48; // "HMDC"
+    static final int VERSION = 3;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 20;
+    static final int SECTION_ENTRY_SIZE = 12;
+
+    /** int[wordCount + 1] start of each word in {@link #WORD_BYTES}. */
+    static final int WORD_OFFSETS = 1;
+    /** ASCII characters of all words, back to back. */
+    static final int WORD_BYTES = 2;
+    /** int[wordCount] letter mask of each word. */
+    static final int LETTER_MASKS = 3;
+    /** int[categoryCount + 1] start of each name in {@link #CATEGORY_BYTES}. */
+    static final int CATEGORY_OFFSETS = 4;
+    /** UTF-8 category names, back to back. */
+    static final int CATEGORY_BYTES = 5;
+    /** int[wordCount + 1] start of each word's list in {@link #WORD_CATEGORY_IDS}. */
+    static final int WORD_CATEGORY_OFFSETS = 6;
+    /** Category ids of every word, back to back; a word's first category is its primary one. */
+    static final int WORD_CATEGORY_IDS = 7;
+    /** int[categoryCount + 1] start of each category's list in {@link #CATEGORY_POSTINGS}. */
+    static final int CATEGORY_POSTING_OFFSETS = 8;
+    /** Word ids of every category in ascending order, back to back. */
+    static final int CATEGORY_POSTINGS = 9;
+    /** long hash of the dictionary contents, used to tell when derived indexes are stale. */
+    static final int FINGERPRINT = 10;
+
+    private DictionaryFormat() {
+    }
+
+    static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    /**
+     * 64-bit hash of one word's characters (FNV-1a with a final mix).
+     */
+    static long wordHash(Dictionary dictionary, int id) {
+        long hash = 0xCBF29CE484222325L;
+        int length = dictionary.wordLength(id);
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ dictionary.charAt(id, i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,497 @@
+package com.hangman.dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed difficulty of every word in a {@link Dictionary}, grouped into
+ * {@value #BUCKETS} equally sized buckets from easiest (0) to hardest.
+ *
+ * <p>A word's score combines how many wrong guesses a greedy letter-frequency solver
+ * needs to solve it, how many distinct letters it has, how rare those letters are,
+ * and its length (long words reveal more per correct guess). Word ids are also
+ * indexed by bucket and by (category, bucket), so a random word of a given
+ * difficulty can be picked in constant time.
+ *
+ * <p>The index is meant to be computed offline and stored next to the dictionary.
+ * {@link #load(Dictionary, Path)} maps an existing index file when it matches the
+ * dictionary's fingerprint. When the dictionary has changed, the solver results are
+ * reused for every word length whose set of words is unchanged and only the other
+ * lengths are solved again.
+ */
+public final class DifficultyIndex {
+
+    /** Number of difficulty buckets. */
+    public static final int BUCKETS = 5;
+
+    /** Levels a player stays in one bucket before moving to the next. */
+    public static final int LEVELS_PER_BUCKET = 2;
+
+    private static final int MAGIC = 0x58444D48; // "HMDX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final ByteBuffer buffer;
+    private final Layout layout;
+
+    private DifficultyIndex(ByteBuffer source) {
+        this.buffer = source.duplicate().order(ORDER);
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a difficulty index");
+        }
+        this.layout = new Layout(buffer.getInt(8), buffer.getInt(12), buffer.getInt(16), buffer.getInt(32), buffer.getInt(20));
+        if (layout.buckets != BUCKETS || buffer.limit() < layout.size) {
+            throw new IllegalArgumentException("Difficulty index has an unexpected layout");
+        }
+    }
+
+    /**
+     * Computes the index for a dictionary in memory.
+     */
+    public static DifficultyIndex compute(Dictionary dictionary) {
+        return new DifficultyIndex(build(dictionary, null));
+    }
+
+    /**
+     * Returns the index stored in {@code file}, rebuilding it first if it is missing
+     * or was built for different dictionary contents.
+     */
+    public static DifficultyIndex load(Dictionary dictionary, Path file) throws IOException {
+        DifficultyIndex previous = null;
+        if (Files.exists(file)) {
+            try {
+                if (builtFor(dictionary, file)) {
+                    return map(file);
+                }
+                // Read rather than map: a file that is still mapped cannot be replaced on every platform
+                previous = new DifficultyIndex(ByteBuffer.wrap(Files.readAllBytes(file)));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Ignoring unreadable difficulty index " + file + ": " + e.getMessage());
+            }
+        }
+
+        ByteBuffer data = build(dictionary, previous);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return map(file);
+    }
+
+    private static DifficultyIndex map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Difficulty index too large: " + file);
+            }
+            return new DifficultyIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    // Checks the stored header without mapping the file, so it can still be replaced when stale
+    private static boolean builtFor(Dictionary dictionary, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return false;
+                }
+            }
+        }
+        return header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+            && matches(header, dictionary);
+    }
+
+    /**
+     * Returns whether this index was built for the given dictionary contents.
+     */
+    public boolean matches(Dictionary dictionary) {
+        return matches(buffer, dictionary);
+    }
+
+    private static boolean matches(ByteBuffer header, Dictionary dictionary) {
+        return header.getLong(24) == dictionary.fingerprint()
+            && header.getInt(8) == dictionary.size()
+            && header.getInt(12) == dictionary.categoryCount();
+    }
+
+    /**
+     * Returns the bucket for a player level: {@value #LEVELS_PER_BUCKET} levels per
+     * bucket, staying in the hardest bucket after that.
+     */
+    public static int bucketForLevel(int level) {
+        return Math.min(Math.max(level, 0) / LEVELS_PER_BUCKET, BUCKETS - 1);
+    }
+
+    /**
+     * Returns the word's difficulty score, between 0 (easiest) and 1.
+     */
+    public float score(int id) {
+        return buffer.getFloat(layout.scores + (id << 2));
+    }
+
+    public int bucketOf(int id) {
+        return buffer.get(layout.bucketOfWord + id);
+    }
+
+    /**
+     * Returns how many guesses the reference solver needed for the word.
+     */
+    public int guessesToSolve(int id) {
+        return buffer.get(layout.guesses + id) & 0xFF;
+    }
+
+    /**
+     * Returns how many of the reference solver's guesses for the word were wrong.
+     */
+    public int wrongGuessesToSolve(int id) {
+        return buffer.get(layout.wrong + id) & 0xFF;
+    }
+
+    public int bucketSize(int bucket) {
+        int offset = layout.bucketOffsets + (bucket << 2);
+        return buffer.getInt(offset + 4) - buffer.getInt(offset);
+    }
+
+    public int bucketWord(int bucket, int index) {
+        int start = buffer.getInt(layout.bucketOffsets + (bucket << 2));
+        return buffer.getInt(layout.bucketWords + ((start + index) << 2));
+    }
+
+    public int categoryBucketSize(int categoryId, int bucket) {
+        int offset = layout.categoryBucketOffsets + ((categoryId * BUCKETS + bucket) << 2);
+        return buffer.getInt(offset + 4) - buffer.getInt(offset);
+    }
+
+    public int categoryBucketWord(int categoryId, int bucket, int index) {
+        int start = buffer.getInt(layout.categoryBucketOffsets + ((categoryId * BUCKETS + bucket) << 2));
+        return buffer.getInt(layout.categoryBucketWords + ((start + index) << 2));
+    }
+
+    private long wordHash(int id) {
+        return buffer.getLong(layout.wordHashes + (id << 3));
+    }
+
+    private static ByteBuffer build(Dictionary dictionary, DifficultyIndex previous) {
+        int words = dictionary.size();
+        int categories = dictionary.categoryCount();
+
+        // Group word ids by length: the solver only ever confuses words of equal length
+        int maxLength = 0;
+        for (int id = 0; id < words; id++) {
+            maxLength = Math.max(maxLength, dictionary.wordLength(id));
+        }
+        int[] lengthOffsets = new int[maxLength + 2];
+        for (int id = 0; id < words; id++) {
+            lengthOffsets[dictionary.wordLength(id) + 1]++;
+        }
+        for (int i = 0; i <= maxLength; i++) {
+            lengthOffsets[i + 1] += lengthOffsets[i];
+        }
+        int[] byLength = new int[words];
+        int[] fill = Arrays.copyOf(lengthOffsets, maxLength + 1);
+        long[] hashes = new long[words];
+        long[] groupHashes = new long[maxLength + 1];
+        for (int id = 0; id < words; id++) {
+            int length = dictionary.wordLength(id);
+            byLength[fill[length]++] = id;
+            hashes[id] = DictionaryFormat.wordHash(dictionary, id);
+            // Order-independent so a group hash only depends on which words it holds
+            groupHashes[length] += hashes[id];
+        }
+
+        Map<Integer, Long> previousGroups = new HashMap<>();
+        Map<Long, Integer> previousWords = new HashMap<>();
+        if (previous != null) {
+            for (int g = 0; g < previous.layout.groups; g++) {
+                previousGroups.put(previous.buffer.getInt(previous.layout.groupLengths + (g << 2)),
+                    previous.buffer.getLong(previous.layout.groupHashes + (g << 3)));
+            }
+            for (int id = 0; id < previous.layout.words; id++) {
+                previousWords.put(previous.wordHash(id), id);
+            }
+        }
+
+        byte[] guesses = new byte[words];
+        byte[] wrong = new byte[words];
+        int groups = 0;
+        WordSolver solver = new WordSolver(dictionary, guesses, wrong);
+        for (int length = 0; length <= maxLength; length++) {
+            int from = lengthOffsets[length];
+            int to = lengthOffsets[length + 1];
+            if (from == to) {
+                continue;
+            }
+            groups++;
+            Long previousHash = previousGroups.get(length);
+            if (previousHash == null || previousHash != groupHashes[length] || !reuse(previous, previousWords,
+                    byLength, from, to, hashes, guesses, wrong)) {
+                solver.solve(Arrays.copyOfRange(byLength, from, to));
+            }
+        }
+
+        float[] scores = score(dictionary, wrong);
+
+        // Equal-sized buckets by score rank
+        long[] ranked = new long[words];
+        for (int id = 0; id < words; id++) {
+            ranked[id] = ((long) Float.floatToIntBits(scores[id]) << 32) | id;
+        }
+        Arrays.sort(ranked);
+        byte[] bucketOfWord = new byte[words];
+        int[] bucketOffsets = new int[BUCKETS + 1];
+        for (int rank = 0; rank < words; rank++) {
+            int bucket = (int) ((long) rank * BUCKETS / words);
+            bucketOfWord[(int) ranked[rank]] = (byte) bucket;
+            bucketOffsets[bucket + 1]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            bucketOffsets[b + 1] += bucketOffsets[b];
+        }
+        int[] bucketWords = new int[words];
+        int[] next = Arrays.copyOf(bucketOffsets, BUCKETS);
+        for (int id = 0; id < words; id++) {
+            bucketWords[next[bucketOfWord[id]]++] = id;
+        }
+
+        int[] categoryBucketOffsets = new int[categories * BUCKETS + 1];
+        for (int c = 0; c < categories; c++) {
+            int size = dictionary.categorySize(c);
+            for (int i = 0; i < size; i++) {
+                categoryBucketOffsets[c * BUCKETS + bucketOfWord[dictionary.categoryWord(c, i)] + 1]++;
+            }
+        }
+        for (int i = 0; i < categories * BUCKETS; i++) {
+            categoryBucketOffsets[i + 1] += categoryBucketOffsets[i];
+        }
+        int memberships = categoryBucketOffsets[categories * BUCKETS];
+        int[] categoryBucketWords = new int[memberships];
+        int[] categoryNext = Arrays.copyOf(categoryBucketOffsets, categories * BUCKETS);
+        for (int c = 0; c < categories; c++) {
+            int size = dictionary.categorySize(c);
+            for (int i = 0; i < size; i++) {
+                int id = dictionary.categoryWord(c, i);
+                categoryBucketWords[categoryNext[c * BUCKETS + bucketOfWord[id]]++] = id;
+            }
+        }
+
+        Layout layout = new Layout(words, categories, BUCKETS, groups, memberships);
+        ByteBuffer out = ByteBuffer.allocate(layout.size).order(ORDER);
+        out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, words).putInt(12, categories)
+           .putInt(16, BUCKETS).putInt(20, memberships).putLong(24, dictionary.fingerprint()).putInt(32, groups);
+        int g = 0;
+        for (int length = 0; length <= maxLength; length++) {
+            if (lengthOffsets[length] != lengthOffsets[length + 1]) {
+                out.putInt(layout.groupLengths + (g << 2), length);
+                out.putLong(layout.groupHashes + (g << 3), groupHashes[length]);
+                g++;
+            }
+        }
+        for (int id = 0; id < words; id++) {
+            out.putLong(layout.wordHashes + (id << 3), hashes[id]);
+            out.putFloat(layout.scores + (id << 2), scores[id]);
+        }
+        out.put(layout.guesses, guesses);
+        out.put(layout.wrong, wrong);
+        out.put(layout.bucketOfWord, bucketOfWord);
+        putInts(out, layout.bucketOffsets, bucketOffsets);
+        putInts(out, layout.bucketWords, bucketWords);
+        putInts(out, layout.categoryBucketOffsets, categoryBucketOffsets);
+        putInts(out, layout.categoryBucketWords, categoryBucketWords);
+        return out.clear();
+    }
+
+    // Copies solver results for an unchanged length group from the previous index
+    private static boolean reuse(DifficultyIndex previous, Map<Long, Integer> previousWords, int[] byLength,
+                                 int from, int to, long[] hashes, byte[] guesses, byte[] wrong) {
+        for (int i = from; i < to; i++) {
+            Integer old = previousWords.get(hashes[byLength[i]]);
+            if (old == null) {
+                return false;
+            }
+            guesses[byLength[i]] = (byte) previous.guessesToSolve(old);
+            wrong[byLength[i]] = (byte) previous.wrongGuessesToSolve(old);
+        }
+        return true;
+    }
+
+    private static void putInts(ByteBuffer out, int position, int[] values) {
+        out.position(position);
+        out.asIntBuffer().put(values);
+        out.position(0);
+    }
+
+    private static float[] score(Dictionary dictionary, byte[] wrong) {
+        int words = dictionary.size();
+        int[] letterFrequency = new int[26];
+        int maxDistinct = 1;
+        int maxWrong = 1;
+        for (int id = 0; id < words; id++) {
+            int mask = dictionary.letterMask(id);
+            maxDistinct = Math.max(maxDistinct, Integer.bitCount(mask));
+            maxWrong = Math.max(maxWrong, wrong[id] & 0xFF);
+            while (mask != 0) {
+                letterFrequency[Integer.numberOfTrailingZeros(mask)]++;
+                mask &= mask - 1;
+            }
+        }
+        int maxFrequency = Math.max(1, Arrays.stream(letterFrequency).max().orElse(1));
+
+        float[] scores = new float[words];
+        for (int id = 0; id < words; id++) {
+            int mask = dictionary.letterMask(id);
+            int distinct = Integer.bitCount(mask);
+            double rarity = 0;
+            for (int m = mask; m != 0; m &= m - 1) {
+                rarity += 1.0 - (double) letterFrequency[Integer.numberOfTrailingZeros(m)] / maxFrequency;
+            }
+            rarity = distinct == 0 ? 0 : rarity / distinct;
+            double length = Math.min(dictionary.wordLength(id), 15) / 15.0;
+            scores[id] = (float) (0.40 * (wrong[id] & 0xFF) / maxWrong
+                + 0.25 * distinct / maxDistinct
+                + 0.20 * rarity
+                + 0.15 * (1.0 - length));
+        }
+        return scores;
+    }
+
+    /**
+     * Byte offsets of each part of the index, derived from the header counts.
+     */
+    private static final class Layout {
+        final int words;
+        final int categories;
+        final int buckets;
+        final int groups;
+        final int groupLengths;
+        final int groupHashes;
+        final int wordHashes;
+        final int scores;
+        final int guesses;
+        final int wrong;
+        final int bucketOfWord;
+        final int bucketOffsets;
+        final int bucketWords;
+        final int categoryBucketOffsets;
+        final int categoryBucketWords;
+        final int size;
+
+        Layout(int words, int categories, int buckets, int groups, int memberships) {
+            this.words = words;
+            this.categories = categories;
+            this.buckets = buckets;
+            this.groups = groups;
+            groupLengths = HEADER_SIZE;
+            groupHashes = DictionaryFormat.align(groupLengths + groups * 4);
+            wordHashes = DictionaryFormat.align(groupHashes + groups * 8);
+            scores = DictionaryFormat.align(wordHashes + words * 8);
+            guesses = DictionaryFormat.align(scores + words * 4);
+            wrong = DictionaryFormat.align(guesses + words);
+            bucketOfWord = DictionaryFormat.align(wrong + words);
+            bucketOffsets = DictionaryFormat.align(bucketOfWord + words);
+            bucketWords = DictionaryFormat.align(bucketOffsets + (buckets + 1) * 4);
+            categoryBucketOffsets = DictionaryFormat.align(bucketWords + words * 4);
+            categoryBucketWords = DictionaryFormat.align(categoryBucketOffsets + (categories * buckets + 1) * 4);
+            size = DictionaryFormat.align(categoryBucketWords + memberships * 4);
+        }
+    }
+
+    /**
+     * Reference solver used to rate words. It always guesses the unguessed letter
+     * found in the most remaining candidates, then splits the candidates by where
+     * that letter appears. Walking this decision tree once per word length rates
+     * every word of that length in a single pass.
+     */
+    private static final class WordSolver {
+        private final Dictionary dictionary;
+        private final byte[] guesses;
+        private final byte[] wrong;
+
+        WordSolver(Dictionary dictionary, byte[] guesses, byte[] wrong) {
+            this.dictionary = dictionary;
+            this.guesses = guesses;
+            this.wrong = wrong;
+        }
+
+        void solve(int[] candidates) {
+            solve(candidates, 0, candidates.length, 0, 0, 0);
+        }
+
+        private void solve(int[] ids, int from, int to, int guessedMask, int guessCount, int wrongCount) {
+            int[] counts = new int[26];
+            int union = 0;
+            for (int i = from; i < to; i++) {
+                int remaining = dictionary.letterMask(ids[i]) & ~guessedMask;
+                union |= remaining;
+                for (int m = remaining; m != 0; m &= m - 1) {
+                    counts[Integer.numberOfTrailingZeros(m)]++;
+                }
+            }
+            if (to - from == 1 || union == 0) {
+                // Down to one candidate: every remaining letter is a correct guess
+                for (int i = from; i < to; i++) {
+                    int remaining = Integer.bitCount(dictionary.letterMask(ids[i]) & ~guessedMask);
+                    guesses[ids[i]] = (byte) Math.min(255, guessCount + remaining);
+                    wrong[ids[i]] = (byte) Math.min(255, wrongCount);
+                }
+                return;
+            }
+
+            int best = -1;
+            for (int m = union; m != 0; m &= m - 1) {
+                int letter = Integer.numberOfTrailingZeros(m);
+                if (best < 0 || counts[letter] > counts[best]) {
+                    best = letter;
+                }
+            }
+
+            // Split the candidates by the positions where the guessed letter shows up
+            long[] keyed = new long[to - from];
+            char letter = (char) ('A' + best);
+            for (int i = from; i < to; i++) {
+                keyed[i - from] = ((long) positions(ids[i], letter) << 32) | ids[i];
+            }
+            Arrays.sort(keyed);
+            for (int i = from; i < to; i++) {
+                ids[i] = (int) keyed[i - from];
+            }
+            int nextMask = guessedMask | (1 << best);
+            int start = from;
+            while (start < to) {
+                int pattern = (int) (keyed[start - from] >>> 32);
+                int end = start + 1;
+                while (end < to && (int) (keyed[end - from] >>> 32) == pattern) {
+                    end++;
+                }
+                solve(ids, start, end, nextMask, guessCount + 1, wrongCount + (pattern == 0 ? 1 : 0));
+                start = end;
+            }
+        }
+
+        // Bit set of the positions holding the letter; long words fold into 31 bits
+        private int positions(int id, char letter) {
+            int length = dictionary.wordLength(id);
+            int pattern = 0;
+            for (int i = 0; i < length; i++) {
+                if (dictionary.charAt(id, i) == letter) {
+                    pattern = i < 31 ? pattern | (1 << i) : pattern * 31 + i;
+                }
+            }
+            return pattern & Integer.MAX_VALUE;
+        }
+    }
+}
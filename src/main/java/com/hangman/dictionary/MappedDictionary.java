@@ -0,0 +1,287 @@
+package com.hangman.dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Dictionary} that reads a compiled dictionary directly from a buffer,
+ * normally a memory-mapped file.
+ *
+ * <p>Opening a dictionary only validates the header and section directory, so it
+ * takes the same time whatever the number of words. Words are read from the buffer
+ * on access; {@link #wordView(int)} does so without copying.
+ */
+public final class MappedDictionary implements Dictionary {
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int categoryCount;
+    private final int wordOffsetsPos;
+    private final int wordBytesPos;
+    private final int letterMasksPos;
+    private final int categoryOffsetsPos;
+    private final int categoryBytesPos;
+    private final int wordCategoryOffsetsPos;
+    private final int wordCategoryIdsPos;
+    private final int postingOffsetsPos;
+    private final int postingsPos;
+    private final long fingerprint;
+    private final Path source;
+    private final String[] categoryNames;
+    private volatile Map<String, Integer> categoryIds;
+    private volatile DifficultyIndex difficulty;
+
+    private MappedDictionary(ByteBuffer data, Path source) {
+        this.buffer = data.duplicate().order(DictionaryFormat.ORDER);
+        this.source = source;
+        if (buffer.limit() < DictionaryFormat.HEADER_SIZE || buffer.getInt(0) != DictionaryFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a compiled dictionary");
+        }
+        int version = buffer.getInt(4);
+        if (version != DictionaryFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported dictionary version " + version);
+        }
+        this.size = buffer.getInt(8);
+        this.categoryCount = buffer.getInt(12);
+        this.wordOffsetsPos = section(DictionaryFormat.WORD_OFFSETS);
+        this.wordBytesPos = section(DictionaryFormat.WORD_BYTES);
+        this.letterMasksPos = section(DictionaryFormat.LETTER_MASKS);
+        this.categoryOffsetsPos = section(DictionaryFormat.CATEGORY_OFFSETS);
+        this.categoryBytesPos = section(DictionaryFormat.CATEGORY_BYTES);
+        this.wordCategoryOffsetsPos = section(DictionaryFormat.WORD_CATEGORY_OFFSETS);
+        this.wordCategoryIdsPos = section(DictionaryFormat.WORD_CATEGORY_IDS);
+        this.postingOffsetsPos = section(DictionaryFormat.CATEGORY_POSTING_OFFSETS);
+        this.postingsPos = section(DictionaryFormat.CATEGORY_POSTINGS);
+        this.fingerprint = buffer.getLong(section(DictionaryFormat.FINGERPRINT));
+        this.categoryNames = new String[categoryCount];
+    }
+
+    /**
+     * Memory-maps a compiled dictionary file. The mapping stays valid after this
+     * method returns; files larger than 2 GB are not supported.
+     */
+    public static MappedDictionary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Dictionary file too large: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            try {
+                return new MappedDictionary(mapped, path);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage() + ": " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Wraps a buffer holding a compiled dictionary, e.g. one built in memory by
+     * {@link DictionaryBuilder}.
+     */
+    public static MappedDictionary wrap(ByteBuffer buffer) {
+        return new MappedDictionary(buffer, null);
+    }
+
+    private int section(int id) {
+        int count = buffer.getInt(16);
+        for (int i = 0; i < count; i++) {
+            int entry = DictionaryFormat.HEADER_SIZE + i * DictionaryFormat.SECTION_ENTRY_SIZE;
+            if (buffer.getInt(entry) == id) {
+                return buffer.getInt(entry + 4);
+            }
+        }
+        throw new IllegalArgumentException("Dictionary is missing section " + id);
+    }
+
+    @Override
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the difficulty index. For a dictionary opened from a file it is kept in
+     * a {@code .difficulty} file next to it and rebuilt when the dictionary changes;
+     * otherwise it is computed in memory on first use.
+     */
+    @Override
+    public DifficultyIndex difficulty() {
+        DifficultyIndex index = difficulty;
+        if (index == null) {
+            synchronized (this) {
+                index = difficulty;
+                if (index == null) {
+                    index = loadDifficulty();
+                    difficulty = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private DifficultyIndex loadDifficulty() {
+        if (source != null) {
+            Path file = source.resolveSibling(source.getFileName() + ".difficulty");
+            try {
+                return DifficultyIndex.load(this, file);
+            } catch (IOException e) {
+                System.err.println("Could not store difficulty index " + file + ": " + e.getMessage());
+            }
+        }
+        return DifficultyIndex.compute(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int wordStart(int id) {
+        return wordBytesPos + buffer.getInt(wordOffsetsPos + (id << 2));
+    }
+
+    @Override
+    public int wordLength(int id) {
+        int offset = wordOffsetsPos + (id << 2);
+        return buffer.getInt(offset + 4) - buffer.getInt(offset);
+    }
+
+    @Override
+    public char charAt(int id, int index) {
+        return (char) (buffer.get(wordStart(id) + index) & 0xFF);
+    }
+
+    @Override
+    public String word(int id) {
+        checkId(id);
+        byte[] bytes = new byte[wordLength(id)];
+        buffer.get(wordStart(id), bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public CharSequence wordView(int id) {
+        checkId(id);
+        return new WordView(wordStart(id), wordLength(id));
+    }
+
+    @Override
+    public int letterMask(int id) {
+        return buffer.getInt(letterMasksPos + (id << 2));
+    }
+
+    @Override
+    public int categoryCount() {
+        return categoryCount;
+    }
+
+    @Override
+    public String categoryName(int categoryId) {
+        String name = categoryNames[categoryId];
+        if (name == null) {
+            int offset = categoryOffsetsPos + (categoryId << 2);
+            int start = buffer.getInt(offset);
+            byte[] bytes = new byte[buffer.getInt(offset + 4) - start];
+            buffer.get(categoryBytesPos + start, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            categoryNames[categoryId] = name;
+        }
+        return name;
+    }
+
+    @Override
+    public int categoryId(String name) {
+        Map<String, Integer> ids = categoryIds;
+        if (ids == null) {
+            ids = new HashMap<>();
+            for (int i = 0; i < categoryCount; i++) {
+                ids.put(categoryName(i), i);
+            }
+            categoryIds = ids;
+        }
+        return ids.getOrDefault(name, -1);
+    }
+
+    @Override
+    public int categoryOf(int id) {
+        return wordCategory(id, 0);
+    }
+
+    @Override
+    public int wordCategoryCount(int id) {
+        int offset = wordCategoryOffsetsPos + (id << 2);
+        return buffer.getInt(offset + 4) - buffer.getInt(offset);
+    }
+
+    @Override
+    public int wordCategory(int id, int index) {
+        int start = buffer.getInt(wordCategoryOffsetsPos + (id << 2));
+        return buffer.getInt(wordCategoryIdsPos + ((start + index) << 2));
+    }
+
+    @Override
+    public int categorySize(int categoryId) {
+        int offset = postingOffsetsPos + (categoryId << 2);
+        return buffer.getInt(offset + 4) - buffer.getInt(offset);
+    }
+
+    @Override
+    public int categoryWord(int categoryId, int index) {
+        int start = buffer.getInt(postingOffsetsPos + (categoryId << 2));
+        return buffer.getInt(postingsPos + ((start + index) << 2));
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Word id " + id + " out of range 0.." + (size - 1));
+        }
+    }
+
+    /**
+     * Zero-copy view of one word in the buffer.
+     */
+    private final class WordView implements CharSequence {
+        private final int start;
+        private final int length;
+
+        WordView(int start, int length) {
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length || from > to) {
+                throw new IndexOutOfBoundsException();
+            }
+            return new WordView(start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
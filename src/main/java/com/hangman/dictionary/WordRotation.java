@@ -0,0 +1,107 @@
+package com.hangman.dictionary;
+
+/**
+ * Walks a word pool in a pseudo-random order without repeats.
+ *
+ * <p>The order is a seeded permutation of {@code 0..poolSize-1}, computed one index
+ * at a time by a small Feistel network with cycle walking. No list of seen words is
+ * kept: the whole state is the seed and a cursor, so a rotation costs the same few
+ * bytes per player whatever the pool size, and can be saved and restored with
+ * {@link #getSeed()}, {@link #getCursor()} and {@link #restore(long, int)}.
+ *
+ * <p>Every index is returned exactly once per pass. When a pass is exhausted the
+ * rotation reseeds and starts a new pass in a fresh order.
+ */
+public final class WordRotation {
+
+    private static final int ROUNDS = 4;
+
+    private final int poolSize;
+    private final int halfBits;
+    private final int halfMask;
+    private long seed;
+    private int cursor;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public WordRotation(int poolSize, long seed) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+        this.poolSize = poolSize;
+        // Smallest even bit width covering the pool, split into two halves
+        int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(poolSize - 1));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1 << halfBits) - 1;
+        restore(seed, 0);
+    }
+
+    /**
+     * Returns the next pool index, starting a new pass once every index has been used.
+     */
+    public int next() {
+        if (cursor == poolSize) {
+            restore(mix(seed), 0);
+        }
+        int candidate = cursor++;
+        // Cycle-walk: the permutation is over a power-of-four domain, so re-apply it
+        // until the result lands inside the pool. Takes under 4 steps on average.
+        do {
+            candidate = permute(candidate);
+        } while (candidate >= poolSize);
+        return candidate;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns how many indices of the current pass have been handed out.
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Jumps to a saved position.
+     */
+    public void restore(long seed, int cursor) {
+        if (cursor < 0 || cursor > poolSize) {
+            throw new IllegalArgumentException("Cursor out of range: " + cursor);
+        }
+        this.seed = seed;
+        this.cursor = cursor;
+        long key = seed;
+        for (int i = 0; i < ROUNDS; i++) {
+            key = mix(key);
+            roundKeys[i] = key;
+        }
+    }
+
+    private int permute(int value) {
+        int left = value >>> halfBits;
+        int right = value & halfMask;
+        for (int i = 0; i < ROUNDS; i++) {
+            int next = left ^ (round(right, roundKeys[i]) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static int round(int value, long key) {
+        return (int) mix(value ^ key);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,408 @@
+package com.hangman.journal;
+
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static com.hangman.journal.JournalFormat.*;
+
+/**
+ * Append-only journal of game events, in the layout described by
+ * {@link JournalFormat}.
+ *
+ * <p>Segment files are preallocated and memory-mapped, so appending an event is a
+ * counter increment and a few stores into the mapping, with no locks, no system
+ * calls and no allocation. Any number of threads may append at once; each claims
+ * its own slot. A daemon thread makes appended events durable in batches every
+ * few milliseconds (group commit), and {@link #flush()} waits for the next batch
+ * that covers everything appended before the call.
+ *
+ * <p>Reopening a journal directory continues after the last complete event. If
+ * the process died in the middle of appends, events after the first unwritten
+ * slot are overwritten.
+ *
+ * <p>The journal is also a {@link GameEventListener}: pass it to
+ * {@link GameLogic#GameLogic(com.hangman.dictionary.Dictionary, com.hangman.GameClock, long, GameEventListener)}
+ * to record a game.
+ */
+public final class GameJournal implements GameEventListener, AutoCloseable {
+
+    /** System property naming a journal directory for the game to record to. */
+    public static final String PROPERTY = "hangman.journal";
+
+    /** Slots per segment by default, making 64 MB segment files. */
+    public static final int DEFAULT_SEGMENT_SLOTS = 1 << 21;
+    private static final long DEFAULT_SYNC_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    // Record headers are published with release/acquire on the mapping itself
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    // Segments in use are looked up without allocation by index modulo the ring size
+    private static final int RING = 4;
+
+    private final Path directory;
+    private final long dictionaryFingerprint;
+    private final int segmentSlots;
+    private final long eventsPerSegment;
+    private final long syncIntervalNanos;
+    private final AtomicLong nextSequence;
+    private final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(RING);
+    private final Object syncLock = new Object();
+    private final Thread syncer;
+
+    private volatile long durableSequence;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private GameJournal(Path directory, long dictionaryFingerprint, int segmentSlots, long syncIntervalNanos) throws IOException {
+        this.directory = directory;
+        this.dictionaryFingerprint = dictionaryFingerprint;
+        this.segmentSlots = segmentSlots;
+        this.eventsPerSegment = segmentSlots - 1;
+        this.syncIntervalNanos = syncIntervalNanos;
+        this.nextSequence = new AtomicLong(recover());
+        this.durableSequence = nextSequence.get();
+        this.syncer = new Thread(this::syncLoop, "journal-sync");
+        this.syncer.setDaemon(true);
+        this.syncer.start();
+    }
+
+    /**
+     * Opens or creates a journal in a directory, for games on the dictionary with
+     * the given {@link com.hangman.dictionary.Dictionary#fingerprint() fingerprint}.
+     */
+    public static GameJournal open(Path directory, long dictionaryFingerprint) throws IOException {
+        return open(directory, dictionaryFingerprint, DEFAULT_SEGMENT_SLOTS, DEFAULT_SYNC_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens or creates a journal with the given segment size in slots and group
+     * commit interval. An existing journal must have been created with the same
+     * segment size.
+     */
+    public static GameJournal open(Path directory, long dictionaryFingerprint, int segmentSlots,
+                                   long syncInterval, TimeUnit unit) throws IOException {
+        if (segmentSlots < 2 || (long) segmentSlots * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment slots out of range: " + segmentSlots);
+        }
+        Files.createDirectories(directory);
+        return new GameJournal(directory, dictionaryFingerprint, segmentSlots, Math.max(1, unit.toNanos(syncInterval)));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the number of events appended so far, including events whose
+     * appends are still in progress.
+     */
+    public long size() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Returns the number of leading events known to be on disk.
+     */
+    public long durableSize() {
+        return durableSequence;
+    }
+
+    /**
+     * Appends one event and returns its sequence number. The fields are described
+     * in {@link JournalFormat}.
+     *
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException if a new segment file could not be created
+     */
+    public long append(int type, char letter, int flags, int wrongGuesses, int value,
+                       long sessionId, long clockNanos, long extra) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        long sequence = nextSequence.getAndIncrement();
+        long index = sequence / eventsPerSegment;
+        Segment segment = segments.get((int) (index % RING));
+        if (segment == null || segment.index != index) {
+            segment = segment(index);
+        }
+        int position = slotPosition(sequence - index * eventsPerSegment);
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(position + VALUE, value);
+        buffer.putLong(position + SESSION, sessionId);
+        buffer.putLong(position + CLOCK, clockNanos);
+        buffer.putLong(position + EXTRA, extra);
+        INT_VIEW.setRelease(buffer, position, header(type, letter, flags, wrongGuesses));
+        return sequence;
+    }
+
+    /**
+     * Blocks until every event appended before this call is on disk.
+     *
+     * @throws IOException if writing to disk failed or the wait was interrupted
+     */
+    public void flush() throws IOException {
+        long target = nextSequence.get();
+        synchronized (syncLock) {
+            while (durableSequence < target) {
+                if (failure != null) {
+                    throw new IOException("Journal write failed", failure);
+                }
+                if (!syncer.isAlive()) {
+                    throw new IOException("Journal is closed");
+                }
+                LockSupport.unpark(syncer);
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for journal flush");
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting events, writes everything appended so far to disk and closes
+     * the segment files.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(syncer);
+        try {
+            syncer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (int i = 0; i < RING; i++) {
+            segments.set(i, null);
+        }
+        if (failure != null) {
+            throw new IOException("Journal write failed", failure);
+        }
+    }
+
+    @Override
+    public void gameStarted(GameLogic game, long clockNanos) {
+        int flags = game.getDictionary().fingerprint() == dictionaryFingerprint ? 0 : FLAG_OTHER_DICTIONARY;
+        int round = game.getRound();
+        append(GAME_START, (char) (round & 0xFF), flags, round >>> 8 & 0xFF, game.getWordId(), game.getSessionId(),
+            clockNanos, game.getSeed());
+    }
+
+    @Override
+    public void guessMade(GameLogic game, int round, char letter, boolean correct, int guessedMask,
+                          int wrongGuesses, long clockNanos) {
+        append(GUESS, letter, correct ? FLAG_HIT : 0, wrongGuesses, guessedMask, game.getSessionId(), clockNanos,
+            round);
+    }
+
+    @Override
+    public void hintUsed(GameLogic game, long clockNanos) {
+        append(HINT, (char) 0, 0, game.getWrongGuesses(), game.getHintCount(), game.getSessionId(), clockNanos, 0);
+    }
+
+    @Override
+    public void timerPaused(GameLogic game, long clockNanos) {
+        append(PAUSE, (char) 0, 0, game.getWrongGuesses(), (int) game.getTimeRemainingMillis(),
+            game.getSessionId(), clockNanos, 0);
+    }
+
+    @Override
+    public void timerResumed(GameLogic game, long clockNanos) {
+        append(RESUME, (char) 0, 0, game.getWrongGuesses(), (int) game.getTimeRemainingMillis(),
+            game.getSessionId(), clockNanos, 0);
+    }
+
+    @Override
+    public void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+        int flags = won ? FLAG_WON : game.getWrongGuesses() < game.getMaxWrongGuesses() ? FLAG_TIMEOUT : 0;
+        long totals = (long) game.getLevel() << 32 | (game.getScore() & 0xFFFFFFFFL);
+        append(GAME_OVER, (char) 0, flags, game.getWrongGuesses(), points, game.getSessionId(), clockNanos, totals);
+    }
+
+    private static int slotPosition(long eventInSegment) {
+        return (int) (eventInSegment + 1) * RECORD_SIZE;
+    }
+
+    // Finds where the last run left off: the first unwritten slot of the newest segment
+    private long recover() throws IOException {
+        long newest = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                newest = Math.max(newest, segmentIndex(file));
+            }
+        }
+        if (newest < 0) {
+            return 0;
+        }
+        // The newest files may have been opened ahead of time and never written
+        long index = newest;
+        Segment segment = segment(index);
+        while (index > 0 && segment.isEmpty() && Files.exists(directory.resolve(segmentName(index - 1)))) {
+            segment = segment(--index);
+        }
+        if (segment.isEmpty()) {
+            return index * eventsPerSegment;
+        }
+        if (segment.dictionaryFingerprint != dictionaryFingerprint) {
+            // Every segment refers to one dictionary, so a different one starts a new segment
+            return (index + 1) * eventsPerSegment;
+        }
+        long event = 0;
+        while (event < eventsPerSegment && (int) INT_VIEW.getAcquire(segment.buffer, slotPosition(event)) != 0) {
+            event++;
+        }
+        return index * eventsPerSegment + event;
+    }
+
+    // Slow path: maps a segment that is not in the ring yet
+    private Segment segment(long index) {
+        synchronized (segments) {
+            int slot = (int) (index % RING);
+            Segment segment = segments.get(slot);
+            if (segment != null && segment.index == index) {
+                return segment;
+            }
+            try {
+                Segment opened = new Segment(index);
+                // Appends run at most a few segments ahead of the syncer; never evict newer ones
+                if (segment == null || segment.index < index) {
+                    segments.set(slot, opened);
+                }
+                return opened;
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void syncLoop() {
+        while (true) {
+            boolean stopping = closed;
+            try {
+                sync();
+            } catch (UncheckedIOException e) {
+                failure = e.getCause();
+            }
+            synchronized (syncLock) {
+                syncLock.notifyAll();
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(this, syncIntervalNanos);
+        }
+    }
+
+    // Forces the contiguous run of complete events past the durable mark, one
+    // force per segment touched, then opens the next segment ahead of time so
+    // appenders rarely pay for mapping a file
+    private void sync() {
+        long claimed = nextSequence.get();
+        long sequence = durableSequence;
+        while (sequence < claimed) {
+            long index = sequence / eventsPerSegment;
+            long segmentEnd = (index + 1) * eventsPerSegment;
+            Segment segment = segment(index);
+            long end = Math.min(claimed, segmentEnd);
+            long first = sequence;
+            while (sequence < end && (int) INT_VIEW.getAcquire(segment.buffer, slotPosition(sequence - index * eventsPerSegment)) != 0) {
+                sequence++;
+            }
+            if (sequence > first) {
+                int from = slotPosition(first - index * eventsPerSegment);
+                segment.buffer.force(from, (int) (sequence - first) * RECORD_SIZE);
+                durableSequence = sequence;
+            }
+            if (sequence == segmentEnd) {
+                retire(segment);
+            }
+            if (sequence < end) {
+                break; // an append is still in progress; pick it up next round
+            }
+        }
+        long index = claimed / eventsPerSegment;
+        if (!closed && claimed - index * eventsPerSegment > eventsPerSegment / 2) {
+            segment(index + 1);
+        }
+    }
+
+    private void retire(Segment segment) {
+        synchronized (segments) {
+            int slot = (int) (segment.index % RING);
+            if (segments.get(slot) == segment) {
+                segments.set(slot, null);
+            }
+        }
+    }
+
+    // The mapping stays valid after its channel is closed, so no file handle is held
+    private final class Segment {
+        final long index;
+        final MappedByteBuffer buffer;
+        long dictionaryFingerprint;
+
+        Segment(long index) throws IOException {
+            this.index = index;
+            Path file = directory.resolve(segmentName(index));
+            long bytes = (long) segmentSlots * RECORD_SIZE;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long existing = channel.size();
+                // Mapping past the end grows the file to its full size up front
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                if (existing >= RECORD_SIZE && buffer.getInt(HEADER_MAGIC) != 0) {
+                    if (buffer.getInt(HEADER_MAGIC) != MAGIC || buffer.getInt(HEADER_VERSION) != VERSION
+                            || buffer.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+                        throw new IOException("Not a journal segment: " + file);
+                    }
+                    if (existing != bytes || buffer.getInt(HEADER_SLOTS) != segmentSlots) {
+                        throw new IOException("Journal segment " + file + " has " + buffer.getInt(HEADER_SLOTS)
+                            + " slots, expected " + segmentSlots);
+                    }
+                    this.dictionaryFingerprint = buffer.getLong(HEADER_DICTIONARY);
+                    if (isEmpty() && dictionaryFingerprint != GameJournal.this.dictionaryFingerprint) {
+                        // Nothing refers to the old dictionary yet, so the segment can switch
+                        buffer.putLong(HEADER_DICTIONARY, GameJournal.this.dictionaryFingerprint);
+                        buffer.force(0, RECORD_SIZE);
+                        this.dictionaryFingerprint = GameJournal.this.dictionaryFingerprint;
+                    }
+                } else {
+                    buffer.putInt(HEADER_VERSION, VERSION);
+                    buffer.putInt(HEADER_SLOTS, segmentSlots);
+                    buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+                    buffer.putLong(HEADER_SEGMENT, index);
+                    buffer.putLong(HEADER_DICTIONARY, GameJournal.this.dictionaryFingerprint);
+                    buffer.putInt(HEADER_MAGIC, MAGIC);
+                    buffer.force(0, RECORD_SIZE);
+                    this.dictionaryFingerprint = GameJournal.this.dictionaryFingerprint;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return (int) INT_VIEW.getAcquire(buffer, RECORD_SIZE) == 0;
+        }
+    }
+}
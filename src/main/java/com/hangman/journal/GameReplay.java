@@ -0,0 +1,96 @@
+package com.hangman.journal;
+
+import com.hangman.dictionary.Dictionary;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds game sessions from a journal, up to any event.
+ *
+ * <p>Events are applied in sequence order to one {@link ReplayedGame} per
+ * session. Replay is plain computation on the calling thread, with no clocks or
+ * timers, so it runs as fast as the journal can be read.
+ */
+public final class GameReplay {
+
+    private final Dictionary dictionary;
+    private final Map<Long, ReplayedGame> games = new HashMap<>();
+    private long events;
+
+    /**
+     * Creates an empty replay. Word ids in segments written for the given
+     * dictionary are looked up in it to check hits; pass {@code null} to take hits
+     * from the journal as recorded.
+     */
+    public GameReplay(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Replays every event before sequence number {@code end}, e.g.
+     * {@code Long.MAX_VALUE} for the whole journal.
+     */
+    public static GameReplay replay(JournalReader reader, Dictionary dictionary, long end) {
+        GameReplay replay = new GameReplay(dictionary);
+        JournalCursor cursor = reader.cursor();
+        while (cursor.next() && cursor.sequence() < end) {
+            replay.apply(cursor);
+        }
+        return replay;
+    }
+
+    /**
+     * Returns a session's state right after event {@code sequence}, or
+     * {@code null} if the session has no events up to there.
+     */
+    public static ReplayedGame stateAt(JournalReader reader, Dictionary dictionary, long sessionId, long sequence) {
+        GameReplay replay = new GameReplay(dictionary);
+        JournalCursor cursor = reader.cursor();
+        while (cursor.next() && cursor.sequence() <= sequence) {
+            if (cursor.sessionId() == sessionId) {
+                replay.apply(cursor);
+            }
+        }
+        return replay.getGame(sessionId);
+    }
+
+    /**
+     * Applies the cursor's current event.
+     */
+    public void apply(JournalCursor cursor) {
+        long sessionId = cursor.sessionId();
+        ReplayedGame game = games.get(sessionId);
+        if (game == null) {
+            // A session's first event is its first game's start unless the journal lost its head
+            game = new ReplayedGame(sessionId, cursor.type() == JournalFormat.GAME_START);
+            games.put(sessionId, game);
+        }
+        game.apply(cursor, dictionaryFor(cursor.dictionaryFingerprint()));
+        events++;
+    }
+
+    private Dictionary dictionaryFor(long fingerprint) {
+        return dictionary != null && dictionary.fingerprint() == fingerprint ? dictionary : null;
+    }
+
+    /**
+     * Returns a session's state, or {@code null} if it has no events so far.
+     */
+    public ReplayedGame getGame(long sessionId) {
+        return games.get(sessionId);
+    }
+
+    public Collection<ReplayedGame> getGames() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+
+    /**
+     * Returns the number of events applied.
+     */
+    public long getEventCount() {
+        return events;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hangman.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.hangman.journal.JournalFormat.*;
+
+/**
+ * Forward-only view of journal events, one at a time. The getters describe the
+ * event the last {@link #next()} moved to; nothing is allocated per event.
+ *
+ * <p>Segments are memory-mapped read-only as the cursor reaches them. A cursor is
+ * not thread-safe.
+ */
+public final class JournalCursor {
+
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final List<Path> segments;
+    private int nextSegment;
+
+    private MappedByteBuffer buffer;
+    private long segmentIndex;
+    private long dictionaryFingerprint;
+    private long eventsPerSegment;
+    private long events;
+    private long event = -1;
+    private int position;
+    private int header;
+
+    JournalCursor(List<Path> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Moves to the next complete event and returns whether there was one.
+     *
+     * @throws UncheckedIOException if a segment could not be read or is not a
+     *         journal segment
+     */
+    public boolean next() {
+        while (true) {
+            if (buffer != null && event + 1 < events) {
+                event++;
+                position = (int) (event + 1) * RECORD_SIZE;
+                header = (int) INT_VIEW.getAcquire(buffer, position);
+                if (header != 0) {
+                    return true;
+                }
+                events = event; // first unwritten slot ends the segment
+            }
+            if (nextSegment == segments.size()) {
+                return false;
+            }
+            open(segments.get(nextSegment++));
+        }
+    }
+
+    private void open(Path file) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            long size = channel.size();
+            if (size < RECORD_SIZE) {
+                throw new IOException("Not a journal segment: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(HEADER_MAGIC) != MAGIC || mapped.getInt(HEADER_VERSION) != VERSION
+                    || mapped.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+                throw new IOException("Not a journal segment: " + file);
+            }
+            int slots = mapped.getInt(HEADER_SLOTS);
+            if (slots < 2 || (long) slots * RECORD_SIZE > size) {
+                throw new IOException("Journal segment " + file + " is truncated");
+            }
+            buffer = mapped;
+            segmentIndex = mapped.getLong(HEADER_SEGMENT);
+            dictionaryFingerprint = mapped.getLong(HEADER_DICTIONARY);
+            eventsPerSegment = slots - 1;
+            events = eventsPerSegment;
+            event = -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the event's sequence number in the journal.
+     */
+    public long sequence() {
+        return segmentIndex * eventsPerSegment + event;
+    }
+
+    /**
+     * Returns the index of the segment the event is in.
+     */
+    public long segmentIndex() {
+        return segmentIndex;
+    }
+
+    /**
+     * Returns the fingerprint of the dictionary the current segment's word ids
+     * refer to.
+     */
+    public long dictionaryFingerprint() {
+        return dictionaryFingerprint;
+    }
+
+    public int type() {
+        return header & 0xFF;
+    }
+
+    public char letter() {
+        return (char) (header >>> 8 & 0xFF);
+    }
+
+    public int flags() {
+        return header >>> 16 & 0xFF;
+    }
+
+    public int wrongGuesses() {
+        return header >>> 24;
+    }
+
+    public int value() {
+        return buffer.getInt(position + VALUE);
+    }
+
+    public long sessionId() {
+        return buffer.getLong(position + SESSION);
+    }
+
+    public long clockNanos() {
+        return buffer.getLong(position + CLOCK);
+    }
+
+    public long extra() {
+        return buffer.getLong(position + EXTRA);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hangman.journal;
+
+import java.nio.file.Path;
+
+/**
+ * On-disk layout of the game event journal.
+ *
+ * <p>A journal is a directory of segment files named by their segment index in
+ * hex, e.g. {@code 0000000000000003.journal}. Every segment has the same number
+ * of {@value #RECORD_SIZE}-byte slots and all numbers are little-endian. Slot 0
+ * holds the segment header; the other slots hold one event each, in the order
+ * their sequence numbers were claimed, so event {@code n} lives in segment
+ * {@code n / (slots - 1)} at slot {@code n % (slots - 1) + 1}.
+ *
+ * <p>Event records:
+ * <pre>
+ *   0  byte  type, 0 while the slot is unwritten
+ *   1  byte  letter guessed (GUESS); low byte of the round (GAME_START)
+ *   2  byte  flags
+ *   3  byte  wrong guesses so far; second byte of the round (GAME_START)
+ *   4  int   value, depends on the type
+ *   8  long  game session id
+ *  16  long  game clock reading in nanoseconds
+ *  24  long  extra, depends on the type
+ * </pre>
+ * The first four bytes are written last, as one int, so a record with a non-zero
+ * type is complete. The first slot with type 0 marks the end of a segment's data.
+ *
+ * <table>
+ *   <caption>Values per type</caption>
+ *   <tr><th>Type</th><th>value</th><th>extra</th></tr>
+ *   <tr><td>GAME_START</td><td>word id</td><td>player seed</td></tr>
+ *   <tr><td>GUESS</td><td>guessed letters after the guess</td><td>round the guess was made in</td></tr>
+ *   <tr><td>HINT</td><td>hints used</td><td>0</td></tr>
+ *   <tr><td>PAUSE, RESUME</td><td>milliseconds left</td><td>0</td></tr>
+ *   <tr><td>GAME_OVER</td><td>points won</td><td>level &lt;&lt; 32 | total score</td></tr>
+ * </table>
+ *
+ * A GUESS record holds the state its own guess left, as of the guess's
+ * compare-and-set. In a cooperative game guesses are journalled in no particular
+ * order, so a guess that did not end the game may follow the game over or the
+ * next game's start; its round, matched against the low 16 bits recorded at the
+ * start, tells which game it belongs to.
+ */
+public final class JournalFormat {
+
+    public static final int MAGIC = 0x4C4A4D48; // "HMJL"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = 32;
+    public static final String SEGMENT_SUFFIX = ".journal";
+
+    // Segment header fields
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    /** Slots per segment, including the header slot. */
+    public static final int HEADER_SLOTS = 8;
+    public static final int HEADER_RECORD_SIZE = 12;
+    public static final int HEADER_SEGMENT = 16;
+    /** Fingerprint of the dictionary the journalled word ids refer to. */
+    public static final int HEADER_DICTIONARY = 24;
+
+    // Event record fields
+    public static final int TYPE = 0;
+    public static final int LETTER = 1;
+    public static final int FLAGS = 2;
+    public static final int WRONG = 3;
+    public static final int VALUE = 4;
+    public static final int SESSION = 8;
+    public static final int CLOCK = 16;
+    public static final int EXTRA = 24;
+
+    // Event types
+    public static final int GAME_START = 1;
+    public static final int GUESS = 2;
+    public static final int HINT = 3;
+    public static final int PAUSE = 4;
+    public static final int RESUME = 5;
+    public static final int GAME_OVER = 6;
+
+    // Flags
+    /** GUESS: the letter is in the word. */
+    public static final int FLAG_HIT = 1;
+    /** GAME_OVER: the word was solved. */
+    public static final int FLAG_WON = 2;
+    /** GAME_OVER: the clock ran out. */
+    public static final int FLAG_TIMEOUT = 4;
+    /** GAME_START: the game's dictionary is not the one in the segment header. */
+    public static final int FLAG_OTHER_DICTIONARY = 8;
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Returns the first four bytes of a record as one little-endian int.
+     */
+    static int header(int type, int letter, int flags, int wrong) {
+        return (type & 0xFF) | (letter & 0xFF) << 8 | (flags & 0xFF) << 16 | Math.min(wrong, 0xFF) << 24;
+    }
+
+    public static String segmentName(long index) {
+        return String.format("%016x", index) + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * Returns the index of a segment file, or -1 if the file is not a segment.
+     */
+    public static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        if (name.length() != 16 + SEGMENT_SUFFIX.length() || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseUnsignedLong(name.substring(0, 16), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.hangman.journal;
+
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.MappedDictionary;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Command line entry point for checking and replaying a game journal.
+ *
+ * <pre>
+ * java com.hangman.journal.JournalMain verify DIR [--dictionary FILE]
+ * java com.hangman.journal.JournalMain state DIR SESSION EVENT [--dictionary FILE]
+ * </pre>
+ *
+ * {@code verify} runs the {@link ScoreVerifier} and exits with status 1 if any game
+ * was flagged. {@code state} prints a session as it was right after the given
+ * event.
+ */
+public final class JournalMain {
+
+    private JournalMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int positional = args.length;
+        Dictionary dictionary = Dictionary.getDefault();
+        if (args.length >= 2 && args[args.length - 2].equals("--dictionary")) {
+            dictionary = MappedDictionary.open(Paths.get(args[args.length - 1]));
+            positional -= 2;
+        }
+        if (positional < 2) {
+            usage();
+        }
+        JournalReader reader = JournalReader.open(Paths.get(args[1]));
+        switch (args[0]) {
+            case "verify": {
+                VerificationReport report = new ScoreVerifier(dictionary).verify(reader);
+                System.out.print(report.format());
+                System.exit(report.isClean() ? 0 : 1);
+                break;
+            }
+            case "state": {
+                if (positional != 4) {
+                    usage();
+                }
+                long sessionId = Long.parseLong(args[2]);
+                ReplayedGame game = GameReplay.stateAt(reader, dictionary, sessionId, Long.parseLong(args[3]));
+                if (game == null) {
+                    System.out.println("No events for session " + sessionId);
+                } else {
+                    System.out.println(describe(game));
+                }
+                break;
+            }
+            default:
+                usage();
+        }
+    }
+
+    private static String describe(ReplayedGame game) {
+        String word = game.getDisplayWord();
+        return "Session " + game.getSessionId() + " after event " + game.getLastSequence() + System.lineSeparator()
+            + "  word:     " + (word != null ? word + " (" + game.getWord() + ")" : "#" + game.getWordId()) + System.lineSeparator()
+            + "  wrong:    " + game.getWrongGuesses() + ", hints " + game.getHintCount() + System.lineSeparator()
+            + "  clock:    " + game.getTimeRemainingMillis() + " ms left" + (game.isPaused() ? ", paused" : "") + System.lineSeparator()
+            + "  state:    " + (game.isGameOver() ? (game.isGameWon() ? "won, " + game.getPoints() + " points" : "lost") : "in progress")
+            + System.lineSeparator()
+            + "  totals:   score " + game.getScore() + ", level " + game.getLevel() + System.lineSeparator()
+            + "  problems: " + (game.getProblems() == 0 ? "none" : ReplayedGame.describe(game.getProblems()));
+    }
+
+    private static void usage() {
+        System.err.println("Usage: JournalMain verify DIR [--dictionary FILE]");
+        System.err.println("       JournalMain state DIR SESSION EVENT [--dictionary FILE]");
+        System.exit(2);
+    }
+}
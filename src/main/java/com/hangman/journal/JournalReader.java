@@ -0,0 +1,63 @@
+package com.hangman.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads a journal directory written by {@link GameJournal}.
+ *
+ * <p>The segment list is taken when the reader is opened. Cursors read whatever is
+ * complete in those segments when they get there, so a journal that is still
+ * being written can be read; events in segments created later are not seen.
+ */
+public final class JournalReader {
+
+    private final Path directory;
+    private final List<Path> segments;
+
+    private JournalReader(Path directory, List<Path> segments) {
+        this.directory = directory;
+        this.segments = segments;
+    }
+
+    public static JournalReader open(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> JournalFormat.segmentIndex(file) >= 0).forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(JournalFormat::segmentIndex));
+        return new JournalReader(directory, Collections.unmodifiableList(segments));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the segment files in event order.
+     */
+    public List<Path> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns a cursor over every event in the journal, in sequence order.
+     */
+    public JournalCursor cursor() {
+        return new JournalCursor(segments);
+    }
+
+    /**
+     * Returns a cursor over the events of one segment file. Cursors over different
+     * segments can be used on different threads.
+     */
+    public static JournalCursor cursor(Path segment) {
+        return new JournalCursor(List.of(segment));
+    }
+}
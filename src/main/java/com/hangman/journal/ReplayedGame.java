@@ -0,0 +1,392 @@
+package com.hangman.journal;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.dictionary.Dictionary;
+
+import java.util.StringJoiner;
+
+import static com.hangman.journal.JournalFormat.*;
+
+/**
+ * State of one game session rebuilt from its journal events.
+ *
+ * <p>Replay re-applies the rules of {@link GameLogic} to the recorded events
+ * instead of trusting the recorded results: hits come from the dictionary word,
+ * the countdown from the recorded clock readings and the points from
+ * {@link GameLogic#scoreFor(long, int)}. Anything the journal says that the rules
+ * disagree with is reported by {@link #getProblems()}. Nothing is scheduled; the
+ * clock only moves when an event says so.
+ *
+ * <p>Guesses in a cooperative game are journalled in no particular order: each
+ * record carries the guessed letters and wrong count its own guess left, and a
+ * guess that did not end the game may be journalled after the game over, or even
+ * after the next game's start. Replay therefore takes the union of the recorded
+ * states, checks each guess against the word rather than against the record
+ * before it, accepts a late guess of a finished game only if the game over
+ * already accounted for it, and skips guesses of an earlier game.
+ */
+public final class ReplayedGame {
+
+    /** The word id is not in the dictionary. */
+    public static final int BAD_WORD = 1;
+    /** A guess was invalid or repeated, or its recorded result differs. */
+    public static final int BAD_GUESS = 1 << 1;
+    /** More hints than allowed, or a recorded hint count differs. */
+    public static final int BAD_HINT = 1 << 2;
+    /** An event came outside a game, after the deadline, or with the clock going backwards. */
+    public static final int BAD_SEQUENCE = 1 << 3;
+    /** The game ended in a way the guesses and clock do not allow. */
+    public static final int BAD_END = 1 << 4;
+    /** The recorded points differ from the points the game earned. */
+    public static final int BAD_POINTS = 1 << 5;
+    /** The recorded total score or level differs from the running total. */
+    public static final int BAD_TOTAL = 1 << 6;
+
+    private static final String[] PROBLEM_NAMES = {
+        "word", "guess", "hint", "sequence", "end", "points", "total"
+    };
+
+    private final long sessionId;
+    // Whether the session's first game was replayed, so its running totals are known
+    private final boolean totalsKnown;
+
+    private Dictionary dictionary;
+    private long seed;
+    private int wordId = -1;
+    private int wordMask;
+    private boolean started;
+    // The low 16 bits of the current game's round, which guesses are matched against
+    private int roundTag;
+    private long startClock;
+    // Letters whose own guess record has been replayed, out of guessedMask
+    private int reportedMask;
+    private int guessedMask;
+    private int wrongGuesses;
+    private int hintCount;
+    // Whether the guess with the most letters seen so far, the one that ends a game, was a hit
+    private boolean lastGuessHit;
+    private boolean paused;
+    private boolean running;
+    private boolean gameOver;
+    private boolean gameWon;
+    private long deadlineNanos;
+    private long remainingNanos;
+    // The clock of the last event other than a guess, which must not go backwards
+    private long clockNanos;
+    // The latest clock reading of any event of the current game
+    private long latestClockNanos;
+    private long lastSequence = -1;
+    private int points;
+    private int score;
+    private int level;
+    private int problems;
+
+    ReplayedGame(long sessionId, boolean totalsKnown) {
+        this.sessionId = sessionId;
+        this.totalsKnown = totalsKnown;
+    }
+
+    /**
+     * Applies the cursor's current event. {@code dictionary} is the dictionary
+     * the cursor's segment refers to, or {@code null} to take hits from the
+     * journal as recorded.
+     */
+    void apply(JournalCursor cursor, Dictionary dictionary) {
+        apply(cursor.sequence(), cursor.type(), cursor.letter(), cursor.flags(), cursor.wrongGuesses(),
+            cursor.value(), cursor.clockNanos(), cursor.extra(), dictionary);
+    }
+
+    void apply(long sequence, int type, char letter, int flags, int wrong, int value,
+               long clock, long extra, Dictionary dictionary) {
+        lastSequence = sequence;
+        if (type == GAME_START) {
+            start(value, extra, clock, letter & 0xFF | (wrong & 0xFF) << 8,
+                (flags & FLAG_OTHER_DICTIONARY) == 0 ? dictionary : null);
+        } else if (!started) {
+            problems |= BAD_SEQUENCE;
+        } else if (type == GUESS) {
+            // Checked against the game's start and deadline instead of the events before it
+            guess(letter, flags, wrong, value, clock, (int) extra);
+            return;
+        } else if (clock - clockNanos < 0) {
+            problems |= BAD_SEQUENCE;
+        } else {
+            switch (type) {
+                case HINT -> hint(value);
+                case PAUSE -> pause(clock);
+                case RESUME -> resume(clock);
+                case GAME_OVER -> end(flags, wrong, value, clock, extra);
+                default -> problems |= BAD_SEQUENCE;
+            }
+        }
+        clockNanos = clock;
+        advanceClock(clock);
+    }
+
+    private void advanceClock(long clock) {
+        if (clock - latestClockNanos > 0) {
+            latestClockNanos = clock;
+        }
+    }
+
+    private void start(int wordId, long seed, long clock, int roundTag, Dictionary dictionary) {
+        if (started && clock - clockNanos < 0) {
+            problems |= BAD_SEQUENCE;
+        }
+        this.dictionary = dictionary;
+        this.seed = seed;
+        this.wordId = wordId;
+        problems = 0;
+        if (dictionary != null && (wordId < 0 || wordId >= dictionary.size())) {
+            problems |= BAD_WORD;
+            this.dictionary = null;
+        }
+        wordMask = this.dictionary != null ? this.dictionary.letterMask(wordId) : 0;
+        started = true;
+        this.roundTag = roundTag;
+        startClock = clock;
+        latestClockNanos = clock;
+        reportedMask = 0;
+        guessedMask = 0;
+        wrongGuesses = 0;
+        hintCount = 0;
+        lastGuessHit = false;
+        paused = false;
+        running = true;
+        gameOver = false;
+        gameWon = false;
+        points = 0;
+        deadlineNanos = clock + GameLogic.TIME_LIMIT * 1_000_000_000L;
+    }
+
+    private void guess(char letter, int flags, int wrong, int mask, long clock, int round) {
+        if ((round & 0xFFFF) != roundTag) {
+            // Made in an earlier game and journalled after this one started
+            return;
+        }
+        // A game past its deadline times out before it takes another guess
+        if (clock - startClock < 0 || (running && clock - deadlineNanos >= 0)) {
+            problems |= BAD_SEQUENCE;
+        }
+        advanceClock(clock);
+        int bit = LetterMask.bit(letter);
+        if (bit == 0 || (reportedMask & bit) != 0 || (mask & bit) == 0) {
+            problems |= BAD_GUESS;
+            return;
+        }
+        reportedMask |= bit;
+        // Only a guess accepted before the one that ended the game may come after the game over
+        if (gameOver && ((mask & ~guessedMask) != 0 || wrong > wrongGuesses)) {
+            problems |= BAD_SEQUENCE;
+        }
+        boolean recordedHit = (flags & FLAG_HIT) != 0;
+        boolean hit = dictionary != null ? (wordMask & bit) != 0 : recordedHit;
+        if (hit != recordedHit
+            || (dictionary != null && wrong != Math.min(Integer.bitCount(mask & ~wordMask), 0xFF))) {
+            problems |= BAD_GUESS;
+        }
+        // The newest guess so far has seen every guess accepted before it
+        if ((mask & guessedMask) == guessedMask) {
+            lastGuessHit = hit;
+        }
+        guessedMask |= mask;
+        wrongGuesses = Math.max(wrongGuesses, wrong);
+    }
+
+    // Hints are not tied to the countdown and may be used after the game ends
+    private void hint(int count) {
+        hintCount++;
+        if (hintCount > GameLogic.MAX_HINTS || count != hintCount) {
+            problems |= BAD_HINT;
+        }
+    }
+
+    private void pause(long clock) {
+        if (gameOver || paused || clock - deadlineNanos >= 0) {
+            problems |= BAD_SEQUENCE;
+        }
+        paused = true;
+        if (running) {
+            remainingNanos = Math.max(0, deadlineNanos - clock);
+            running = false;
+        }
+    }
+
+    private void resume(long clock) {
+        if (gameOver || !paused) {
+            problems |= BAD_SEQUENCE;
+        }
+        paused = false;
+        if (!running) {
+            deadlineNanos = clock + remainingNanos;
+            running = true;
+        }
+    }
+
+    private void end(int flags, int wrong, int recordedPoints, long clock, long totals) {
+        if (gameOver) {
+            problems |= BAD_SEQUENCE;
+        }
+        if (running) {
+            remainingNanos = Math.max(0, deadlineNanos - clock);
+            running = false;
+        }
+        gameOver = true;
+        gameWon = (flags & FLAG_WON) != 0;
+        boolean timedOut = (flags & FLAG_TIMEOUT) != 0;
+        boolean solved = dictionary != null ? (guessedMask & wordMask) == wordMask : lastGuessHit;
+        if (gameWon) {
+            if (timedOut || !solved) {
+                problems |= BAD_END;
+            }
+            points = GameLogic.scoreFor(remainingNanos, wrongGuesses);
+        } else {
+            boolean lost = wrongGuesses >= GameLogic.MAX_WRONG_GUESSES;
+            if (timedOut ? remainingNanos > 0 || lost : !lost) {
+                problems |= BAD_END;
+            }
+            points = 0;
+        }
+        if (wrong != Math.min(wrongGuesses, 0xFF)) {
+            problems |= BAD_GUESS;
+        }
+        if (recordedPoints != points) {
+            problems |= BAD_POINTS;
+        }
+        score += points;
+        if (gameWon) {
+            level++;
+        }
+        if (totalsKnown && totals != ((long) level << 32 | (score & 0xFFFFFFFFL))) {
+            problems |= BAD_TOTAL;
+        }
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the id of the current game's word, or -1 before the first game.
+     */
+    public int getWordId() {
+        return wordId;
+    }
+
+    /**
+     * Returns the current game's word, or {@code null} if it is not in the
+     * dictionary the replay was given.
+     */
+    public String getWord() {
+        return dictionary != null ? dictionary.word(wordId) : null;
+    }
+
+    /**
+     * Returns the word as {@link GameLogic#getDisplayWord()} showed it, or
+     * {@code null} if the word is not known.
+     */
+    public String getDisplayWord() {
+        if (dictionary == null) {
+            return null;
+        }
+        CharSequence word = dictionary.wordView(wordId);
+        StringBuilder display = new StringBuilder(word.length() * 2);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int bit = LetterMask.bit(c);
+            if (i > 0) {
+                display.append(' ');
+            }
+            if (bit == 0) {
+                display.append(c == '_' ? '-' : c);
+            } else {
+                display.append((guessedMask & bit) != 0 ? c : '_');
+            }
+        }
+        return display.toString();
+    }
+
+    public int getGuessedMask() {
+        return guessedMask;
+    }
+
+    public int getWrongGuesses() {
+        return wrongGuesses;
+    }
+
+    public int getHintCount() {
+        return hintCount;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isGameWon() {
+        return gameWon;
+    }
+
+    /**
+     * Returns the time left on the clock as of the last replayed event.
+     */
+    public long getTimeRemainingMillis() {
+        long remaining = running ? deadlineNanos - latestClockNanos : remainingNanos;
+        return Math.max(0, remaining) / 1_000_000L;
+    }
+
+    /**
+     * Returns the points the current game earned, zero until it is won.
+     */
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * Returns the total score as replayed. Only the full total if the session's
+     * first game was replayed.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the problems found in the current game as a bit set of the
+     * {@code BAD_} constants, zero if the journal is consistent.
+     */
+    public int getProblems() {
+        return problems;
+    }
+
+    /**
+     * Returns the sequence number of the last event applied.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the names of the problems in a bit set, e.g. "points, total".
+     */
+    public static String describe(int problems) {
+        StringJoiner names = new StringJoiner(", ");
+        for (int i = 0; i < PROBLEM_NAMES.length; i++) {
+            if ((problems & 1 << i) != 0) {
+                names.add(PROBLEM_NAMES[i]);
+            }
+        }
+        return names.toString();
+    }
+}
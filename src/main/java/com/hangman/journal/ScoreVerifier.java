@@ -0,0 +1,256 @@
+package com.hangman.journal;
+
+import com.hangman.dictionary.Dictionary;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.hangman.journal.JournalFormat.*;
+
+/**
+ * Checks every journalled game against the game rules to find tampered scores.
+ *
+ * <p>Segments are replayed in parallel, one per task on the common fork-join pool.
+ * Each game that starts and ends within a segment is checked right there; games
+ * that straddle a segment boundary are carried over and finished in a short
+ * sequential pass over the per-segment results, which also checks that each
+ * session's running total and level follow from one game to the next.
+ */
+public final class ScoreVerifier {
+
+    private final Dictionary dictionary;
+
+    /**
+     * Creates a verifier that checks hits against the given dictionary wherever a
+     * segment was written for it, or against the recorded hits if {@code null}.
+     */
+    public ScoreVerifier(Dictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public VerificationReport verify(JournalReader reader) {
+        long start = System.nanoTime();
+        List<SegmentResult> results = reader.getSegments().parallelStream()
+            .map(this::verifySegment)
+            .collect(Collectors.toList());
+
+        VerificationReport report = new VerificationReport();
+        Map<Long, ReplayedGame> carried = new HashMap<>();
+        Map<Long, long[]> totals = new HashMap<>();
+        for (SegmentResult result : results) {
+            report.merge(result.report);
+            for (Map.Entry<Long, Session> entry : result.sessions.entrySet()) {
+                long sessionId = entry.getKey();
+                Session session = entry.getValue();
+                finishCarried(sessionId, session, carried.remove(sessionId), carried, report);
+                if (session.game != null && !session.game.isGameOver()) {
+                    carried.put(sessionId, session.game);
+                }
+                checkTotals(sessionId, session, totals, report);
+            }
+        }
+        report.setUnfinished(carried.size());
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    // Plays the events a segment saw before its first start of the session into the
+    // game carried over from earlier segments
+    private static void finishCarried(long sessionId, Session session, ReplayedGame game,
+                                      Map<Long, ReplayedGame> carried, VerificationReport report) {
+        Events head = session.head;
+        for (int i = 0; head != null && i < head.size; i++) {
+            int type = head.type(i);
+            if (game == null) {
+                if (type == GAME_OVER) {
+                    report.recordIncomplete();
+                }
+                continue;
+            }
+            game.apply(head.sequence(i), type, head.letter(i), head.flags(i), head.wrongGuesses(i),
+                head.value(i), head.clock(i), head.extra(i), null);
+            if (type == GAME_OVER) {
+                report.recordGame(game);
+                game = null;
+            }
+        }
+        if (game != null) {
+            if (session.game != null) {
+                report.recordAbandoned();
+            } else {
+                carried.put(sessionId, game);
+            }
+        }
+    }
+
+    // Checks the session's first game over in this segment against where the
+    // previous segments left its running totals
+    private static void checkTotals(long sessionId, Session session, Map<Long, long[]> totals,
+                                    VerificationReport report) {
+        long[] last = totals.get(sessionId);
+        if (last == null) {
+            // Sessions journalled from their first game start at zero
+            last = new long[] {0, session.startsWithGame ? 1 : 0};
+            totals.put(sessionId, last);
+        }
+        if (session.firstOverSequence < 0) {
+            return;
+        }
+        if (last[1] != 0 && session.firstTotals != next(last[0], session.firstOverFlags, session.firstOverPoints)) {
+            report.recordTotalMismatch(sessionId, session.firstOverSequence);
+        }
+        last[0] = session.lastTotals;
+        last[1] = 1;
+    }
+
+    // Packed (level << 32 | score) after a game over with the given flags and points
+    private static long next(long totals, int flags, int points) {
+        if ((flags & FLAG_WON) == 0) {
+            return totals;
+        }
+        int level = (int) (totals >>> 32) + 1;
+        int score = (int) totals + points;
+        return (long) level << 32 | (score & 0xFFFFFFFFL);
+    }
+
+    private SegmentResult verifySegment(Path segment) {
+        SegmentResult result = new SegmentResult();
+        JournalCursor cursor = JournalReader.cursor(segment);
+        long events = 0;
+        Dictionary segmentDictionary = null;
+        while (cursor.next()) {
+            if (events++ == 0 && dictionary != null && dictionary.fingerprint() == cursor.dictionaryFingerprint()) {
+                segmentDictionary = dictionary;
+            }
+            long sessionId = cursor.sessionId();
+            int type = cursor.type();
+            Session session = result.sessions.get(sessionId);
+            if (session == null) {
+                session = new Session(type == GAME_START);
+                result.sessions.put(sessionId, session);
+            }
+            if (type == GAME_OVER) {
+                session.gameOver(cursor, result.report, sessionId);
+            }
+            if (type == GAME_START) {
+                if (session.game == null) {
+                    // Totals are checked across segments instead
+                    session.game = new ReplayedGame(sessionId, false);
+                } else if (!session.game.isGameOver()) {
+                    result.report.recordAbandoned();
+                }
+                session.game.apply(cursor, segmentDictionary);
+            } else if (session.game != null) {
+                session.game.apply(cursor, segmentDictionary);
+                if (type == GAME_OVER) {
+                    result.report.recordGame(session.game);
+                }
+            } else {
+                if (session.head == null) {
+                    session.head = new Events();
+                }
+                session.head.add(cursor);
+            }
+        }
+        result.report.recordSegment(events);
+        return result;
+    }
+
+    private static final class SegmentResult {
+        final VerificationReport report = new VerificationReport();
+        final Map<Long, Session> sessions = new HashMap<>();
+    }
+
+    /**
+     * What one segment saw of one session.
+     */
+    private static final class Session {
+        final boolean startsWithGame;
+        // Events before the session's first start in this segment
+        Events head;
+        // The last game started in this segment
+        ReplayedGame game;
+
+        long firstOverSequence = -1;
+        int firstOverFlags;
+        int firstOverPoints;
+        long firstTotals;
+        long lastTotals;
+
+        Session(boolean startsWithGame) {
+            this.startsWithGame = startsWithGame;
+        }
+
+        void gameOver(JournalCursor cursor, VerificationReport report, long sessionId) {
+            if (firstOverSequence < 0) {
+                firstOverSequence = cursor.sequence();
+                firstOverFlags = cursor.flags();
+                firstOverPoints = cursor.value();
+                firstTotals = cursor.extra();
+            } else if (cursor.extra() != next(lastTotals, cursor.flags(), cursor.value())) {
+                report.recordTotalMismatch(sessionId, cursor.sequence());
+            }
+            lastTotals = cursor.extra();
+        }
+    }
+
+    /**
+     * Raw events kept for replay after the segment pass, four longs each.
+     */
+    private static final class Events {
+        long[] data = new long[16];
+        int size;
+
+        void add(JournalCursor cursor) {
+            if ((size + 1) * 4 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            int i = size++ * 4;
+            int header = header(cursor.type(), cursor.letter(), cursor.flags(), cursor.wrongGuesses());
+            data[i] = cursor.sequence();
+            data[i + 1] = (long) header << 32 | (cursor.value() & 0xFFFFFFFFL);
+            data[i + 2] = cursor.clockNanos();
+            data[i + 3] = cursor.extra();
+        }
+
+        long sequence(int i) {
+            return data[i * 4];
+        }
+
+        private int packed(int i) {
+            return (int) (data[i * 4 + 1] >>> 32);
+        }
+
+        int type(int i) {
+            return packed(i) & 0xFF;
+        }
+
+        char letter(int i) {
+            return (char) (packed(i) >>> 8 & 0xFF);
+        }
+
+        int flags(int i) {
+            return packed(i) >>> 16 & 0xFF;
+        }
+
+        int wrongGuesses(int i) {
+            return packed(i) >>> 24;
+        }
+
+        int value(int i) {
+            return (int) data[i * 4 + 1];
+        }
+
+        long clock(int i) {
+            return data[i * 4 + 2];
+        }
+
+        long extra(int i) {
+            return data[i * 4 + 3];
+        }
+    }
+}
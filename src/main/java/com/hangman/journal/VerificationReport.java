@@ -0,0 +1,225 @@
+package com.hangman.journal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of a {@link ScoreVerifier} run: how many games were checked and which
+ * ones the journal contradicts.
+ */
+public final class VerificationReport {
+
+    /** Findings past this many are counted but not kept. */
+    private static final int MAX_FINDINGS = 100;
+
+    private long segments;
+    private long events;
+    private long games;
+    private long wins;
+    private long flaggedGames;
+    private long totalMismatches;
+    private long incomplete;
+    private long abandoned;
+    private long unfinished;
+    private long elapsedNanos;
+    private final List<Finding> findings = new ArrayList<>();
+
+    void recordSegment(long events) {
+        segments++;
+        this.events += events;
+    }
+
+    void recordGame(ReplayedGame game) {
+        games++;
+        if (game.isGameWon()) {
+            wins++;
+        }
+        if (game.getProblems() != 0) {
+            flaggedGames++;
+            addFinding(new Finding(game.getSessionId(), game.getLastSequence(), game.getProblems()));
+        }
+    }
+
+    void recordTotalMismatch(long sessionId, long sequence) {
+        totalMismatches++;
+        addFinding(new Finding(sessionId, sequence, ReplayedGame.BAD_TOTAL));
+    }
+
+    void recordIncomplete() {
+        incomplete++;
+    }
+
+    void recordAbandoned() {
+        abandoned++;
+    }
+
+    void setUnfinished(long unfinished) {
+        this.unfinished = unfinished;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    private void addFinding(Finding finding) {
+        if (findings.size() < MAX_FINDINGS) {
+            findings.add(finding);
+        }
+    }
+
+    /**
+     * Adds another report's counts and findings to this one and returns this
+     * report.
+     */
+    VerificationReport merge(VerificationReport other) {
+        segments += other.segments;
+        events += other.events;
+        games += other.games;
+        wins += other.wins;
+        flaggedGames += other.flaggedGames;
+        totalMismatches += other.totalMismatches;
+        incomplete += other.incomplete;
+        abandoned += other.abandoned;
+        for (Finding finding : other.findings) {
+            addFinding(finding);
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether no game and no running total was found tampered with.
+     */
+    public boolean isClean() {
+        return flaggedGames == 0 && totalMismatches == 0;
+    }
+
+    public long getSegments() {
+        return segments;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the number of games replayed from start to game over.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns the number of replayed games whose events disagree with the rules.
+     */
+    public long getFlaggedGames() {
+        return flaggedGames;
+    }
+
+    /**
+     * Returns the number of game overs whose recorded total score or level does not
+     * follow from the session's previous game.
+     */
+    public long getTotalMismatches() {
+        return totalMismatches;
+    }
+
+    /**
+     * Returns the number of game overs whose start is not in the journal.
+     */
+    public long getIncomplete() {
+        return incomplete;
+    }
+
+    /**
+     * Returns the number of games replaced by a new game before they ended.
+     */
+    public long getAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Returns the number of games still in progress at the end of the journal.
+     */
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public double getEventsPerSecond() {
+        return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the first findings, in journal order within each pass.
+     */
+    public List<Finding> getFindings() {
+        return Collections.unmodifiableList(findings);
+    }
+
+    /**
+     * Returns a multi-line, human-readable summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Events:          %,d in %,d segments (%,.0f events/s)%n",
+            events, segments, getEventsPerSecond()));
+        out.append(String.format(Locale.ROOT, "Games checked:   %,d (%,d wins)%n", games, wins));
+        out.append(String.format(Locale.ROOT, "Not checkable:   %,d without a start, %,d abandoned, %,d unfinished%n",
+            incomplete, abandoned, unfinished));
+        out.append(String.format(Locale.ROOT, "Flagged games:   %,d%n", flaggedGames));
+        out.append(String.format(Locale.ROOT, "Bad totals:      %,d%n", totalMismatches));
+        for (Finding finding : findings) {
+            out.append("  ").append(finding).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    /**
+     * One game over the journal disagrees with.
+     */
+    public static final class Finding {
+        private final long sessionId;
+        private final long sequence;
+        private final int problems;
+
+        Finding(long sessionId, long sequence, int problems) {
+            this.sessionId = sessionId;
+            this.sequence = sequence;
+            this.problems = problems;
+        }
+
+        public long getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Returns the sequence number of the game over event.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Returns the problems found, as {@link ReplayedGame} {@code BAD_} flags.
+         */
+        public int getProblems() {
+            return problems;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "session %d, event %d: %s", sessionId, sequence,
+                ReplayedGame.describe(problems));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.hangman.leaderboard;
+
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranks players by their total score across all their games.
+ *
+ * <p>Players are kept in a concurrent skip list ordered best first, so top-K reads
+ * the first K entries, and their scores are counted in a {@link ScoreIndex}, so a
+ * player's rank is one prefix sum. Both are lock-free; updates to one player are
+ * serialized by that player's map entry only, so sessions for different players
+ * never contend. Updates, top-K and rank are O(log n).
+ *
+ * <p>A leaderboard opened on a directory survives restarts: every update is
+ * appended to a write-ahead log in the background, and the log is periodically
+ * folded into a snapshot. See {@link LeaderboardStore}.
+ */
+public final class Leaderboard implements AutoCloseable {
+
+    /** System property naming a leaderboard directory for the game to record to. */
+    public static final String PROPERTY = "hangman.leaderboard";
+    /** System property with the name to record games under; defaults to the OS user. */
+    public static final String PLAYER_PROPERTY = "hangman.player";
+    public static final int MAX_NAME_LENGTH = 64;
+
+    // Best first: higher score, then more wins, then name
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        if (a.score != b.score) {
+            return a.score > b.score ? -1 : 1;
+        }
+        if (a.wins != b.wins) {
+            return a.wins > b.wins ? -1 : 1;
+        }
+        return a.player.compareTo(b.player);
+    };
+
+    private final ConcurrentHashMap<String, Entry> players = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final ScoreIndex scores;
+    private final LeaderboardStore store;
+
+    private Leaderboard(Collection<Entry> entries, LeaderboardStore store, int scoreLimit) {
+        this.scores = new ScoreIndex(scoreLimit);
+        for (Entry entry : entries) {
+            players.put(entry.player, entry);
+            ranking.add(entry);
+            scores.add(entry.score, 1);
+        }
+        this.store = store;
+        if (store != null) {
+            store.start(players::values);
+        }
+    }
+
+    /**
+     * Creates an empty leaderboard that is not saved anywhere.
+     */
+    public static Leaderboard inMemory() {
+        return inMemory(ScoreIndex.DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates an empty in-memory leaderboard sized for scores mostly below
+     * {@code scoreLimit}, a power of two. Higher scores still rank correctly, just
+     * more slowly.
+     */
+    static Leaderboard inMemory(int scoreLimit) {
+        return new Leaderboard(List.of(), null, scoreLimit);
+    }
+
+    /**
+     * Opens the leaderboard saved in a directory, creating it if needed.
+     */
+    public static Leaderboard open(Path directory) throws IOException {
+        LeaderboardStore store = LeaderboardStore.open(directory);
+        return new Leaderboard(store.getLoaded(), store, ScoreIndex.DEFAULT_LIMIT);
+    }
+
+    /**
+     * Adds a finished game to a player's totals and returns the updated entry.
+     *
+     * @throws IllegalArgumentException if the name is empty or longer than
+     *         {@value #MAX_NAME_LENGTH} characters, or the points are negative
+     */
+    public Entry record(String player, int points, boolean won) {
+        if (player.isEmpty() || player.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Player name must have 1 to " + MAX_NAME_LENGTH + " characters");
+        }
+        if (points < 0) {
+            throw new IllegalArgumentException("Negative points: " + points);
+        }
+        Entry updated = players.compute(player, (name, old) -> {
+            Entry entry = old == null
+                ? new Entry(name, points, won ? 1 : 0, 1, 1)
+                : new Entry(name, old.score + points, old.wins + (won ? 1 : 0), old.games + 1, old.version + 1);
+            if (old != null) {
+                ranking.remove(old);
+                scores.add(old.score, -1);
+            }
+            ranking.add(entry);
+            scores.add(entry.score, 1);
+            return entry;
+        });
+        // Logged only once the entry is visible, so a snapshot taken after the log
+        // record was written always sees it; the versions put racing records back in order
+        if (store != null) {
+            store.append(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Returns a player's entry, or {@code null} if they have not played.
+     */
+    public Entry get(String player) {
+        return players.get(player);
+    }
+
+    /**
+     * Returns a player's rank, 1 for the best, or 0 if they have not played.
+     * Players with the same score share a rank.
+     */
+    public int rank(String player) {
+        Entry entry = players.get(player);
+        if (entry == null) {
+            return 0;
+        }
+        if (entry.score < scores.limit()) {
+            return scores.countAbove(entry.score) + 1;
+        }
+        // Scores this high are rare, so counting them from the top is cheap
+        int above = 0;
+        for (Entry other : ranking) {
+            if (other.score <= entry.score) {
+                break;
+            }
+            above++;
+        }
+        return above + 1;
+    }
+
+    /**
+     * Returns up to {@code k} best players, best first.
+     */
+    public List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, 64));
+        Iterator<Entry> entries = ranking.iterator();
+        while (top.size() < k && entries.hasNext()) {
+            top.add(entries.next());
+        }
+        return top;
+    }
+
+    /**
+     * Returns the number of players.
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Returns a listener that records every game a {@link GameLogic} finishes
+     * under the given player's name.
+     */
+    public GameEventListener listener(String player) {
+        return new GameEventListener() {
+            @Override
+            public void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+                record(player, points, won);
+            }
+        };
+    }
+
+    /**
+     * Blocks until every update so far is in the log on disk. Does nothing for an
+     * in-memory leaderboard.
+     */
+    public void flush() throws IOException {
+        if (store != null) {
+            store.flush();
+        }
+    }
+
+    /**
+     * Writes a snapshot now and drops the log it replaces. Does nothing for an
+     * in-memory leaderboard.
+     */
+    public void snapshot() throws IOException {
+        if (store != null) {
+            store.snapshot();
+        }
+    }
+
+    /**
+     * Writes outstanding updates and stops the background writer.
+     */
+    @Override
+    public void close() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * A player's totals. Entries are immutable; every update makes a new one.
+     */
+    public static final class Entry {
+        final String player;
+        final long score;
+        final int wins;
+        final int games;
+        // Counts the player's updates so replaying the log keeps the newest entry
+        final long version;
+
+        Entry(String player, long score, int wins, int games, long version) {
+            this.player = player;
+            this.score = score;
+            this.wins = wins;
+            this.games = games;
+            this.version = version;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public long getScore() {
+            return score;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        @Override
+        public String toString() {
+            return player + ": " + score + " (" + wins + "/" + games + " won)";
+        }
+    }
+}
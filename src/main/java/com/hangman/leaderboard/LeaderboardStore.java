@@ -0,0 +1,380 @@
+package com.hangman.leaderboard;
+
+import com.hangman.leaderboard.Leaderboard.Entry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Saves a {@link Leaderboard} as a snapshot plus a write-ahead log.
+ *
+ * <p>Updated entries are queued by the updating thread and written by one daemon
+ * thread, which appends everything queued to the current log file and syncs it
+ * every few milliseconds (group commit). Each log record holds the player's whole
+ * entry with a version number and a CRC, so loading keeps the newest version of
+ * each player and stops at a torn record.
+ *
+ * <p>Once a log holds {@value #COMPACT_RECORDS} records the writer starts a new log
+ * file, writes a snapshot of all entries next to it and deletes the older logs. A
+ * crash at any point leaves either the old snapshot and all logs, or the new
+ * snapshot and the logs written since it began.
+ *
+ * <p>Files in the directory:
+ * <pre>
+ *   leaderboard.snapshot          int magic, int version, int count, entries, long CRC32
+ *   leaderboard-&lt;generation&gt;.wal  records: int length, entry, int CRC32 of the entry
+ *   entry                         long version, long score, int wins, int games,
+ *                                 short name length, UTF-8 name
+ * </pre>
+ */
+final class LeaderboardStore implements AutoCloseable {
+
+    private static final String SNAPSHOT = "leaderboard.snapshot";
+    private static final String WAL_PREFIX = "leaderboard-";
+    private static final String WAL_SUFFIX = ".wal";
+    private static final int MAGIC = 0x424C4D48; // "HMLB"
+    private static final int VERSION = 1;
+    private static final int COMPACT_RECORDS = 100_000;
+    private static final long SYNC_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    // Fixed part of an entry; names are at most MAX_NAME_LENGTH chars, so 3 bytes each in UTF-8
+    private static final int ENTRY_BYTES = 8 + 8 + 4 + 4 + 2;
+    private static final int MAX_RECORD_BYTES = 4 + ENTRY_BYTES + Leaderboard.MAX_NAME_LENGTH * 3 + 4;
+
+    private final Path directory;
+    private final Collection<Entry> loaded;
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong appended = new AtomicLong();
+    private final Object syncLock = new Object();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final CRC32 crc = new CRC32();
+
+    private Supplier<Collection<Entry>> entries;
+    private Thread writer;
+    // Only touched by the writer thread once started
+    private FileChannel wal;
+    private long generation;
+    private long walRecords;
+
+    private volatile long written;
+    private volatile boolean snapshotRequested;
+    private volatile long snapshots;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private LeaderboardStore(Path directory, Collection<Entry> loaded, long generation) throws IOException {
+        this.directory = directory;
+        this.loaded = loaded;
+        this.generation = generation;
+        this.wal = openWal(generation);
+    }
+
+    /**
+     * Loads the saved entries and opens a new log after the existing ones.
+     */
+    static LeaderboardStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Entry> entries = new HashMap<>();
+        Path snapshot = directory.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            readSnapshot(snapshot, entries);
+        }
+        long lastGeneration = 0;
+        for (Path file : walFiles(directory)) {
+            readWal(file, entries);
+            lastGeneration = Math.max(lastGeneration, generation(file));
+        }
+        return new LeaderboardStore(directory, new ArrayList<>(entries.values()), lastGeneration + 1);
+    }
+
+    Collection<Entry> getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Starts the writer; snapshots take their entries from the given source.
+     */
+    void start(Supplier<Collection<Entry>> entries) {
+        this.entries = entries;
+        this.writer = new Thread(this::writeLoop, "leaderboard-wal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void append(Entry entry) {
+        if (closed) {
+            throw new IllegalStateException("Leaderboard is closed");
+        }
+        pending.add(entry);
+        appended.incrementAndGet();
+    }
+
+    /**
+     * Blocks until every entry appended before the call is in the log on disk.
+     */
+    void flush() throws IOException {
+        long target = appended.get();
+        awaitWriter(() -> written >= target);
+    }
+
+    /**
+     * Blocks until a snapshot taken after the call is on disk.
+     */
+    void snapshot() throws IOException {
+        long target = snapshots + 1;
+        snapshotRequested = true;
+        awaitWriter(() -> snapshots >= target);
+    }
+
+    private void awaitWriter(BooleanSupplier done) throws IOException {
+        synchronized (syncLock) {
+            while (!done.getAsBoolean()) {
+                if (failure != null) {
+                    throw new IOException("Leaderboard write failed", failure);
+                }
+                if (!writer.isAlive()) {
+                    throw new IOException("Leaderboard is closed");
+                }
+                LockSupport.unpark(writer);
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for the leaderboard writer");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        wal.close();
+        if (failure != null) {
+            throw new IOException("Leaderboard write failed", failure);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            boolean stopping = closed;
+            try {
+                writePending();
+                if (snapshotRequested || walRecords >= COMPACT_RECORDS) {
+                    snapshotRequested = false;
+                    compact();
+                    snapshots++;
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            synchronized (syncLock) {
+                syncLock.notifyAll();
+            }
+            if (stopping || failure != null) {
+                return;
+            }
+            LockSupport.parkNanos(this, SYNC_INTERVAL_NANOS);
+        }
+    }
+
+    private void writePending() throws IOException {
+        long count = 0;
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            if (buffer.remaining() < MAX_RECORD_BYTES) {
+                writeBuffer();
+            }
+            encodeRecord(entry);
+            count++;
+        }
+        if (count > 0) {
+            writeBuffer();
+            wal.force(false);
+            walRecords += count;
+            written += count;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            wal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void encodeRecord(Entry entry) {
+        byte[] name = entry.player.getBytes(StandardCharsets.UTF_8);
+        int start = buffer.position();
+        buffer.putInt(ENTRY_BYTES + name.length);
+        buffer.putLong(entry.version).putLong(entry.score).putInt(entry.wins).putInt(entry.games);
+        buffer.putShort((short) name.length).put(name);
+        crc.reset();
+        crc.update(buffer.array(), start + 4, ENTRY_BYTES + name.length);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    // Switches to a new log first, so everything in the older logs is already
+    // reflected in the entries the snapshot copies
+    private void compact() throws IOException {
+        FileChannel next = openWal(generation + 1);
+        wal.close();
+        wal = next;
+        generation++;
+        walRecords = 0;
+
+        Path snapshot = directory.resolve(SNAPSHOT);
+        Path temp = directory.resolve(SNAPSHOT + ".tmp");
+        List<Entry> copy = new ArrayList<>(entries.get());
+        CRC32 checksum = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                 new CheckedOutputStream(file, checksum)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(copy.size());
+            for (Entry entry : copy) {
+                writeEntry(out, entry);
+            }
+            out.flush();
+            out.writeLong(checksum.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path file : walFiles(directory)) {
+            if (generation(file) < generation) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private FileChannel openWal(long generation) throws IOException {
+        return FileChannel.open(directory.resolve(WAL_PREFIX + generation + WAL_SUFFIX),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        byte[] name = entry.player.getBytes(StandardCharsets.UTF_8);
+        out.writeLong(entry.version);
+        out.writeLong(entry.score);
+        out.writeInt(entry.wins);
+        out.writeInt(entry.games);
+        out.writeShort(name.length);
+        out.write(name);
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        long version = in.readLong();
+        long score = in.readLong();
+        int wins = in.readInt();
+        int games = in.readInt();
+        byte[] name = new byte[in.readUnsignedShort()];
+        in.readFully(name);
+        return new Entry(new String(name, StandardCharsets.UTF_8), score, wins, games, version);
+    }
+
+    private static void keepNewest(Map<String, Entry> entries, Entry entry) {
+        entries.merge(entry.player, entry, (old, next) -> next.version > old.version ? next : old);
+    }
+
+    private static void readSnapshot(Path file, Map<String, Entry> entries) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        CRC32 checksum = new CRC32();
+        checksum.update(data, 0, Math.max(0, data.length - 8));
+        ByteBuffer trailer = ByteBuffer.wrap(data, Math.max(0, data.length - 8), Math.min(8, data.length));
+        if (data.length < 20 || trailer.getLong() != checksum.getValue()) {
+            throw new IOException("Corrupt leaderboard snapshot: " + file);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 8));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a leaderboard snapshot: " + file);
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            keepNewest(entries, readEntry(in));
+        }
+    }
+
+    // Reads records up to the end or the first torn one
+    private static void readWal(Path file, Map<String, Entry> entries) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CRC32 checksum = new CRC32();
+            while (true) {
+                int length = in.readInt();
+                if (length < ENTRY_BYTES || length > MAX_RECORD_BYTES) {
+                    return;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                checksum.reset();
+                checksum.update(record);
+                if (in.readInt() != (int) checksum.getValue()) {
+                    return;
+                }
+                keepNewest(entries, readEntry(new DataInputStream(new ByteArrayInputStream(record))));
+            }
+        } catch (EOFException e) {
+            // Torn or complete; either way the log ends here
+        }
+    }
+
+    private static List<Path> walFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(file -> generation(file) >= 0).forEach(files::add);
+        }
+        files.sort((a, b) -> Long.compare(generation(a), generation(b)));
+        return files;
+    }
+
+    private static long generation(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(WAL_PREFIX) || !name.endsWith(WAL_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(WAL_PREFIX.length(), name.length() - WAL_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.hangman.leaderboard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counts players per score so "how many players score more than s" is a prefix
+ * sum: a Fenwick tree of atomic counters over scores below a limit, plus a single
+ * counter for scores at or above it.
+ *
+ * <p>Adding and removing a score are O(log limit) atomic increments, so concurrent
+ * updates never block each other. Counts read while updates are in flight may be
+ * off by those updates.
+ */
+final class ScoreIndex {
+
+    /** Default limit, enough for all-time totals of all but the most dedicated players. */
+    static final int DEFAULT_LIMIT = 1 << 20;
+
+    private final int limit;
+    private final AtomicIntegerArray tree;
+    private final AtomicInteger indexed = new AtomicInteger();
+    private final AtomicInteger aboveLimit = new AtomicInteger();
+
+    /**
+     * Creates an index over scores below {@code limit}, a power of two.
+     */
+    ScoreIndex(int limit) {
+        this.limit = limit;
+        this.tree = new AtomicIntegerArray(limit + 1);
+    }
+
+    /**
+     * Returns the score from which on scores are only counted, not indexed.
+     */
+    int limit() {
+        return limit;
+    }
+
+    void add(long score, int delta) {
+        if (score >= limit) {
+            aboveLimit.addAndGet(delta);
+            return;
+        }
+        indexed.addAndGet(delta);
+        for (int i = (int) score + 1; i <= limit; i += i & -i) {
+            tree.addAndGet(i, delta);
+        }
+    }
+
+    /**
+     * Returns how many players score more than {@code score}, which must be below
+     * the limit.
+     */
+    int countAbove(long score) {
+        int atOrBelow = 0;
+        for (int i = (int) score + 1; i > 0; i -= i & -i) {
+            atOrBelow += tree.get(i);
+        }
+        return indexed.get() - atOrBelow + aboveLimit.get();
+    }
+}
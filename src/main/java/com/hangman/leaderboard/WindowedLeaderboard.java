@@ -0,0 +1,194 @@
+package com.hangman.leaderboard;
+
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Daily, weekly and all-time rankings.
+ *
+ * <p>Each time window keeps a small ring of periods, the current one and the one
+ * before, each a {@link Leaderboard} of the points scored in it, so rankings are
+ * maintained incrementally as games finish and never rebuilt from history. When
+ * a new day or week begins the first update or query swaps a fresh period into the
+ * ring slot of the oldest one, an O(1) compare-and-set; the old period is simply
+ * dropped. Memory is bounded by the players active in the live periods, however
+ * many periods have passed.
+ *
+ * <p>Days are UTC days and weeks are ISO weeks starting on Monday, both taken from
+ * the given clock. All-time rankings are delegated to a {@link Leaderboard}, which
+ * may be persistent; daily and weekly rankings live in memory only.
+ */
+public final class WindowedLeaderboard {
+
+    public enum Window {
+        DAILY,
+        WEEKLY,
+        ALL_TIME
+    }
+
+    // The current period plus the previous one, kept for "yesterday" and "last week"
+    private static final int RING = 2;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    // 1970-01-01 was a Thursday; shifting by three days puts week boundaries on Mondays
+    private static final long EPOCH_DAY_TO_MONDAY = 3;
+
+    private final Leaderboard allTime;
+    private final Clock clock;
+    private final Rollup daily = new Rollup(1 << 14);
+    private final Rollup weekly = new Rollup(1 << 16);
+
+    public WindowedLeaderboard(Leaderboard allTime) {
+        this(allTime, Clock.systemUTC());
+    }
+
+    public WindowedLeaderboard(Leaderboard allTime, Clock clock) {
+        this.allTime = allTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a finished game to the player's totals in every window.
+     *
+     * @throws IllegalArgumentException as {@link Leaderboard#record} does
+     */
+    public void record(String player, int points, boolean won) {
+        long day = currentDay();
+        allTime.record(player, points, won);
+        // A clock lagging behind a period that has already rolled out counts for all time only
+        Leaderboard today = daily.board(day);
+        if (today != null) {
+            today.record(player, points, won);
+        }
+        Leaderboard thisWeek = weekly.board(week(day));
+        if (thisWeek != null) {
+            thisWeek.record(player, points, won);
+        }
+    }
+
+    /**
+     * Returns up to {@code k} best players of the current period, best first.
+     */
+    public List<Leaderboard.Entry> top(Window window, int k) {
+        Leaderboard current = board(window, 0);
+        return current != null ? current.top(k) : List.of();
+    }
+
+    /**
+     * Returns up to {@code k} best players of the period before the current one,
+     * e.g. yesterday's final daily ranking. Empty for {@link Window#ALL_TIME}.
+     */
+    public List<Leaderboard.Entry> previousTop(Window window, int k) {
+        if (window == Window.ALL_TIME) {
+            return List.of();
+        }
+        Leaderboard previous = board(window, 1);
+        return previous != null ? previous.top(k) : List.of();
+    }
+
+    /**
+     * Returns a player's rank in the current period, 1 for the best, or 0 if they
+     * have not played in it.
+     */
+    public int rank(Window window, String player) {
+        Leaderboard current = board(window, 0);
+        return current != null ? current.rank(player) : 0;
+    }
+
+    /**
+     * Returns a player's totals for the current period, or {@code null} if they
+     * have not played in it.
+     */
+    public Leaderboard.Entry get(Window window, String player) {
+        Leaderboard current = board(window, 0);
+        return current != null ? current.get(player) : null;
+    }
+
+    /**
+     * Returns the number of players in the current period.
+     */
+    public int size(Window window) {
+        Leaderboard current = board(window, 0);
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Returns a listener that records every game a {@link GameLogic} finishes
+     * under the given player's name.
+     */
+    public GameEventListener listener(String player) {
+        return new GameEventListener() {
+            @Override
+            public void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+                record(player, points, won);
+            }
+        };
+    }
+
+    // Returns the board of the current period minus age, or null if it has rolled out
+    private Leaderboard board(Window window, int age) {
+        long day = currentDay();
+        switch (window) {
+            case DAILY:
+                return age == 0 ? daily.board(day) : daily.previous(day - age);
+            case WEEKLY:
+                return age == 0 ? weekly.board(week(day)) : weekly.previous(week(day) - age);
+            default:
+                return allTime;
+        }
+    }
+
+    private long currentDay() {
+        return Math.floorDiv(clock.millis(), MILLIS_PER_DAY);
+    }
+
+    private static long week(long day) {
+        return Math.floorDiv(day + EPOCH_DAY_TO_MONDAY, 7);
+    }
+
+    /**
+     * Ring of per-period leaderboards for one window, indexed by period number.
+     */
+    private static final class Rollup {
+        private final AtomicReferenceArray<Period> ring = new AtomicReferenceArray<>(RING);
+        private final int scoreLimit;
+
+        Rollup(int scoreLimit) {
+            this.scoreLimit = scoreLimit;
+        }
+
+        // Returns null for a period the ring has already moved past, as seen by a
+        // thread whose clock lags; the newer period keeps its slot
+        Leaderboard board(long number) {
+            int slot = Math.floorMod(number, RING);
+            while (true) {
+                Period period = ring.get(slot);
+                if (period != null && period.number >= number) {
+                    return period.number == number ? period.board : null;
+                }
+                Period fresh = new Period(number, Leaderboard.inMemory(scoreLimit));
+                if (ring.compareAndSet(slot, period, fresh)) {
+                    return fresh.board;
+                }
+            }
+        }
+
+        Leaderboard previous(long number) {
+            Period period = ring.get(Math.floorMod(number, RING));
+            return period != null && period.number == number ? period.board : null;
+        }
+    }
+
+    private static final class Period {
+        final long number;
+        final Leaderboard board;
+
+        Period(long number, Leaderboard board) {
+            this.number = number;
+            this.board = board;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.hangman.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for the game lifecycle and the desktop UI, under
+ * the "Hangman" category of a recording.
+ *
+ * <p>Events are only written while a recording is running, e.g. with
+ * {@code -XX:StartFlightRecording}; otherwise each call below is a check of a
+ * flag. None of them records a stack trace. Game start, hint, pause, resume,
+ * timeout and game over happen at most a few times per game and are always
+ * recorded. Guesses and UI actions can come thousands of times a second on a
+ * server, so they are only recorded when they take at least
+ * {@value #GUESS_THRESHOLD} and {@value #UI_THRESHOLD} respectively; the
+ * thresholds can be changed per recording in a custom {@code .jfc} file.
+ */
+public final class GameEvents {
+
+    static final String GUESS_THRESHOLD = "1 ms";
+    static final String UI_THRESHOLD = "10 ms";
+
+    private GameEvents() {
+    }
+
+    /**
+     * Starts timing a game start; pass the result to {@link #gameStarted}.
+     */
+    public static GameStarted gameStarting() {
+        GameStarted event = new GameStarted();
+        event.begin();
+        return event;
+    }
+
+    public static void gameStarted(GameStarted event, long sessionId, int wordId, String category, int wordLength,
+                                   int level) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.wordId = wordId;
+            event.category = category;
+            event.wordLength = wordLength;
+            event.level = level;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a guess; pass the result to {@link #guessMade}.
+     */
+    public static Guess guessing() {
+        Guess event = new Guess();
+        event.begin();
+        return event;
+    }
+
+    public static void guessMade(Guess event, long sessionId, char letter, boolean hit, int wrongGuesses) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.letter = letter;
+            event.hit = hit;
+            event.wrongGuesses = wrongGuesses;
+            event.commit();
+        }
+    }
+
+    public static void hintUsed(long sessionId, int hintsUsed) {
+        HintUsed event = new HintUsed();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.hintsUsed = hintsUsed;
+            event.commit();
+        }
+    }
+
+    public static void timerPaused(long sessionId, long remainingMillis) {
+        TimerPaused event = new TimerPaused();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.remaining = remainingMillis;
+            event.commit();
+        }
+    }
+
+    public static void timerResumed(long sessionId, long remainingMillis) {
+        TimerResumed event = new TimerResumed();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.remaining = remainingMillis;
+            event.commit();
+        }
+    }
+
+    public static void timedOut(long sessionId, int wordId, int guesses) {
+        TimedOut event = new TimedOut();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.wordId = wordId;
+            event.guesses = guesses;
+            event.commit();
+        }
+    }
+
+    public static void gameOver(long sessionId, boolean won, int points, int score, int wrongGuesses,
+                                long remainingMillis) {
+        GameOver event = new GameOver();
+        if (event.shouldCommit()) {
+            event.sessionId = sessionId;
+            event.won = won;
+            event.points = points;
+            event.score = score;
+            event.wrongGuesses = wrongGuesses;
+            event.remaining = remainingMillis;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a UI action on the FX thread; pass the result to
+     * {@link #uiActionDone}.
+     */
+    public static UiAction uiAction() {
+        UiAction event = new UiAction();
+        event.begin();
+        return event;
+    }
+
+    public static void uiActionDone(UiAction event, String action) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = action;
+            event.commit();
+        }
+    }
+
+    @Name("com.hangman.GameStarted")
+    @Label("Game Started")
+    @Description("A new word was picked and its countdown started; the duration is resetGame")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class GameStarted extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Word Id")
+        int wordId;
+        @Label("Category")
+        String category;
+        @Label("Word Length")
+        int wordLength;
+        @Label("Level")
+        int level;
+    }
+
+    @Name("com.hangman.Guess")
+    @Label("Guess")
+    @Description("A call to makeGuess, including repeated and rejected guesses")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    @Threshold(GUESS_THRESHOLD)
+    public static final class Guess extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Letter")
+        char letter;
+        @Label("Hit")
+        boolean hit;
+        @Label("Wrong Guesses")
+        int wrongGuesses;
+    }
+
+    @Name("com.hangman.HintUsed")
+    @Label("Hint Used")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class HintUsed extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Hints Used")
+        int hintsUsed;
+    }
+
+    @Name("com.hangman.TimerPaused")
+    @Label("Timer Paused")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class TimerPaused extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Time Remaining")
+        @Timespan(Timespan.MILLISECONDS)
+        long remaining;
+    }
+
+    @Name("com.hangman.TimerResumed")
+    @Label("Timer Resumed")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class TimerResumed extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Time Remaining")
+        @Timespan(Timespan.MILLISECONDS)
+        long remaining;
+    }
+
+    @Name("com.hangman.TimedOut")
+    @Label("Timed Out")
+    @Description("The countdown ran out before the word was solved")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class TimedOut extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Word Id")
+        int wordId;
+        @Label("Letters Guessed")
+        int guesses;
+    }
+
+    @Name("com.hangman.GameOver")
+    @Label("Game Over")
+    @Description("A game was won, lost or timed out")
+    @Category({"Hangman", "Engine"})
+    @StackTrace(false)
+    public static final class GameOver extends Event {
+        @Label("Session")
+        long sessionId;
+        @Label("Won")
+        boolean won;
+        @Label("Points")
+        int points;
+        @Label("Score")
+        int score;
+        @Label("Wrong Guesses")
+        int wrongGuesses;
+        @Label("Time Remaining")
+        @Timespan(Timespan.MILLISECONDS)
+        long remaining;
+    }
+
+    @Name("com.hangman.UiAction")
+    @Label("UI Action")
+    @Description("Handling of a guess, pause, resume or new game on the FX thread, not counting dialogs")
+    @Category({"Hangman", "UI"})
+    @StackTrace(false)
+    @Threshold(UI_THRESHOLD)
+    public static final class UiAction extends Event {
+        @Label("Action")
+        String action;
+    }
+}
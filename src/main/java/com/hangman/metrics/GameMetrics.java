@@ -0,0 +1,180 @@
+package com.hangman.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms for the game engine and the
+ * desktop UI.
+ *
+ * <p>Off unless the JVM is started with {@code -Dhangman.metrics=true}. The switch
+ * is read once into a {@code static final} field, so when it is off every call
+ * below is an empty method that the JIT compiles away, and the instrumented code
+ * does not even read the clock. When on, counters are {@link LongAdder}s, so games
+ * on many threads do not contend on them, and durations go into
+ * {@link LatencyHistogram}s, so nothing is allocated while recording.
+ *
+ * <p>{@link #snapshot()} returns the current values. With metrics on, a daemon
+ * thread also prints what happened in each interval, by default every minute;
+ * set {@code -Dhangman.metrics.interval=<seconds>} to change it, 0 to turn the
+ * log off.
+ *
+ * <pre>
+ * long start = GameMetrics.start();
+ * ...
+ * GameMetrics.stop(GameMetrics.Timer.MAKE_GUESS, start);
+ * </pre>
+ */
+public final class GameMetrics {
+
+    public static final String PROPERTY = "hangman.metrics";
+    public static final String INTERVAL_PROPERTY = "hangman.metrics.interval";
+    private static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    /** Whether metrics are recorded at all. */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * The timed operations.
+     */
+    public enum Timer {
+        MAKE_GUESS("makeGuess"),
+        RESET_GAME("resetGame"),
+        UPDATE_UI("updateUI"),
+        DRAW_HANGMAN("drawHangman");
+
+        private final String label;
+
+        Timer(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the name of the timed method.
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[Timer.values().length];
+    private static final LongAdder STARTED = new LongAdder();
+    private static final LongAdder WON = new LongAdder();
+    private static final LongAdder LOST = new LongAdder();
+    private static final LongAdder TIMED_OUT = new LongAdder();
+    private static final LongAdder ABANDONED = new LongAdder();
+    private static final LongAdder GUESSES = new LongAdder();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder HINTS = new LongAdder();
+
+    static {
+        for (int i = 0; i < LATENCIES.length; i++) {
+            LATENCIES[i] = new LatencyHistogram();
+        }
+        if (ENABLED) {
+            long interval = Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS);
+            if (interval > 0) {
+                Thread logger = new Thread(() -> log(TimeUnit.SECONDS.toMillis(interval)), "hangman-metrics");
+                logger.setDaemon(true);
+                logger.start();
+            }
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    /**
+     * Returns the start time to pass to {@link #stop}, or 0 when metrics are off.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@code start} under the timer.
+     */
+    public static void stop(Timer timer, long start) {
+        if (ENABLED) {
+            LATENCIES[timer.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static void gameStarted() {
+        if (ENABLED) {
+            STARTED.increment();
+        }
+    }
+
+    public static void gameWon() {
+        if (ENABLED) {
+            WON.increment();
+        }
+    }
+
+    public static void gameLost() {
+        if (ENABLED) {
+            LOST.increment();
+        }
+    }
+
+    public static void gameTimedOut() {
+        if (ENABLED) {
+            TIMED_OUT.increment();
+        }
+    }
+
+    /**
+     * Counts a game replaced or shut down before it was over.
+     */
+    public static void gameAbandoned() {
+        if (ENABLED) {
+            ABANDONED.increment();
+        }
+    }
+
+    /**
+     * Counts an accepted guess.
+     */
+    public static void guessMade(boolean hit) {
+        if (ENABLED) {
+            GUESSES.increment();
+            if (hit) {
+                HITS.increment();
+            }
+        }
+    }
+
+    public static void hintUsed() {
+        if (ENABLED) {
+            HINTS.increment();
+        }
+    }
+
+    /**
+     * Returns the counters and histograms as they are now, all zero when metrics
+     * are off.
+     */
+    public static MetricsSnapshot snapshot() {
+        LatencyHistogram.Snapshot[] latencies = new LatencyHistogram.Snapshot[LATENCIES.length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = LATENCIES[i].snapshot();
+        }
+        return new MetricsSnapshot(STARTED.sum(), WON.sum(), LOST.sum(), TIMED_OUT.sum(), ABANDONED.sum(),
+            GUESSES.sum(), HITS.sum(), HINTS.sum(), latencies);
+    }
+
+    private static void log(long intervalMillis) {
+        MetricsSnapshot previous = snapshot();
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            MetricsSnapshot current = snapshot();
+            System.out.println("[metrics] " + current.since(previous).format());
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hangman.metrics;
+
+import java.util.Locale;
+
+/**
+ * The {@link GameMetrics} counters and latency histograms at one moment, or what
+ * changed between two moments.
+ */
+public final class MetricsSnapshot {
+
+    private final long started;
+    private final long won;
+    private final long lost;
+    private final long timedOut;
+    private final long abandoned;
+    private final long guesses;
+    private final long hits;
+    private final long hints;
+    private final long running;
+    private final LatencyHistogram.Snapshot[] latencies;
+
+    MetricsSnapshot(long started, long won, long lost, long timedOut, long abandoned, long guesses, long hits,
+                    long hints, LatencyHistogram.Snapshot[] latencies) {
+        this(started, won, lost, timedOut, abandoned, guesses, hits, hints,
+            started - won - lost - timedOut - abandoned, latencies);
+    }
+
+    private MetricsSnapshot(long started, long won, long lost, long timedOut, long abandoned, long guesses,
+                            long hits, long hints, long running, LatencyHistogram.Snapshot[] latencies) {
+        this.started = started;
+        this.won = won;
+        this.lost = lost;
+        this.timedOut = timedOut;
+        this.abandoned = abandoned;
+        this.guesses = guesses;
+        this.hits = hits;
+        this.hints = hints;
+        this.running = running;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Returns what happened after an earlier snapshot. The number of running
+     * games is this snapshot's.
+     */
+    public MetricsSnapshot since(MetricsSnapshot earlier) {
+        LatencyHistogram.Snapshot[] delta = new LatencyHistogram.Snapshot[latencies.length];
+        for (int i = 0; i < delta.length; i++) {
+            delta[i] = latencies[i].since(earlier.latencies[i]);
+        }
+        return new MetricsSnapshot(started - earlier.started, won - earlier.won, lost - earlier.lost,
+            timedOut - earlier.timedOut, abandoned - earlier.abandoned, guesses - earlier.guesses,
+            hits - earlier.hits, hints - earlier.hints, running, delta);
+    }
+
+    public long getGamesStarted() {
+        return started;
+    }
+
+    public long getGamesWon() {
+        return won;
+    }
+
+    public long getGamesLost() {
+        return lost;
+    }
+
+    public long getGamesTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Returns how many games were replaced or shut down before they were over.
+     */
+    public long getGamesAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * Returns how many games have started and are not over yet.
+     */
+    public long getRunningGames() {
+        return running;
+    }
+
+    /**
+     * Returns the number of accepted guesses.
+     */
+    public long getGuesses() {
+        return guesses;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getHints() {
+        return hints;
+    }
+
+    public LatencyHistogram.Snapshot getLatency(GameMetrics.Timer timer) {
+        return latencies[timer.ordinal()];
+    }
+
+    /**
+     * Returns a one-line, human-readable summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT,
+            "games %,d running, %,d started, %,d won, %,d lost, %,d timed out, %,d abandoned;"
+                + " guesses %,d (%,d hits), hints %,d",
+            running, started, won, lost, timedOut, abandoned, guesses, hits, hints));
+        for (GameMetrics.Timer timer : GameMetrics.Timer.values()) {
+            LatencyHistogram.Snapshot latency = latencies[timer.ordinal()];
+            if (latency.getCount() > 0) {
+                out.append("; ").append(timer.label())
+                    .append(String.format(Locale.ROOT, " n=%,d", latency.getCount()))
+                    .append(" p50 ").append(duration(latency.getPercentileNanos(50)))
+                    .append(" p99 ").append(duration(latency.getPercentileNanos(99)))
+                    .append(" max ").append(duration(latency.getMaxNanos()));
+            }
+        }
+        return out.toString();
+    }
+
+    private static String duration(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+        }
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,32 @@
+package com.hangman.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * State of one client connection, touched only by its event loop's thread.
+ *
+ * <p>Requests are read into and responses encoded in buffers shared by the whole
+ * loop, so an idle connection holds no buffers at all; only bytes that could not
+ * be handled right away are copied here.
+ */
+final class Connection {
+
+    final SocketChannel channel;
+    SelectionKey key;
+    // The connection's game in the server's registry, or 0 before the first one;
+    // looked up per request, so an evicted game is noticed
+    long sessionId;
+    // Received bytes not yet handled: an incomplete frame, or whole frames
+    // held back while output is pending or a hint is being computed
+    byte[] unread;
+    // Response bytes the socket did not take yet
+    ByteBuffer unsent;
+    // Waiting for a hint; later requests are held back so responses stay in order
+    boolean awaitingHint;
+
+    Connection(SocketChannel channel) {
+        this.channel = channel;
+    }
+}
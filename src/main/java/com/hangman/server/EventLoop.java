@@ -0,0 +1,355 @@
+package com.hangman.server;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.solver.HintEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.hangman.server.GameProtocol.*;
+
+/**
+ * One selector thread serving a share of the server's connections.
+ *
+ * <p>All reads go through one buffer and all responses are encoded into another,
+ * so a loop needs the same memory for ten connections as for ten thousand. Every
+ * complete request in a read is handled before the responses go out in a single
+ * write. When a client does not keep up, its leftover output is parked on the
+ * connection and the loop stops reading from it until the output has drained.
+ */
+final class EventLoop implements Runnable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GameServer server;
+    private final Selector selector;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final GameLogic.Snapshot snapshot = new GameLogic.Snapshot();
+    private volatile boolean running = true;
+
+    EventLoop(GameServer server, int index) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, "game-server-" + index);
+    }
+
+    Selector selector() {
+        return selector;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Runs a task on this loop's thread.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Takes over a newly accepted connection.
+     */
+    void adopt(SocketChannel channel) {
+        execute(() -> {
+            Connection connection = new Connection(channel);
+            try {
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                server.connectionOpened();
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Game server loop failed: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    close((Connection) key.attachment());
+                }
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            server.acceptPending();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable()) {
+                writeUnsent(connection);
+            } else if (key.isReadable()) {
+                read(connection);
+            }
+        } catch (IOException e) {
+            close(connection);
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        in.clear();
+        if (connection.unread != null) {
+            in.put(connection.unread);
+            connection.unread = null;
+        }
+        if (connection.channel.read(in) < 0) {
+            close(connection);
+            return;
+        }
+        in.flip();
+        process(connection);
+    }
+
+    private void writeUnsent(Connection connection) throws IOException {
+        connection.channel.write(connection.unsent);
+        if (connection.unsent.hasRemaining()) {
+            return;
+        }
+        connection.unsent = null;
+        resume(connection);
+    }
+
+    // Handles requests held back while output was pending or a hint was computed
+    private void resume(Connection connection) throws IOException {
+        in.clear();
+        if (connection.unread != null) {
+            in.put(connection.unread);
+            connection.unread = null;
+        }
+        in.flip();
+        process(connection);
+    }
+
+    // Handles every complete request in the input buffer, then sends the responses
+    private void process(Connection connection) throws IOException {
+        out.clear();
+        while (!connection.awaitingHint && in.remaining() >= LENGTH_SIZE) {
+            int length = Short.toUnsignedInt(in.getShort(in.position()));
+            if (length == 0 || length > MAX_REQUEST) {
+                throw new IOException("Bad request length " + length);
+            }
+            if (in.remaining() < LENGTH_SIZE + length) {
+                break;
+            }
+            if (out.remaining() < LENGTH_SIZE + MAX_RESPONSE && !send(connection)) {
+                break;
+            }
+            int start = in.position() + LENGTH_SIZE;
+            in.position(start + length);
+            dispatch(connection, start, length);
+            server.requestHandled();
+        }
+        if (in.hasRemaining()) {
+            connection.unread = new byte[in.remaining()];
+            in.get(connection.unread);
+        }
+        send(connection);
+        updateInterest(connection);
+    }
+
+    // Writes the output buffer, parking what the socket does not take. Returns
+    // whether everything went out.
+    private boolean send(Connection connection) throws IOException {
+        out.flip();
+        if (out.hasRemaining()) {
+            connection.channel.write(out);
+            if (out.hasRemaining()) {
+                connection.unsent = ByteBuffer.allocate(out.remaining());
+                connection.unsent.put(out).flip();
+            }
+        }
+        out.clear();
+        return connection.unsent == null;
+    }
+
+    private void updateInterest(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        int ops = connection.unsent != null ? SelectionKey.OP_WRITE
+            : connection.awaitingHint ? 0
+            : SelectionKey.OP_READ;
+        if (connection.key.interestOps() != ops) {
+            connection.key.interestOps(ops);
+        }
+    }
+
+    private void dispatch(Connection connection, int start, int length) {
+        int opcode = in.get(start);
+        if (opcode == NEW_GAME) {
+            newGame(connection, start + 1, length - 1);
+            return;
+        }
+        GameLogic game = server.getSessions().get(connection.sessionId);
+        if (game == null) {
+            writeStatus(out, opcode, NO_GAME);
+            return;
+        }
+        synchronized (game) {
+            switch (opcode) {
+                case GUESS:
+                    if (length != 2) {
+                        writeStatus(out, opcode, BAD_REQUEST);
+                        return;
+                    }
+                    boolean hit = game.makeGuess((char) in.get(start + 1));
+                    writeState(out, opcode, game.snapshot(snapshot), hit, (char) 0);
+                    return;
+                case HINT:
+                    requestHint(connection, game);
+                    return;
+                case PAUSE:
+                    game.pauseTimer();
+                    writeState(out, opcode, game.snapshot(snapshot), false, (char) 0);
+                    return;
+                case RESUME:
+                    game.resumeTimer();
+                    writeState(out, opcode, game.snapshot(snapshot), false, (char) 0);
+                    return;
+                case STATE:
+                    writeState(out, opcode, game.snapshot(snapshot), false, (char) 0);
+                    return;
+                default:
+                    writeStatus(out, opcode, BAD_REQUEST);
+            }
+        }
+    }
+
+    private void newGame(Connection connection, int start, int length) {
+        String category = length > 0 ? asciiString(start, length) : null;
+        GameLogic game = server.getSessions().get(connection.sessionId);
+        try {
+            if (game == null) {
+                game = server.newGame();
+                connection.sessionId = game.getSessionId();
+                // A new game is already started
+                if (category != null) {
+                    game.resetGame(category);
+                }
+            } else {
+                game.resetGame(category);
+            }
+        } catch (IllegalArgumentException e) {
+            writeStatus(out, NEW_GAME, BAD_REQUEST);
+            return;
+        }
+        synchronized (game) {
+            writeState(out, NEW_GAME, game.snapshot(snapshot), false, (char) 0);
+        }
+    }
+
+    private String asciiString(int start, int length) {
+        byte[] bytes = new byte[length];
+        in.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Hints are ranked on the hint engine's threads. A cached hint is answered in
+    // line; otherwise the connection stops reading until the hint arrives.
+    private void requestHint(Connection connection, GameLogic game) {
+        if (!game.canUseHint() || game.isGameOver()) {
+            writeStatus(out, HINT, NO_HINTS);
+            return;
+        }
+        int wordId = game.getWordId();
+        int guessedMask = game.getGuessedMask();
+        CompletableFuture<HintEngine.Hint> hint = server.hints().hint(wordId, guessedMask);
+        if (hint.isDone()) {
+            answerHint(game, wordId, guessedMask, hint.getNow(null));
+            return;
+        }
+        connection.awaitingHint = true;
+        hint.whenComplete((result, error) -> execute(() -> {
+            if (!connection.key.isValid()) {
+                return;
+            }
+            connection.awaitingHint = false;
+            out.clear();
+            answerHint(game, wordId, guessedMask, result);
+            try {
+                if (send(connection)) {
+                    resume(connection);
+                } else {
+                    updateInterest(connection);
+                }
+            } catch (IOException e) {
+                close(connection);
+            }
+        }));
+    }
+
+    private void answerHint(GameLogic game, int wordId, int guessedMask, HintEngine.Hint hint) {
+        synchronized (game) {
+            if (game.getWordId() != wordId || game.getGuessedMask() != guessedMask || !game.canUseHint()) {
+                writeStatus(out, HINT, NO_HINTS);
+                return;
+            }
+            char letter = hint != null && hint.hasLetter() ? hint.getLetter() : firstUnguessedLetter(game);
+            game.incrementHintCount();
+            writeState(out, HINT, game.snapshot(snapshot), false, letter);
+        }
+    }
+
+    // Fallback when the hint engine is unavailable, e.g. its queue is full
+    static char firstUnguessedLetter(GameLogic game) {
+        int remaining = game.getWordMask() & ~game.getGuessedMask();
+        return remaining != 0 ? LetterMask.letter(Integer.numberOfTrailingZeros(remaining)) : 0;
+    }
+
+    private void close(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        connection.key.cancel();
+        closeQuietly(connection.channel);
+        if (connection.sessionId != 0) {
+            server.gameEnded(connection.sessionId);
+            connection.sessionId = 0;
+        }
+        server.connectionClosed();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.hangman.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JSON bodies of the {@link HttpGameServer}.
+ *
+ * <p>Game states are written field by field with Jackson's streaming generator by
+ * a hand-written serializer, so no reflection or intermediate tree is involved,
+ * and through {@link ObjectWriter}s built once and shared by every request. A
+ * state looks like:
+ * <pre>
+ * {"session":123,"word":"_E_E__","category":"Animals","guessed":"EST",
+ *  "wrongGuesses":2,"maxWrongGuesses":6,"hintsUsed":0,"maxHints":3,
+ *  "timeRemainingMillis":51200,"paused":false,"gameOver":false,"won":false,
+ *  "score":0,"level":0,"hit":true}
+ * </pre>
+ * {@code hit} is only present after a guess and {@code hint} only after a hint.
+ * Unguessed letters of the word are shown as {@code _} until the game is over.
+ */
+final class GameJson {
+
+    private final ObjectWriter stateWriter;
+    private final ObjectWriter errorWriter;
+
+    GameJson() {
+        SimpleModule module = new SimpleModule("hangman");
+        module.addSerializer(new StateSerializer());
+        module.addSerializer(new ErrorSerializer());
+        ObjectMapper mapper = new ObjectMapper().registerModule(module);
+        this.stateWriter = mapper.writerFor(State.class);
+        this.errorWriter = mapper.writerFor(Error.class);
+    }
+
+    /**
+     * Writes a game's state, as of one moment.
+     *
+     * @param hit 1 or 0 for the result of a guess, -1 if this was not a guess
+     * @param hint the hint letter, or 0 if this was not a hint
+     */
+    void writeState(OutputStream out, GameLogic game, int hit, char hint) throws IOException {
+        stateWriter.writeValue(out, new State(game.snapshot(), hit, hint));
+    }
+
+    void writeError(OutputStream out, String message) throws IOException {
+        errorWriter.writeValue(out, new Error(message));
+    }
+
+    private static final class State {
+        final GameLogic.Snapshot game;
+        final int hit;
+        final char hint;
+
+        State(GameLogic.Snapshot game, int hit, char hint) {
+            this.game = game;
+            this.hit = hit;
+            this.hint = hint;
+        }
+    }
+
+    private static final class Error {
+        final String message;
+
+        Error(String message) {
+            this.message = message;
+        }
+    }
+
+    private static final class StateSerializer extends StdSerializer<State> {
+        private static final long serialVersionUID = 1L;
+
+        StateSerializer() {
+            super(State.class);
+        }
+
+        @Override
+        public void serialize(State state, JsonGenerator json, SerializerProvider provider) throws IOException {
+            GameLogic.Snapshot game = state.game;
+            boolean over = game.isGameOver();
+            json.writeStartObject();
+            json.writeNumberField("session", game.getSessionId());
+            writeWord(json, game.getWord(), game.getGuessedMask(), over);
+            json.writeStringField("category", game.getCategory());
+            writeGuessed(json, game.getGuessedMask());
+            json.writeNumberField("wrongGuesses", game.getWrongGuesses());
+            json.writeNumberField("maxWrongGuesses", game.getMaxWrongGuesses());
+            json.writeNumberField("hintsUsed", game.getHintCount());
+            json.writeNumberField("maxHints", game.getMaxHints());
+            json.writeNumberField("timeRemainingMillis", game.getTimeRemainingMillis());
+            json.writeBooleanField("paused", game.isTimerPaused());
+            json.writeBooleanField("gameOver", over);
+            json.writeBooleanField("won", game.isGameWon());
+            json.writeNumberField("score", game.getScore());
+            json.writeNumberField("level", game.getLevel());
+            if (state.hit >= 0) {
+                json.writeBooleanField("hit", state.hit == 1);
+            }
+            if (state.hint != 0) {
+                json.writeFieldName("hint");
+                json.writeString(new char[] {state.hint}, 0, 1);
+            }
+            json.writeEndObject();
+        }
+
+        private static void writeWord(JsonGenerator json, String word, int guessedMask, boolean over) throws IOException {
+            char[] shown = new char[word.length()];
+            for (int i = 0; i < shown.length; i++) {
+                char c = word.charAt(i);
+                int bit = LetterMask.bit(c);
+                shown[i] = bit != 0 && !over && (guessedMask & bit) == 0 ? '_' : c;
+            }
+            json.writeFieldName("word");
+            json.writeString(shown, 0, shown.length);
+        }
+
+        private static void writeGuessed(JsonGenerator json, int guessedMask) throws IOException {
+            char[] letters = new char[Integer.bitCount(guessedMask)];
+            int remaining = guessedMask;
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = LetterMask.letter(Integer.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+            json.writeFieldName("guessed");
+            json.writeString(letters, 0, letters.length);
+        }
+    }
+
+    private static final class ErrorSerializer extends StdSerializer<Error> {
+        private static final long serialVersionUID = 1L;
+
+        ErrorSerializer() {
+            super(Error.class);
+        }
+
+        @Override
+        public void serialize(Error error, JsonGenerator json, SerializerProvider provider) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("error", error.message);
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hangman.server;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the game server.
+ *
+ * <p>Every message is a frame: an unsigned 16-bit body length followed by the
+ * body, whose first byte is an opcode. Numbers are big-endian. Requests:
+ * <pre>
+ *   NEW_GAME  [category, US-ASCII, optional]   start a game, in a category if given
+ *   GUESS     letter                           guess a letter A-Z
+ *   HINT                                       use a hint
+ *   PAUSE                                      pause the countdown
+ *   RESUME                                     resume the countdown
+ *   STATE                                      read the game state
+ * </pre>
+ * Clients may pipeline requests; every request gets exactly one response, in
+ * order. A response echoes the request opcode, then a status byte, then for
+ * {@link #OK} the game state:
+ * <pre>
+ *   0  byte   opcode of the request
+ *   1  byte   status
+ *   2  byte   flags: GAME_OVER, WON, PAUSED, HIT (the guess was in the word)
+ *   3  byte   wrong guesses
+ *   4  byte   hints used
+ *   5  byte   hint letter (HINT only, else 0)
+ *   6  int    total score
+ *  10  int    level
+ *  14  int    milliseconds left
+ *  18  int    guessed letters, bit 0 = 'A'
+ *  22  long   session id
+ *  30  byte   word length n
+ *  31  n      word with unguessed letters as '_', fully shown once the game is over
+ * </pre>
+ * Responses with any other status are just the first two bytes.
+ */
+public final class GameProtocol {
+
+    public static final int NEW_GAME = 1;
+    public static final int GUESS = 2;
+    public static final int HINT = 3;
+    public static final int PAUSE = 4;
+    public static final int RESUME = 5;
+    public static final int STATE = 6;
+
+    // Response statuses
+    public static final int OK = 0;
+    /** The connection has not started a game yet. */
+    public static final int NO_GAME = 1;
+    /** Unknown opcode or malformed payload, e.g. an unknown category. */
+    public static final int BAD_REQUEST = 2;
+    public static final int NO_HINTS = 3;
+
+    // Response flags
+    public static final int GAME_OVER = 1;
+    public static final int WON = 2;
+    public static final int PAUSED = 4;
+    public static final int HIT = 8;
+
+    /** Length prefix of every frame. */
+    public static final int LENGTH_SIZE = 2;
+    /** Largest request body the server accepts. */
+    public static final int MAX_REQUEST = 256;
+    /** Largest response body, for the longest word a frame can describe. */
+    public static final int MAX_RESPONSE = 31 + 255;
+    static final int STATE_HEADER = 31;
+    static final int WORD_LENGTH = 30;
+
+    private GameProtocol() {
+    }
+
+    /**
+     * Writes a response frame without game state.
+     */
+    static void writeStatus(ByteBuffer out, int opcode, int status) {
+        out.putShort((short) 2).put((byte) opcode).put((byte) status);
+    }
+
+    /**
+     * Writes an {@link #OK} response frame with a game's state.
+     */
+    static void writeState(ByteBuffer out, int opcode, GameLogic.Snapshot game, boolean hit, char hintLetter) {
+        String word = game.getWord();
+        int length = Math.min(word.length(), 255);
+        boolean over = game.isGameOver();
+        int flags = (over ? GAME_OVER : 0)
+            | (game.isGameWon() ? WON : 0)
+            | (game.isTimerPaused() ? PAUSED : 0)
+            | (hit ? HIT : 0);
+        int guessed = game.getGuessedMask();
+        out.putShort((short) (STATE_HEADER + length))
+            .put((byte) opcode)
+            .put((byte) OK)
+            .put((byte) flags)
+            .put((byte) game.getWrongGuesses())
+            .put((byte) game.getHintCount())
+            .put((byte) hintLetter)
+            .putInt(game.getScore())
+            .putInt(game.getLevel())
+            .putInt((int) Math.min(Integer.MAX_VALUE, game.getTimeRemainingMillis()))
+            .putInt(guessed)
+            .putLong(game.getSessionId())
+            .put((byte) length);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            int bit = LetterMask.bit(c);
+            if (bit != 0 && !over && (guessed & bit) == 0) {
+                c = '_';
+            }
+            out.put((byte) (c < 0x80 ? c : '?'));
+        }
+    }
+
+    /**
+     * Writes a request frame with no payload.
+     */
+    public static void writeRequest(ByteBuffer out, int opcode) {
+        out.putShort((short) 1).put((byte) opcode);
+    }
+
+    /**
+     * Writes a {@link #GUESS} request frame.
+     */
+    public static void writeGuess(ByteBuffer out, char letter) {
+        out.putShort((short) 2).put((byte) GUESS).put((byte) letter);
+    }
+}
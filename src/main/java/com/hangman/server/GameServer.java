@@ -0,0 +1,177 @@
+package com.hangman.server;
+
+import com.hangman.GameClock;
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.solver.HintEngine;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts games for remote clients over TCP, speaking {@link GameProtocol}.
+ *
+ * <p>A fixed set of event loops, one thread each, serve all connections with
+ * non-blocking I/O; the first loop also accepts connections and deals them out
+ * round-robin. Nothing is allocated per connection beyond its game, so the number
+ * of clients is bounded by file descriptors rather than threads or buffers. Each
+ * connection plays one {@link GameLogic} at a time, tracked in a
+ * {@link SessionRegistry} and looked up there on every request; a game left idle
+ * past its time limit is evicted, and the connection's next request other than
+ * {@link GameProtocol#NEW_GAME} is answered with {@link GameProtocol#NO_GAME}.
+ * Countdowns run on the shared timer wheel as in the desktop game.
+ */
+public final class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7070;
+    private static final int BACKLOG = 4096;
+
+    private final Dictionary dictionary;
+    private final GameEventListener listener;
+    private final HintEngine hints;
+    private final SessionRegistry sessions = new SessionRegistry();
+    private final ServerSocketChannel acceptor;
+    private final EventLoop[] loops;
+    // Only touched by the first loop, which does the accepting
+    private int nextLoop;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+
+    private GameServer(Dictionary dictionary, InetSocketAddress address, int threads,
+                       GameEventListener listener) throws IOException {
+        this.dictionary = dictionary;
+        this.listener = listener;
+        this.hints = new HintEngine(dictionary);
+        this.acceptor = ServerSocketChannel.open();
+        this.loops = new EventLoop[threads];
+        try {
+            acceptor.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            acceptor.bind(address, BACKLOG);
+            acceptor.configureBlocking(false);
+            for (int i = 0; i < threads; i++) {
+                loops[i] = new EventLoop(this, i);
+            }
+            acceptor.register(loops[0].selector(), SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            acceptor.close();
+            hints.shutdown();
+            throw e;
+        }
+        for (EventLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    /**
+     * Starts a server on the given address with one event loop per thread. Games
+     * draw words from the dictionary and report to the listener.
+     */
+    public static GameServer start(Dictionary dictionary, InetSocketAddress address, int threads,
+                                   GameEventListener listener) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        return new GameServer(dictionary, address, threads, listener);
+    }
+
+    /**
+     * Returns the port the server listens on, useful when started on port 0.
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) acceptor.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("Server is closed", e);
+        }
+    }
+
+    public SessionRegistry getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the number of open connections.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Returns the number of requests handled so far.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Stops accepting, closes every connection and waits for the event loops to
+     * finish. The listener is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        acceptor.close();
+        try {
+            for (EventLoop loop : loops) {
+                loop.stop();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            hints.shutdown();
+            sessions.close();
+        }
+    }
+
+    HintEngine hints() {
+        return hints;
+    }
+
+    // Called on the first loop whenever connections are waiting
+    void acceptPending() {
+        try {
+            SocketChannel channel;
+            while ((channel = acceptor.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[nextLoop].adopt(channel);
+                nextLoop = (nextLoop + 1) % loops.length;
+            }
+        } catch (IOException e) {
+            // Usually out of file descriptors; pending connections wait for the next round
+            System.err.println("Could not accept connection: " + e.getMessage());
+        }
+    }
+
+    GameLogic newGame() {
+        GameLogic game = new GameLogic(dictionary, GameClock.system(), ThreadLocalRandom.current().nextLong(), listener);
+        sessions.register(game);
+        return game;
+    }
+
+    void gameEnded(long sessionId) {
+        GameLogic game = sessions.remove(sessionId);
+        if (game != null) {
+            game.shutdown();
+        }
+    }
+
+    void connectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    void connectionClosed() {
+        connections.decrementAndGet();
+    }
+
+    void requestHandled() {
+        requests.increment();
+    }
+}
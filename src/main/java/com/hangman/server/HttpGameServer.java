@@ -0,0 +1,309 @@
+package com.hangman.server;
+
+import com.hangman.GameClock;
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.solver.HintEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts games over HTTP with JSON bodies, on the JDK's built-in HTTP server.
+ *
+ * <pre>
+ *   POST   /games[?category=NAME]           start a session; 201 with its state
+ *   GET    /games/{session}                 the session's state
+ *   POST   /games/{session}/new[?category=] start the next game
+ *   POST   /games/{session}/guess?letter=E  guess a letter
+ *   POST   /games/{session}/hint            use a hint; 409 if none are left
+ *   POST   /games/{session}/pause           pause the countdown
+ *   POST   /games/{session}/resume          resume the countdown
+ *   DELETE /games/{session}                 end the session
+ * </pre>
+ *
+ * Bodies are described in {@link GameJson}; errors are {@code {"error":"..."}}.
+ * A session not used for {@link GameLogic#TIME_LIMIT} seconds is evicted and
+ * answers 404 from then on.
+ *
+ * <p>Every request runs on its own virtual thread where the runtime has them
+ * (Java 21 and later), so a request waiting for a hint to be ranked blocks only
+ * itself; on older runtimes requests share a cached pool of platform threads.
+ */
+public final class HttpGameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 4096;
+    private static final long HINT_TIMEOUT_MILLIS = 2000;
+    private static final String PREFIX = "/games";
+
+    static {
+        // The built-in server writes headers and body separately; with Nagle's
+        // algorithm on, every response then waits out the client's delayed ACK
+        defaultProperty("sun.net.httpserver.nodelay", "true");
+        // Players think between requests, so most connections are idle at any
+        // moment; the default keeps only 200 of them open
+        defaultProperty("sun.net.httpserver.maxIdleConnections", "100000");
+    }
+
+    private final Dictionary dictionary;
+    private final GameEventListener listener;
+    private final HintEngine hints;
+    private final SessionRegistry sessions = new SessionRegistry();
+    private final GameJson json = new GameJson();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+
+    private HttpGameServer(Dictionary dictionary, InetSocketAddress address, GameEventListener listener) throws IOException {
+        this.dictionary = dictionary;
+        this.listener = listener;
+        this.hints = new HintEngine(dictionary);
+        this.executor = virtualThreadExecutor("http-game-");
+        try {
+            this.server = HttpServer.create(address, BACKLOG);
+        } catch (IOException e) {
+            executor.shutdown();
+            hints.shutdown();
+            throw e;
+        }
+        server.createContext(PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Starts a server on the given address. Games draw words from the dictionary
+     * and report to the listener.
+     */
+    public static HttpGameServer start(Dictionary dictionary, InetSocketAddress address,
+                                       GameEventListener listener) throws IOException {
+        return new HttpGameServer(dictionary, address, listener);
+    }
+
+    // One virtual thread per task where available. Looked up reflectively so the
+    // code still compiles and runs on Java 17.
+    static ExecutorService virtualThreadExecutor(String threadPrefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, threadPrefix + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static void defaultProperty(String name, String value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, value);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public SessionRegistry getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the number of requests handled so far.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for requests in progress, and ends
+     * every session. The listener is left open.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        hints.shutdown();
+        sessions.close();
+        sessions.forEach(this::endSession);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        int status;
+        try {
+            status = route(exchange, body);
+        } catch (IllegalArgumentException e) {
+            body.reset();
+            status = error(body, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            body.reset();
+            status = error(body, 500, e.toString());
+        }
+        requests.increment();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.size() == 0 ? -1 : body.size());
+        if (body.size() > 0) {
+            body.writeTo(exchange.getResponseBody());
+        }
+        exchange.close();
+    }
+
+    // Writes the response body and returns the status code
+    private int route(HttpExchange exchange, ByteArrayOutputStream body) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (path.equals(PREFIX) || path.equals(PREFIX + "/")) {
+            if (!method.equals("POST")) {
+                return error(body, 405, "Use POST to start a session");
+            }
+            GameLogic game = newGame(parameter(query, "category"));
+            return state(body, 201, game, -1, (char) 0);
+        }
+
+        int slash = path.indexOf('/', PREFIX.length() + 1);
+        String id = slash < 0 ? path.substring(PREFIX.length() + 1) : path.substring(PREFIX.length() + 1, slash);
+        String action = slash < 0 ? "" : path.substring(slash + 1);
+        GameLogic game;
+        try {
+            game = sessions.get(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            game = null;
+        }
+        if (game == null) {
+            return error(body, 404, "No session " + id);
+        }
+
+        if (action.isEmpty()) {
+            switch (method) {
+                case "GET":
+                    return state(body, 200, game, -1, (char) 0);
+                case "DELETE":
+                    endSession(game);
+                    return 204;
+                default:
+                    return error(body, 405, "Use GET or DELETE on a session");
+            }
+        }
+        if (!method.equals("POST")) {
+            return error(body, 405, "Use POST for " + action);
+        }
+        switch (action) {
+            case "new":
+                game.resetGame(parameter(query, "category"));
+                return state(body, 200, game, -1, (char) 0);
+            case "guess": {
+                String letter = parameter(query, "letter");
+                if (letter == null || letter.length() != 1) {
+                    return error(body, 400, "Give one letter, e.g. ?letter=E");
+                }
+                synchronized (game) {
+                    boolean hit = game.makeGuess(letter.charAt(0));
+                    return state(body, 200, game, hit ? 1 : 0, (char) 0);
+                }
+            }
+            case "hint":
+                return hint(body, game);
+            case "pause":
+                game.pauseTimer();
+                return state(body, 200, game, -1, (char) 0);
+            case "resume":
+                game.resumeTimer();
+                return state(body, 200, game, -1, (char) 0);
+            default:
+                return error(body, 404, "Unknown action " + action);
+        }
+    }
+
+    // Waits for the hint engine; on a virtual thread that costs no platform thread
+    private int hint(ByteArrayOutputStream body, GameLogic game) throws IOException {
+        int wordId;
+        int guessedMask;
+        synchronized (game) {
+            if (!game.canUseHint() || game.isGameOver()) {
+                return error(body, 409, "No hints left");
+            }
+            wordId = game.getWordId();
+            guessedMask = game.getGuessedMask();
+        }
+        HintEngine.Hint hint;
+        try {
+            hint = hints.hint(wordId, guessedMask).get(HINT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            hint = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hint = null;
+        }
+        synchronized (game) {
+            if (game.getWordId() != wordId || game.getGuessedMask() != guessedMask || !game.canUseHint()) {
+                return error(body, 409, "The game changed while the hint was computed");
+            }
+            char letter = hint != null && hint.hasLetter() ? hint.getLetter() : EventLoop.firstUnguessedLetter(game);
+            game.incrementHintCount();
+            return state(body, 200, game, -1, letter);
+        }
+    }
+
+    private int state(ByteArrayOutputStream body, int status, GameLogic game, int hit, char hint) throws IOException {
+        synchronized (game) {
+            json.writeState(body, game, hit, hint);
+        }
+        return status;
+    }
+
+    private int error(ByteArrayOutputStream body, int status, String message) throws IOException {
+        json.writeError(body, message);
+        return status;
+    }
+
+    private GameLogic newGame(String category) {
+        GameLogic game = new GameLogic(dictionary, GameClock.system(), ThreadLocalRandom.current().nextLong(), listener);
+        if (category != null) {
+            try {
+                game.resetGame(category);
+            } catch (IllegalArgumentException e) {
+                game.shutdown();
+                throw e;
+            }
+        }
+        sessions.register(game);
+        return game;
+    }
+
+    private void endSession(GameLogic game) {
+        if (sessions.remove(game.getSessionId()) != null) {
+            game.shutdown();
+        }
+    }
+
+    private static String parameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals == name.length() && pair.startsWith(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.hangman.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives an {@link HttpGameServer} with many simulated players, each a blocking
+ * loop on its own virtual thread (platform threads before Java 21).
+ *
+ * <p>Players play like those of {@link LoadGenerator}: start a session, guess
+ * random untried letters, sometimes ask for a hint, start the next game when one
+ * ends, and wait the think time between requests. Each player keeps one
+ * connection alive for all its requests and counts as connected once it is open.
+ */
+public final class HttpLoadGenerator {
+
+    private static final int HINT_ODDS = 16;
+
+    private final URI base;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private int players = 100;
+    private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+    private long thinkMillis;
+    private long seed = System.nanoTime();
+
+    /**
+     * Creates a load generator for the server at a base URI such as
+     * {@code http://localhost:8080}.
+     */
+    public HttpLoadGenerator(URI base) {
+        this.base = base;
+    }
+
+    public HttpLoadGenerator players(int players) {
+        this.players = players;
+        return this;
+    }
+
+    public HttpLoadGenerator duration(long duration, TimeUnit unit) {
+        this.durationNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public HttpLoadGenerator thinkTime(long thinkTime, TimeUnit unit) {
+        this.thinkMillis = unit.toMillis(thinkTime);
+        return this;
+    }
+
+    public HttpLoadGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Runs every player for the configured duration and returns the combined
+     * report.
+     */
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        ExecutorService executor = HttpGameServer.virtualThreadExecutor("http-load-");
+        List<Future<LoadReport>> results = new ArrayList<>(players);
+        try {
+            for (int i = 0; i < players; i++) {
+                SplittableRandom random = new SplittableRandom(seed + i);
+                results.add(executor.submit(() -> play(deadline, random)));
+            }
+            LoadReport report = new LoadReport();
+            for (Future<LoadReport> result : results) {
+                try {
+                    report.merge(result.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Player failed: " + e.getCause());
+                }
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoadReport play(long deadline, SplittableRandom random) throws IOException, InterruptedException {
+        LoadReport report = new LoadReport();
+        PlayerState state = new PlayerState();
+        Client client;
+        try {
+            client = new Client(base.getHost(), base.getPort());
+        } catch (IOException e) {
+            report.failedConnect();
+            return report;
+        }
+        try (client) {
+            report.connected();
+            String session = null;
+            while (System.nanoTime() < deadline) {
+                String path;
+                if (session == null) {
+                    path = "/games";
+                } else if (state.gameOver) {
+                    path = "/games/" + session + "/new";
+                } else if (state.hintsUsed < GameLogic.MAX_HINTS && random.nextInt(HINT_ODDS) == 0) {
+                    path = "/games/" + session + "/hint";
+                } else {
+                    int unguessed = ~state.guessedMask & LetterMask.ALL_LETTERS;
+                    int pick = random.nextInt(Integer.bitCount(unguessed));
+                    for (int i = 0; i < pick; i++) {
+                        unguessed &= unguessed - 1;
+                    }
+                    path = "/games/" + session + "/guess?letter=" + LetterMask.letter(Integer.numberOfTrailingZeros(unguessed));
+                }
+                long sent = System.nanoTime();
+                int status;
+                try {
+                    status = client.post(path);
+                } catch (IOException e) {
+                    report.disconnected();
+                    return report;
+                }
+                report.response(System.nanoTime() - sent, status >= 400 && status != 409);
+                if (status < 300) {
+                    boolean wasOver = state.gameOver;
+                    parse(client.body, client.bodyLength, state);
+                    if (session == null) {
+                        session = Long.toString(state.session);
+                    } else if (state.gameOver && !wasOver) {
+                        report.gameOver(state.won);
+                    }
+                } else if (status == 404) {
+                    session = null;
+                } else if (status != 409) {
+                    // Start over after anything unexpected
+                    state.gameOver = true;
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+            }
+        }
+        return report;
+    }
+
+    private void parse(byte[] body, int length, PlayerState state) throws IOException {
+        try (JsonParser json = jsonFactory.createParser(body, 0, length)) {
+            json.nextToken();
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.getCurrentName();
+                json.nextToken();
+                switch (field) {
+                    case "session": state.session = json.getLongValue(); break;
+                    case "guessed": state.guessedMask = LetterMask.of(json.getText()); break;
+                    case "hintsUsed": state.hintsUsed = json.getIntValue(); break;
+                    case "gameOver": state.gameOver = json.getBooleanValue(); break;
+                    case "won": state.won = json.getBooleanValue(); break;
+                    default: json.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Minimal HTTP/1.1 client on one kept-alive blocking socket. The JDK's
+     * HttpClient costs several times more CPU per request than the server does,
+     * which would make the load generator, not the server, the bottleneck of a
+     * local run.
+     */
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+        private final String host;
+        private final byte[] line = new byte[1024];
+        byte[] body = new byte[1024];
+        int bodyLength;
+
+        Client(String host, int port) throws IOException {
+            this.socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            this.out = socket.getOutputStream();
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.host = host + ":" + port;
+        }
+
+        // Sends a POST without a body, reads the response into body and returns its status
+        int post(String path) throws IOException {
+            out.write(("POST " + path + " HTTP/1.1\r\nHost: " + host + "\r\nContent-Length: 0\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            int length = readLine();
+            if (length < 12) {
+                throw new IOException("Bad status line");
+            }
+            int status = (line[9] - '0') * 100 + (line[10] - '0') * 10 + (line[11] - '0');
+            bodyLength = 0;
+            while ((length = readLine()) > 0) {
+                String header = new String(line, 0, length, StandardCharsets.US_ASCII);
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    bodyLength = Integer.parseInt(header.substring(15).trim());
+                }
+            }
+            if (body.length < bodyLength) {
+                body = new byte[bodyLength];
+            }
+            for (int read = 0; read < bodyLength; ) {
+                int n = in.read(body, read, bodyLength - read);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                read += n;
+            }
+            return status;
+        }
+
+        // Reads a line without its CRLF into line and returns its length
+        private int readLine() throws IOException {
+            int length = 0;
+            int c;
+            while ((c = in.read()) != '\n') {
+                if (c < 0) {
+                    throw new EOFException();
+                }
+                if (c != '\r' && length < line.length) {
+                    line[length++] = (byte) c;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static final class PlayerState {
+        long session;
+        int guessedMask;
+        int hintsUsed;
+        boolean gameOver;
+        boolean won;
+    }
+}
@@ -0,0 +1,329 @@
+package com.hangman.server;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.hangman.server.GameProtocol.*;
+
+/**
+ * Drives a {@link GameServer} with many simulated players.
+ *
+ * <p>Each player is one connection that plays games back to back: it starts a
+ * game, guesses random letters it has not tried, sometimes asks for a hint, and
+ * starts the next game when one ends. A player has one request in flight at a
+ * time and waits the think time between a response and its next request, so the
+ * offered load is roughly connections / think time. Players are spread over a few
+ * selector threads, so tens of thousands of connections need no more threads than
+ * a handful.
+ *
+ * <p>A single local address can only open as many connections to one server as
+ * there are ephemeral ports. Against a loopback server, {@link #localAddresses(int)}
+ * spreads connections over 127.0.0.1, 127.0.0.2 and so on to go past that.
+ */
+public final class LoadGenerator {
+
+    // Connects in flight per thread, so the server's accept backlog never overflows
+    private static final int MAX_CONNECTING = 256;
+    private static final int HINT_ODDS = 16;
+
+    private final InetSocketAddress server;
+    private int connections = 1000;
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+    private long thinkNanos;
+    private int localAddresses = 1;
+    private long seed = System.nanoTime();
+
+    public LoadGenerator(InetSocketAddress server) {
+        this.server = server;
+    }
+
+    public LoadGenerator connections(int connections) {
+        this.connections = connections;
+        return this;
+    }
+
+    public LoadGenerator threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    public LoadGenerator duration(long duration, TimeUnit unit) {
+        this.durationNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Sets how long a player waits between a response and its next request.
+     */
+    public LoadGenerator thinkTime(long thinkTime, TimeUnit unit) {
+        this.thinkNanos = unit.toNanos(thinkTime);
+        return this;
+    }
+
+    /**
+     * Binds connections round-robin to this many loopback addresses, starting
+     * at 127.0.0.1. Only meaningful against a loopback server.
+     */
+    public LoadGenerator localAddresses(int localAddresses) {
+        this.localAddresses = localAddresses;
+        return this;
+    }
+
+    public LoadGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Connects every player, runs them for the configured duration, then closes
+     * all connections and returns the combined report.
+     */
+    public LoadReport run() throws IOException, InterruptedException {
+        int threadCount = Math.max(1, Math.min(threads, connections));
+        Worker[] workers = new Worker[threadCount];
+        Thread[] running = new Thread[threadCount];
+        long deadline = System.nanoTime() + durationNanos;
+        for (int i = 0; i < threadCount; i++) {
+            int share = connections / threadCount + (i < connections % threadCount ? 1 : 0);
+            workers[i] = new Worker(share, i, deadline, new SplittableRandom(seed + i));
+            running[i] = new Thread(workers[i], "load-" + i);
+            running[i].start();
+        }
+        LoadReport report = new LoadReport();
+        for (int i = 0; i < threadCount; i++) {
+            running[i].join();
+            report.merge(workers[i].report);
+        }
+        return report;
+    }
+
+    private InetSocketAddress localAddress(int index) throws IOException {
+        if (localAddresses <= 1) {
+            return null;
+        }
+        int host = 1 + index % localAddresses;
+        byte[] address = {127, 0, (byte) (host >>> 8), (byte) host};
+        return new InetSocketAddress(InetAddress.getByAddress(address), 0);
+    }
+
+    /**
+     * One simulated player.
+     */
+    private static final class Player {
+        final SocketChannel channel;
+        SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocate(LENGTH_SIZE + MAX_RESPONSE);
+        final ByteBuffer out = ByteBuffer.allocate(LENGTH_SIZE + MAX_REQUEST);
+        long sentNanos;
+        long dueNanos;
+        boolean connected;
+        int guessedMask;
+        int hintsUsed;
+
+        Player(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final class Worker implements Runnable {
+        final LoadReport report = new LoadReport();
+        private final int index;
+        private final long deadline;
+        private final SplittableRandom random;
+        // Every player waits the same think time, so players queue up in due order
+        private final ArrayDeque<Player> thinking = new ArrayDeque<>();
+        private Selector selector;
+        private int toConnect;
+        private int connecting;
+
+        Worker(int players, int index, long deadline, SplittableRandom random) {
+            this.toConnect = players;
+            this.index = index;
+            this.deadline = deadline;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try (Selector selector = Selector.open()) {
+                this.selector = selector;
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    connectMore();
+                    while (!thinking.isEmpty() && thinking.peekFirst().dueNanos <= now) {
+                        next(thinking.pollFirst());
+                    }
+                    long wakeAt = thinking.isEmpty() ? deadline : Math.min(deadline, thinking.peekFirst().dueNanos);
+                    long waitMillis = TimeUnit.NANOSECONDS.toMillis(wakeAt - now);
+                    if (waitMillis > 0) {
+                        selector.select(this::handle, waitMillis);
+                    } else {
+                        selector.selectNow(this::handle);
+                    }
+                }
+                for (SelectionKey key : selector.keys()) {
+                    closeQuietly(((Player) key.attachment()).channel);
+                }
+            } catch (IOException e) {
+                System.err.println("Load thread failed: " + e.getMessage());
+            }
+            report.setElapsedNanos(System.nanoTime() - start);
+        }
+
+        private void connectMore() {
+            while (toConnect > 0 && connecting < MAX_CONNECTING) {
+                toConnect--;
+                SocketChannel channel = null;
+                try {
+                    channel = SocketChannel.open();
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    InetSocketAddress local = localAddress(index + toConnect * threads);
+                    if (local != null) {
+                        channel.bind(local);
+                    }
+                    Player player = new Player(channel);
+                    player.key = channel.register(selector, SelectionKey.OP_CONNECT, player);
+                    connecting++;
+                    if (channel.connect(server)) {
+                        connected(player);
+                    }
+                } catch (IOException e) {
+                    report.failedConnect();
+                    closeQuietly(channel);
+                }
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            Player player = (Player) key.attachment();
+            try {
+                if (key.isConnectable()) {
+                    if (player.channel.finishConnect()) {
+                        connected(player);
+                    }
+                } else if (key.isWritable()) {
+                    flush(player);
+                } else if (key.isReadable()) {
+                    read(player);
+                }
+            } catch (IOException e) {
+                if (!player.connected) {
+                    connecting--;
+                    report.failedConnect();
+                } else {
+                    report.disconnected();
+                }
+                key.cancel();
+                closeQuietly(player.channel);
+            }
+        }
+
+        private void connected(Player player) throws IOException {
+            player.connected = true;
+            connecting--;
+            report.connected();
+            player.key.interestOps(SelectionKey.OP_READ);
+            writeRequest(player.out, NEW_GAME);
+            send(player);
+        }
+
+        private void read(Player player) throws IOException {
+            if (player.channel.read(player.in) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            ByteBuffer in = player.in;
+            if (in.position() < LENGTH_SIZE || in.position() < LENGTH_SIZE + Short.toUnsignedInt(in.getShort(0))) {
+                return;
+            }
+            long now = System.nanoTime();
+            int status = in.get(LENGTH_SIZE + 1);
+            report.response(now - player.sentNanos, status != OK && status != NO_HINTS);
+            if (status == OK) {
+                int flags = in.get(LENGTH_SIZE + 2);
+                player.hintsUsed = in.get(LENGTH_SIZE + 4);
+                player.guessedMask = in.getInt(LENGTH_SIZE + 18);
+                if ((flags & GAME_OVER) != 0) {
+                    report.gameOver((flags & WON) != 0);
+                    player.guessedMask = -1;
+                }
+            } else if (status != NO_HINTS) {
+                player.guessedMask = -1;
+            }
+            in.clear();
+            if (thinkNanos == 0) {
+                next(player);
+            } else {
+                player.dueNanos = now + thinkNanos;
+                thinking.addLast(player);
+            }
+        }
+
+        // Picks the player's next move from the last state it saw
+        private void next(Player player) {
+            if (!player.key.isValid()) {
+                return;
+            }
+            int unguessed = ~player.guessedMask & LetterMask.ALL_LETTERS;
+            if (player.guessedMask == -1 || unguessed == 0) {
+                writeRequest(player.out, NEW_GAME);
+            } else if (player.hintsUsed < GameLogic.MAX_HINTS && random.nextInt(HINT_ODDS) == 0) {
+                writeRequest(player.out, HINT);
+            } else {
+                int pick = random.nextInt(Integer.bitCount(unguessed));
+                for (int i = 0; i < pick; i++) {
+                    unguessed &= unguessed - 1;
+                }
+                writeGuess(player.out, LetterMask.letter(Integer.numberOfTrailingZeros(unguessed)));
+            }
+            try {
+                send(player);
+            } catch (IOException e) {
+                report.disconnected();
+                player.key.cancel();
+                closeQuietly(player.channel);
+            }
+        }
+
+        private void send(Player player) throws IOException {
+            player.sentNanos = System.nanoTime();
+            player.out.flip();
+            flush(player);
+        }
+
+        private void flush(Player player) throws IOException {
+            player.channel.write(player.out);
+            if (player.out.hasRemaining()) {
+                player.key.interestOps(SelectionKey.OP_WRITE);
+            } else {
+                player.out.clear();
+                player.key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+        }
+    }
+}
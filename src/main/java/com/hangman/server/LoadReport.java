@@ -0,0 +1,186 @@
+package com.hangman.server;
+
+import java.util.Locale;
+
+/**
+ * Results of a {@link LoadGenerator} run: connections made, requests answered,
+ * throughput and the distribution of response times.
+ *
+ * <p>Each load thread fills in its own report and reports are merged with
+ * {@link #merge(LoadReport)}. Response times are counted in log-linear buckets,
+ * 16 per power of two of microseconds, so percentiles are within about 6%.
+ */
+public final class LoadReport {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Covers up to 2^40 microseconds, far beyond any run
+    private static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private long connected;
+    private long failedConnects;
+    private long disconnects;
+    private long requests;
+    private long errors;
+    private long games;
+    private long wins;
+    private long maxMicros;
+    private long elapsedNanos;
+    private final long[] latencyHistogram = new long[BUCKETS];
+
+    void connected() {
+        connected++;
+    }
+
+    void failedConnect() {
+        failedConnects++;
+    }
+
+    void disconnected() {
+        disconnects++;
+    }
+
+    void response(long latencyNanos, boolean error) {
+        requests++;
+        if (error) {
+            errors++;
+        }
+        long micros = latencyNanos / 1000;
+        maxMicros = Math.max(maxMicros, micros);
+        latencyHistogram[bucket(micros)]++;
+    }
+
+    void gameOver(boolean won) {
+        games++;
+        if (won) {
+            wins++;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Adds another report's counts to this one and returns this report.
+     */
+    public LoadReport merge(LoadReport other) {
+        connected += other.connected;
+        failedConnects += other.failedConnects;
+        disconnects += other.disconnects;
+        requests += other.requests;
+        errors += other.errors;
+        games += other.games;
+        wins += other.wins;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+        elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+        for (int i = 0; i < BUCKETS; i++) {
+            latencyHistogram[i] += other.latencyHistogram[i];
+        }
+        return this;
+    }
+
+    private static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+    }
+
+    // Largest value that lands in a bucket
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Returns how many connections were established.
+     */
+    public long getConnected() {
+        return connected;
+    }
+
+    public long getFailedConnects() {
+        return failedConnects;
+    }
+
+    /**
+     * Returns how many established connections the server closed.
+     */
+    public long getDisconnects() {
+        return disconnects;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns how many responses had a status other than OK, not counting
+     * requests for hints when none were left.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getRequestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the response time at a percentile (0-100), in microseconds.
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (requests == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * requests));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latencyHistogram[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public long getMaxLatency() {
+        return maxMicros;
+    }
+
+    /**
+     * Returns a multi-line, human-readable summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Connections:  %,d established, %,d failed, %,d dropped%n",
+            connected, failedConnects, disconnects));
+        out.append(String.format(Locale.ROOT, "Requests:     %,d (%,.0f requests/s, %,d errors)%n",
+            requests, getRequestsPerSecond(), errors));
+        out.append(String.format(Locale.ROOT, "Games:        %,d finished, %,d won%n", games, wins));
+        out.append(String.format(Locale.ROOT, "Latency (us): p50 %,d, p90 %,d, p99 %,d, p99.9 %,d, max %,d%n",
+            getLatencyPercentile(50), getLatencyPercentile(90), getLatencyPercentile(99),
+            getLatencyPercentile(99.9), maxMicros));
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
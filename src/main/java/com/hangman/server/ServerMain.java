@@ -0,0 +1,250 @@
+package com.hangman.server;
+
+import com.hangman.GameEventListener;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.MappedDictionary;
+import com.hangman.journal.GameJournal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for the game server and its load generator.
+ *
+ * <pre>
+ * java com.hangman.server.ServerMain serve [--protocol tcp|http] [--port N] [--threads N]
+ *     [--dictionary FILE] [--journal DIR]
+ * java com.hangman.server.ServerMain load [--protocol tcp|http] [--host HOST] [--port N] [LOAD OPTIONS]
+ * java com.hangman.server.ServerMain loopback [--protocol tcp|http] [--threads N] [--dictionary FILE]
+ *     [--journal DIR] [LOAD OPTIONS]
+ *
+ * LOAD OPTIONS: [--connections N] [--load-threads N] [--seconds N] [--think-ms N] [--local-addresses N]
+ * </pre>
+ *
+ * {@code serve} runs a server until the process is stopped, printing a status
+ * line every ten seconds. {@code load} drives a running server. {@code loopback}
+ * starts a server on a free loopback port in the same process and drives it;
+ * with {@code --journal} that server journals its games, to measure what the
+ * journal costs.
+ * The protocol is the binary {@link GameServer} protocol by default, or the
+ * {@link HttpGameServer} JSON API; {@code --threads}, {@code --load-threads} and
+ * {@code --local-addresses} only apply to the binary protocol.
+ */
+public final class ServerMain {
+
+    private static final long STATUS_INTERVAL_SECONDS = 10;
+
+    private ServerMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            usage("Missing command");
+        }
+        boolean http = false;
+        String host = null;
+        int port = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Dictionary dictionary = Dictionary.getDefault();
+        boolean dictionaryGiven = false;
+        String journalDirectory = null;
+        int connections = 1000;
+        int loadThreads = Math.max(1, threads / 2);
+        long seconds = 10;
+        long thinkMillis = 0;
+        int localAddresses = 1;
+
+        for (int i = 1; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--protocol": http = protocol(value); break;
+                case "--host": host = value; break;
+                case "--port": port = Integer.parseInt(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--dictionary":
+                    dictionary = MappedDictionary.open(Paths.get(value));
+                    dictionaryGiven = true;
+                    break;
+                case "--journal": journalDirectory = value; break;
+                case "--connections": connections = Integer.parseInt(value); break;
+                case "--load-threads": loadThreads = Integer.parseInt(value); break;
+                case "--seconds": seconds = Long.parseLong(value); break;
+                case "--think-ms": thinkMillis = Long.parseLong(value); break;
+                case "--local-addresses": localAddresses = Integer.parseInt(value); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        if (args[0].equals("load") && (dictionaryGiven || journalDirectory != null)) {
+            usage("load drives a running server; --dictionary and --journal only apply to serve and loopback");
+        }
+        if (port < 0) {
+            port = http ? HttpGameServer.DEFAULT_PORT : GameServer.DEFAULT_PORT;
+        }
+
+        if (http) {
+            http(args[0], host, port, dictionary, journalDirectory, connections, seconds, thinkMillis);
+            return;
+        }
+        switch (args[0]) {
+            case "serve": {
+                GameJournal journal = openJournal(journalDirectory, dictionary);
+                InetSocketAddress address = host != null ? new InetSocketAddress(host, port) : new InetSocketAddress(port);
+                GameServer server = GameServer.start(dictionary, address, threads,
+                    journal != null ? journal : GameEventListener.NONE);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        server.close();
+                        if (journal != null) {
+                            journal.close();
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Shutdown failed: " + e.getMessage());
+                    }
+                }));
+                System.out.println("Serving games on port " + server.getPort() + " with " + threads + " threads");
+                long lastRequests = 0;
+                while (true) {
+                    TimeUnit.SECONDS.sleep(STATUS_INTERVAL_SECONDS);
+                    long requests = server.getRequestCount();
+                    System.out.printf(Locale.ROOT, "%,d connections, %,d games, %,.0f requests/s%n",
+                        server.getConnectionCount(), server.getSessions().size(),
+                        (requests - lastRequests) / (double) STATUS_INTERVAL_SECONDS);
+                    lastRequests = requests;
+                }
+            }
+            case "load": {
+                InetSocketAddress address = new InetSocketAddress(host != null ? host : "localhost", port);
+                LoadGenerator load = loadGenerator(address, connections, loadThreads, seconds, thinkMillis, localAddresses);
+                System.out.println("Driving " + address + " with " + connections + " connections for " + seconds + " s");
+                System.out.print(load.run().format());
+                break;
+            }
+            case "loopback": {
+                GameJournal journal = openJournal(journalDirectory, dictionary);
+                try (GameServer server = GameServer.start(dictionary,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), threads,
+                        journal != null ? journal : GameEventListener.NONE)) {
+                    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+                    LoadGenerator load = loadGenerator(address, connections, loadThreads, seconds, thinkMillis, localAddresses);
+                    System.out.println("Driving an in-process server (" + threads + " threads) with "
+                        + connections + " connections for " + seconds + " s");
+                    System.out.print(load.run().format());
+                } finally {
+                    if (journal != null) {
+                        journal.close();
+                    }
+                }
+                break;
+            }
+            default:
+                usage("Unknown command " + args[0]);
+        }
+    }
+
+    private static void http(String command, String host, int port, Dictionary dictionary, String journalDirectory,
+                             int players, long seconds, long thinkMillis) throws IOException, InterruptedException {
+        switch (command) {
+            case "serve": {
+                GameJournal journal = openJournal(journalDirectory, dictionary);
+                InetSocketAddress address = host != null ? new InetSocketAddress(host, port) : new InetSocketAddress(port);
+                HttpGameServer server = HttpGameServer.start(dictionary, address,
+                    journal != null ? journal : GameEventListener.NONE);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.close();
+                    try {
+                        if (journal != null) {
+                            journal.close();
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Shutdown failed: " + e.getMessage());
+                    }
+                }));
+                System.out.println("Serving games over HTTP on port " + server.getPort());
+                long lastRequests = 0;
+                while (true) {
+                    TimeUnit.SECONDS.sleep(STATUS_INTERVAL_SECONDS);
+                    long requests = server.getRequestCount();
+                    System.out.printf(Locale.ROOT, "%,d sessions, %,.0f requests/s%n", server.getSessions().size(),
+                        (requests - lastRequests) / (double) STATUS_INTERVAL_SECONDS);
+                    lastRequests = requests;
+                }
+            }
+            case "load": {
+                URI base = URI.create("http://" + (host != null ? host : "localhost") + ":" + port);
+                System.out.println("Driving " + base + " with " + players + " players for " + seconds + " s");
+                System.out.print(httpLoadGenerator(base, players, seconds, thinkMillis).run().format());
+                break;
+            }
+            case "loopback": {
+                GameJournal journal = openJournal(journalDirectory, dictionary);
+                try (HttpGameServer server = HttpGameServer.start(dictionary,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                        journal != null ? journal : GameEventListener.NONE)) {
+                    URI base = URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort());
+                    System.out.println("Driving an in-process HTTP server with " + players + " players for " + seconds + " s");
+                    System.out.print(httpLoadGenerator(base, players, seconds, thinkMillis).run().format());
+                } finally {
+                    if (journal != null) {
+                        journal.close();
+                    }
+                }
+                break;
+            }
+            default:
+                usage("Unknown command " + command);
+        }
+    }
+
+    // Null without --journal
+    private static GameJournal openJournal(String directory, Dictionary dictionary) throws IOException {
+        return directory != null ? GameJournal.open(Paths.get(directory), dictionary.fingerprint()) : null;
+    }
+
+    private static boolean protocol(String name) {
+        switch (name) {
+            case "tcp": return false;
+            case "http": return true;
+            default:
+                usage("Unknown protocol " + name);
+                return false;
+        }
+    }
+
+    private static HttpLoadGenerator httpLoadGenerator(URI base, int players, long seconds, long thinkMillis) {
+        return new HttpLoadGenerator(base)
+            .players(players)
+            .duration(seconds, TimeUnit.SECONDS)
+            .thinkTime(thinkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static LoadGenerator loadGenerator(InetSocketAddress address, int connections, int threads,
+                                               long seconds, long thinkMillis, int localAddresses) {
+        return new LoadGenerator(address)
+            .connections(connections)
+            .threads(threads)
+            .duration(seconds, TimeUnit.SECONDS)
+            .thinkTime(thinkMillis, TimeUnit.MILLISECONDS)
+            .localAddresses(localAddresses);
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: ServerMain serve [--protocol tcp|http] [--port N] [--threads N] [--dictionary FILE]"
+            + " [--journal DIR]");
+        System.err.println("       ServerMain load [--protocol tcp|http] [--host HOST] [--port N] [LOAD OPTIONS]");
+        System.err.println("       ServerMain loopback [--protocol tcp|http] [--threads N] [--dictionary FILE]"
+            + " [--journal DIR] [LOAD OPTIONS]");
+        System.err.println("LOAD OPTIONS: [--connections N] [--load-threads N] [--seconds N] [--think-ms N]"
+            + " [--local-addresses N]");
+        System.exit(2);
+    }
+}
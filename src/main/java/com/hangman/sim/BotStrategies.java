@@ -0,0 +1,80 @@
+package com.hangman.sim;
+
+import com.hangman.LetterMask;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.solver.HangmanSolver;
+import com.hangman.solver.SolverIndex;
+
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+/**
+ * Built-in bot strategies. Each factory takes the shard seed and returns a new bot,
+ * so bots with randomness are reproducible per shard.
+ */
+public final class BotStrategies {
+
+    private static final String ENGLISH_FREQUENCY = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+
+    private BotStrategies() {
+    }
+
+    /**
+     * Information-gain solver (see {@link HangmanSolver}); the strongest player.
+     */
+    public static LongFunction<BotStrategy> solver(Dictionary dictionary) {
+        SolverIndex index = new SolverIndex(dictionary);
+        return seed -> new HangmanSolver(index)::nextGuess;
+    }
+
+    /**
+     * Guesses letters in English frequency order, ignoring the revealed pattern: a
+     * rough stand-in for a casual player.
+     */
+    public static LongFunction<BotStrategy> letterFrequency() {
+        return seed -> game -> {
+            for (int i = 0; i < ENGLISH_FREQUENCY.length(); i++) {
+                char letter = ENGLISH_FREQUENCY.charAt(i);
+                if (!game.isLetterGuessed(letter)) {
+                    return letter;
+                }
+            }
+            throw new IllegalStateException("Every letter has been guessed");
+        };
+    }
+
+    /**
+     * Guesses unguessed letters uniformly at random: the weakest player.
+     */
+    public static LongFunction<BotStrategy> random() {
+        return seed -> {
+            SplittableRandom random = new SplittableRandom(seed);
+            return game -> {
+                int unguessed = LetterMask.ALL_LETTERS & ~game.getGuessedMask();
+                int pick = random.nextInt(Integer.bitCount(unguessed));
+                for (int m = unguessed; ; m &= m - 1) {
+                    if (pick-- == 0) {
+                        return LetterMask.letter(Integer.numberOfTrailingZeros(m));
+                    }
+                }
+            };
+        };
+    }
+
+    /**
+     * Returns a built-in strategy by name: {@code solver}, {@code frequency} or
+     * {@code random}.
+     */
+    public static LongFunction<BotStrategy> named(String name, Dictionary dictionary) {
+        switch (name) {
+            case "solver":
+                return solver(dictionary);
+            case "frequency":
+                return letterFrequency();
+            case "random":
+                return random();
+            default:
+                throw new IllegalArgumentException("Unknown bot strategy: " + name);
+        }
+    }
+}
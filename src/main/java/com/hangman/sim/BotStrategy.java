@@ -0,0 +1,21 @@
+package com.hangman.sim;
+
+import com.hangman.GameLogic;
+
+/**
+ * A bot that plays games in a {@link Simulation}. Bots should only use what a
+ * player can see (the display word, guessed letters and guess counts), not the
+ * answer.
+ *
+ * <p>A bot instance is used by one thread at a time; the simulation creates one per
+ * shard.
+ */
+@FunctionalInterface
+public interface BotStrategy {
+
+    /**
+     * Returns the next letter to guess. The game is not over and at least one
+     * letter is unguessed.
+     */
+    char nextGuess(GameLogic game);
+}
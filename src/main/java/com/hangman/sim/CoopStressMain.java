@@ -0,0 +1,362 @@
+package com.hangman.sim;
+
+import com.hangman.GameEventListener;
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.ManualClock;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.MappedDictionary;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress check for cooperative play: many threads guess the same word at once,
+ * round after round, and every round is checked against what a one-at-a-time
+ * game would allow.
+ *
+ * <pre>
+ * java com.hangman.sim.CoopStressMain [--threads N] [--rounds N] [--seed N] [--dictionary FILE]
+ * </pre>
+ *
+ * Each thread tries all 26 letters in its own random order and sometimes uses a
+ * hint; every eighth round one thread also runs the clock out part way through.
+ * After each round the checker requires that every accepted letter was reported
+ * and returned as a hit at most once, the wrong guess count matches the accepted
+ * misses and never passes the limit, the game ended exactly once and for the
+ * right reason, and no more hints were used than allowed.
+ *
+ * <p>In another of every eight rounds the main thread starts the next word as
+ * soon as it sees the game over, racing the guess that ended it, and the threads
+ * go on guessing the new word. Every game over, in any round, must come before
+ * the next game starts and agree with the game it ends: won only with the word
+ * solved, the points a one-at-a-time game would score, and the score and level
+ * raised once from where that game started. Exits with status 1 if any round
+ * fails.
+ */
+public final class CoopStressMain {
+
+    private static final int TIMEOUT_EVERY = 8;
+    private static final int RACE_EVERY = 8;
+    private static final int HINT_ODDS = 8;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private CoopStressMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int rounds = 100_000;
+        long seed = 1;
+        Dictionary dictionary = Dictionary.getDefault();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--rounds": rounds = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--dictionary": dictionary = MappedDictionary.open(Paths.get(value)); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        System.out.println("Guessing " + rounds + " words with " + threads + " threads each");
+        Checker checker = new Checker();
+        ManualClock clock = new ManualClock();
+        GameLogic game = new GameLogic(dictionary, clock, seed, checker);
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        CyclicBarrier end = new CyclicBarrier(threads + 1);
+        Guesser[] guessers = new Guesser[threads];
+        for (int i = 0; i < threads; i++) {
+            guessers[i] = new Guesser(i, rounds, game, clock, start, end, new SplittableRandom(seed + i));
+            Thread thread = new Thread(guessers[i], "coop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        long wins = 0;
+        long losses = 0;
+        long timeouts = 0;
+        long raced = 0;
+        long failures = 0;
+        long startNanos = System.nanoTime();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                game.resetGame();
+                checker.reset();
+                int scoreBefore = game.getScore();
+                int levelBefore = game.getLevel();
+                start.await();
+                boolean racing = round % RACE_EVERY == RACE_EVERY / 2;
+                if (racing) {
+                    while (!game.isGameOver()) {
+                        Thread.onSpinWait();
+                    }
+                    game.resetGame();
+                }
+                end.await();
+                String failure = checker.misreported;
+                if (failure == null && !racing) {
+                    failure = check(game, checker, guessers, round, scoreBefore, levelBefore);
+                }
+                if (failure != null) {
+                    checker.misreported = null;
+                    if (++failures <= MAX_REPORTED_FAILURES) {
+                        System.out.println("Round " + round + " (" + game.getCurrentWord() + "): " + failure);
+                    }
+                } else if (racing) {
+                    raced++;
+                } else if (game.isGameWon()) {
+                    wins++;
+                } else if (game.getWrongGuesses() == game.getMaxWrongGuesses()) {
+                    losses++;
+                } else {
+                    timeouts++;
+                }
+            }
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("A guessing thread failed", e);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long attempts = 0;
+        for (Guesser guesser : guessers) {
+            attempts += guesser.attempts;
+        }
+
+        System.out.printf(Locale.ROOT, "Rounds:    %,d (%,d won, %,d lost, %,d timed out, %,d raced)%n", rounds,
+            wins, losses, timeouts, raced);
+        System.out.printf(Locale.ROOT, "Guesses:   %,d (%,.0f guesses/s)%n", attempts,
+            attempts / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        System.out.printf(Locale.ROOT, "Failures:  %,d%n", failures);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // Returns what is wrong with the finished round, or null if nothing is
+    private static String check(GameLogic game, Checker checker, Guesser[] guessers, int round,
+                                int scoreBefore, int levelBefore) {
+        int accepted = game.getGuessedMask();
+        int wordMask = game.getWordMask();
+        int hits = accepted & wordMask;
+        int misses = accepted & ~wordMask;
+        int returnedHits = 0;
+        int returnedHitCount = 0;
+        for (Guesser guesser : guessers) {
+            if ((returnedHits & guesser.hitMask) != 0) {
+                return "a letter was returned as a hit to two threads";
+            }
+            returnedHits |= guesser.hitMask;
+            returnedHitCount += guesser.hitCount;
+        }
+        if (checker.duplicates.get() != 0) {
+            return checker.duplicates.get() + " letters were reported twice";
+        }
+        if (checker.reported.get() != accepted) {
+            return "reported letters " + letters(checker.reported.get())
+                + " differ from accepted " + letters(accepted);
+        }
+        if (returnedHits != hits || returnedHitCount != Integer.bitCount(hits)) {
+            return "hits returned " + letters(returnedHits) + " differ from " + letters(hits);
+        }
+        if (checker.correct.get() != Integer.bitCount(hits) || checker.wrong.get() != Integer.bitCount(misses)) {
+            return "guess events disagree with the accepted letters";
+        }
+        if (game.getWrongGuesses() != Integer.bitCount(misses) || game.getWrongGuesses() > game.getMaxWrongGuesses()) {
+            return "wrong guess count " + game.getWrongGuesses() + " for misses " + letters(misses);
+        }
+        if (checker.gameOvers.get() != 1 || !game.isGameOver()) {
+            return "game ended " + checker.gameOvers.get() + " times";
+        }
+        if (game.getHintCount() > GameLogic.MAX_HINTS || checker.hints.get() != game.getHintCount()) {
+            return checker.hints.get() + " hints reported, " + game.getHintCount() + " counted";
+        }
+        boolean solved = hits == wordMask;
+        boolean hanged = game.getWrongGuesses() == game.getMaxWrongGuesses();
+        if (checker.won != game.isGameWon() || game.isGameWon() != solved || (solved && hanged)) {
+            return "ended " + (checker.won ? "won" : "lost") + " with the word " + (solved ? "" : "not ")
+                + "solved after " + game.getWrongGuesses() + " wrong guesses";
+        }
+        if (!solved && !hanged && round % TIMEOUT_EVERY != TIMEOUT_EVERY - 1) {
+            return "ended without a win, a loss or a timeout";
+        }
+        int expectedLevel = levelBefore + (solved ? 1 : 0);
+        if (game.getScore() != scoreBefore + checker.points || game.getLevel() != expectedLevel) {
+            return "score or level not updated once";
+        }
+        return null;
+    }
+
+    private static String letters(int mask) {
+        StringBuilder letters = new StringBuilder();
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            letters.append(LetterMask.letter(Integer.numberOfTrailingZeros(remaining)));
+        }
+        return letters.toString();
+    }
+
+    private static final class Guesser implements Runnable {
+        private final int index;
+        private final int rounds;
+        private final GameLogic game;
+        private final ManualClock clock;
+        private final CyclicBarrier start;
+        private final CyclicBarrier end;
+        private final SplittableRandom random;
+        private final char[] letters = new char[26];
+        // Written by this thread during a round, read by the main thread between rounds
+        int hitMask;
+        int hitCount;
+        long attempts;
+
+        Guesser(int index, int rounds, GameLogic game, ManualClock clock, CyclicBarrier start, CyclicBarrier end,
+                SplittableRandom random) {
+            this.index = index;
+            this.rounds = rounds;
+            this.game = game;
+            this.clock = clock;
+            this.start = start;
+            this.end = end;
+            this.random = random;
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = LetterMask.letter(i);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int round = 0; round < rounds; round++) {
+                    start.await();
+                    hitMask = 0;
+                    hitCount = 0;
+                    shuffle();
+                    for (int i = 0; i < letters.length; i++) {
+                        if (index == 0 && i == letters.length / 4 && round % TIMEOUT_EVERY == TIMEOUT_EVERY - 1) {
+                            clock.advance(GameLogic.TIME_LIMIT + 1, TimeUnit.SECONDS);
+                        }
+                        if (random.nextInt(HINT_ODDS) == 0) {
+                            game.incrementHintCount();
+                        }
+                        if (game.makeGuess(letters[i])) {
+                            hitMask |= LetterMask.bit(letters[i]);
+                            hitCount++;
+                        }
+                        attempts++;
+                    }
+                    end.await();
+                }
+            } catch (InterruptedException | BrokenBarrierException e) {
+                start.reset();
+                end.reset();
+            }
+        }
+
+        private void shuffle() {
+            for (int i = letters.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                char swap = letters[i];
+                letters[i] = letters[j];
+                letters[j] = swap;
+            }
+        }
+    }
+
+    /**
+     * Collects one round's events, which arrive from every guessing thread, and
+     * checks each game over against the game it ends.
+     */
+    private static final class Checker implements GameEventListener {
+        final AtomicInteger reported = new AtomicInteger();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final AtomicInteger correct = new AtomicInteger();
+        final AtomicInteger wrong = new AtomicInteger();
+        final AtomicInteger hints = new AtomicInteger();
+        final AtomicInteger gameOvers = new AtomicInteger();
+        volatile boolean won;
+        volatile int points;
+        // The first game over that disagreed with its game, kept until reported
+        volatile String misreported;
+        // Both listener calls below come with the game's lock held
+        private int startScore;
+        private int startLevel;
+        private boolean ended;
+
+        void reset() {
+            reported.set(0);
+            duplicates.set(0);
+            correct.set(0);
+            wrong.set(0);
+            hints.set(0);
+            gameOvers.set(0);
+            won = false;
+            points = 0;
+        }
+
+        @Override
+        public void gameStarted(GameLogic game, long clockNanos) {
+            startScore = game.getScore();
+            startLevel = game.getLevel();
+            ended = false;
+        }
+
+        @Override
+        public void guessMade(GameLogic game, int round, char letter, boolean hit, int guessedMask,
+                              int wrongGuesses, long clockNanos) {
+            int bit = LetterMask.bit(letter);
+            if ((guessedMask & bit) == 0 || wrongGuesses > game.getMaxWrongGuesses()) {
+                misreport("a guess was reported with a state it could not have left");
+            }
+            if ((reported.getAndUpdate(mask -> mask | bit) & bit) != 0) {
+                duplicates.incrementAndGet();
+            }
+            (hit ? correct : wrong).incrementAndGet();
+        }
+
+        @Override
+        public void hintUsed(GameLogic game, long clockNanos) {
+            hints.incrementAndGet();
+        }
+
+        @Override
+        public void gameOver(GameLogic game, boolean won, int points, long clockNanos) {
+            gameOvers.incrementAndGet();
+            this.won = won;
+            this.points = points;
+            boolean solved = (game.getGuessedMask() & game.getWordMask()) == game.getWordMask();
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(game.getTimeRemainingMillis());
+            int expectedPoints = won ? GameLogic.scoreFor(remainingNanos, game.getWrongGuesses()) : 0;
+            if (ended) {
+                misreport("a game ended twice");
+            } else if (won != solved) {
+                misreport("a game over " + (won ? "won" : "lost") + " a word that was " + (solved ? "" : "not ")
+                    + "solved");
+            } else if (points != expectedPoints) {
+                misreport("a win scored " + points + " points instead of " + expectedPoints);
+            } else if (game.getScore() != startScore + points || game.getLevel() != startLevel + (won ? 1 : 0)) {
+                misreport("score or level not updated once by a game over");
+            }
+            ended = true;
+        }
+
+        private void misreport(String failure) {
+            if (misreported == null) {
+                misreported = failure;
+            }
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: CoopStressMain [--threads N] [--rounds N] [--seed N] [--dictionary FILE]");
+        System.exit(2);
+    }
+}
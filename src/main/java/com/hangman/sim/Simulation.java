@@ -0,0 +1,174 @@
+package com.hangman.sim;
+
+import com.hangman.GameLogic;
+import com.hangman.ManualClock;
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.DifficultyIndex;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Plays many headless games with a bot and aggregates the results.
+ *
+ * <p>Games are split into shards that run on a fork/join pool. Each shard is one
+ * simulated player: it gets its own seed, derived from the simulation seed and
+ * the shard number, which fixes both the words it is dealt and the bot's
+ * randomness. A run therefore gives the same report for the same settings
+ * whatever the number of threads.
+ *
+ * <p>Games run on a {@link ManualClock} that advances by a fixed think time before
+ * each guess, so time bonuses and timeouts behave as if a person were playing but
+ * no real time passes. A player starts over at level 0 after each session of
+ * {@link #sessionLength(int)} games, so the whole difficulty range gets played.
+ */
+public final class Simulation {
+
+    private final Dictionary dictionary;
+    private final LongFunction<BotStrategy> strategy;
+    private long games = 100_000;
+    private int shards = 256;
+    private long seed = 1;
+    private long thinkTimeNanos = TimeUnit.SECONDS.toNanos(1);
+    private int sessionLength = 10;
+
+    public Simulation(Dictionary dictionary, LongFunction<BotStrategy> strategy) {
+        this.dictionary = dictionary;
+        this.strategy = strategy;
+    }
+
+    public Simulation games(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Game count must not be negative: " + games);
+        }
+        this.games = games;
+        return this;
+    }
+
+    /**
+     * Sets the number of shards. More shards than threads lets the pool balance
+     * uneven shards; the result depends on the shard count, not the thread count.
+     */
+    public Simulation shards(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        this.shards = shards;
+        return this;
+    }
+
+    public Simulation seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the simulated time a bot takes for each guess.
+     */
+    public Simulation thinkTime(long duration, TimeUnit unit) {
+        this.thinkTimeNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    /**
+     * Sets how many games a simulated player plays before starting over at level 0.
+     */
+    public Simulation sessionLength(int sessionLength) {
+        if (sessionLength <= 0) {
+            throw new IllegalArgumentException("Session length must be positive: " + sessionLength);
+        }
+        this.sessionLength = sessionLength;
+        return this;
+    }
+
+    /**
+     * Runs the simulation on the common fork/join pool.
+     */
+    public SimulationReport run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    public SimulationReport run(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        SimulationReport report = pool.invoke(new ShardTask(0, shards));
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private long shardGames(int shard) {
+        return games / shards + (shard < games % shards ? 1 : 0);
+    }
+
+    private SimulationReport playShard(int shard) {
+        SimulationReport report = new SimulationReport();
+        long shardSeed = mix(seed + 0x9E3779B97F4A7C15L * (shard + 1));
+        BotStrategy bot = strategy.apply(shardSeed);
+        DifficultyIndex difficulty = dictionary.difficulty();
+        long remaining = shardGames(shard);
+        ManualClock clock = new ManualClock();
+        GameLogic game = null;
+        int played = 0;
+        int sessions = 0;
+        while (remaining-- > 0) {
+            if (game == null || played == sessionLength) {
+                // Each session is a new player at level 0 with its own word order
+                game = new GameLogic(dictionary, clock, mix(shardSeed + sessions++));
+                played = 0;
+            } else {
+                game.resetGame();
+            }
+            played++;
+            int scoreBefore = game.getScore();
+            int guesses = 0;
+            while (!game.isGameOver()) {
+                clock.advance(thinkTimeNanos, TimeUnit.NANOSECONDS);
+                if (game.isGameOver()) {
+                    break;
+                }
+                game.makeGuess(bot.nextGuess(game));
+                guesses++;
+            }
+            boolean won = game.isGameWon();
+            boolean timedOut = !won && game.getWrongGuesses() < game.getMaxWrongGuesses();
+            report.record(won, timedOut, game.getScore() - scoreBefore, guesses, game.getWrongGuesses(),
+                difficulty.bucketOf(game.getWordId()));
+        }
+        return report;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays shards {@code [from, to)}, splitting in half until one shard is left.
+     */
+    private final class ShardTask extends RecursiveTask<SimulationReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        ShardTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from == 1) {
+                return playShard(from);
+            }
+            int middle = (from + to) >>> 1;
+            ShardTask left = new ShardTask(from, middle);
+            left.fork();
+            SimulationReport right = new ShardTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.hangman.sim;
+
+import com.hangman.dictionary.Dictionary;
+import com.hangman.dictionary.MappedDictionary;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point for {@link Simulation}.
+ *
+ * <pre>
+ * java com.hangman.sim.SimulationMain [--games N] [--bot solver|frequency|random]
+ *     [--shards N] [--threads N] [--seed N] [--think-ms N] [--session N] [--dictionary FILE]
+ * </pre>
+ */
+public final class SimulationMain {
+
+    private SimulationMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        long games = 1_000_000;
+        String bot = "solver";
+        int shards = 256;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        long thinkMillis = 1000;
+        int session = 10;
+        Dictionary dictionary = Dictionary.getDefault();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(value); break;
+                case "--bot": bot = value; break;
+                case "--shards": shards = Integer.parseInt(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--think-ms": thinkMillis = Long.parseLong(value); break;
+                case "--session": session = Integer.parseInt(value); break;
+                case "--dictionary": dictionary = MappedDictionary.open(Paths.get(value)); break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+
+        Simulation simulation = new Simulation(dictionary, BotStrategies.named(bot, dictionary))
+            .games(games)
+            .shards(shards)
+            .seed(seed)
+            .thinkTime(thinkMillis, TimeUnit.MILLISECONDS)
+            .sessionLength(session);
+        System.out.println("Simulating " + games + " games with the " + bot + " bot on "
+            + threads + " threads (" + shards + " shards, seed " + seed + ")");
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            System.out.print(simulation.run(pool).format());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: SimulationMain [--games N] [--bot solver|frequency|random] [--shards N]"
+            + " [--threads N] [--seed N] [--think-ms N] [--session N] [--dictionary FILE]");
+        System.exit(2);
+    }
+}
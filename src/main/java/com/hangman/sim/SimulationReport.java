@@ -0,0 +1,197 @@
+package com.hangman.sim;
+
+import com.hangman.dictionary.DifficultyIndex;
+
+import java.util.Locale;
+
+/**
+ * Aggregated results of a {@link Simulation}: win rate, the distribution of points
+ * scored per won game, guesses and wrong guesses per game, and win rate per word
+ * difficulty bucket.
+ *
+ * <p>Shards fill in their own report and reports are merged with
+ * {@link #merge(SimulationReport)}. Every statistic is a sum or a histogram, so the
+ * merged result does not depend on how shards were scheduled.
+ */
+public final class SimulationReport {
+
+    /** Scores above this land in the last histogram bucket. */
+    private static final int MAX_SCORE = 1000;
+    private static final int MAX_GUESSES = 26;
+
+    private long games;
+    private long wins;
+    private long timeouts;
+    private long totalScore;
+    private long totalGuesses;
+    private long elapsedNanos;
+    private final long[] scoreHistogram = new long[MAX_SCORE + 1];
+    private final long[] guessHistogram = new long[MAX_GUESSES + 1];
+    private final long[] winningGuessHistogram = new long[MAX_GUESSES + 1];
+    private final long[] wrongGuessHistogram = new long[MAX_GUESSES + 1];
+    private final long[] bucketGames = new long[DifficultyIndex.BUCKETS];
+    private final long[] bucketWins = new long[DifficultyIndex.BUCKETS];
+
+    void record(boolean won, boolean timedOut, int score, int guesses, int wrongGuesses, int bucket) {
+        games++;
+        totalGuesses += guesses;
+        guessHistogram[Math.min(guesses, MAX_GUESSES)]++;
+        wrongGuessHistogram[Math.min(wrongGuesses, MAX_GUESSES)]++;
+        bucketGames[bucket]++;
+        if (won) {
+            wins++;
+            totalScore += score;
+            scoreHistogram[Math.min(Math.max(score, 0), MAX_SCORE)]++;
+            winningGuessHistogram[Math.min(guesses, MAX_GUESSES)]++;
+            bucketWins[bucket]++;
+        } else if (timedOut) {
+            timeouts++;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Adds another report's games to this one and returns this report.
+     */
+    public SimulationReport merge(SimulationReport other) {
+        games += other.games;
+        wins += other.wins;
+        timeouts += other.timeouts;
+        totalScore += other.totalScore;
+        totalGuesses += other.totalGuesses;
+        add(scoreHistogram, other.scoreHistogram);
+        add(guessHistogram, other.guessHistogram);
+        add(winningGuessHistogram, other.winningGuessHistogram);
+        add(wrongGuessHistogram, other.wrongGuessHistogram);
+        add(bucketGames, other.bucketGames);
+        add(bucketWins, other.bucketWins);
+        return this;
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Returns how many lost games ran out of time rather than guesses.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Returns the mean points scored by a won game.
+     */
+    public double getMeanScore() {
+        return wins == 0 ? 0 : (double) totalScore / wins;
+    }
+
+    /**
+     * Returns the score at a percentile (0-100) of won games.
+     */
+    public int getScorePercentile(double percentile) {
+        return percentile(scoreHistogram, wins, percentile);
+    }
+
+    /**
+     * Returns the mean number of guesses per game, won or lost.
+     */
+    public double getMeanGuesses() {
+        return games == 0 ? 0 : (double) totalGuesses / games;
+    }
+
+    /**
+     * Returns the number of guesses a won game needed at a percentile (0-100).
+     */
+    public int getGuessesToSolvePercentile(double percentile) {
+        return percentile(winningGuessHistogram, wins, percentile);
+    }
+
+    /**
+     * Returns how many games ended with the given number of wrong guesses.
+     */
+    public long getGamesWithWrongGuesses(int wrongGuesses) {
+        return wrongGuessHistogram[Math.min(wrongGuesses, MAX_GUESSES)];
+    }
+
+    /**
+     * Returns the win rate for words in a difficulty bucket, or NaN if none were played.
+     */
+    public double getBucketWinRate(int bucket) {
+        return bucketGames[bucket] == 0 ? Double.NaN : (double) bucketWins[bucket] / bucketGames[bucket];
+    }
+
+    public long getBucketGames(int bucket) {
+        return bucketGames[bucket];
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    private static int percentile(long[] histogram, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            seen += histogram[value];
+            if (seen >= Math.max(rank, 1)) {
+                return value;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * Returns a multi-line, human-readable summary.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Games:            %,d (%,.0f games/s)%n", games, getGamesPerSecond()));
+        out.append(String.format(Locale.ROOT, "Win rate:         %.2f%% (%,d wins, %,d timeouts)%n",
+            getWinRate() * 100, wins, timeouts));
+        out.append(String.format(Locale.ROOT, "Score per win:    mean %.1f, p10 %d, p50 %d, p90 %d, p99 %d%n",
+            getMeanScore(), getScorePercentile(10), getScorePercentile(50),
+            getScorePercentile(90), getScorePercentile(99)));
+        out.append(String.format(Locale.ROOT, "Guesses to solve: mean %.2f per game, p50 %d, p90 %d, p99 %d per win%n",
+            getMeanGuesses(), getGuessesToSolvePercentile(50), getGuessesToSolvePercentile(90),
+            getGuessesToSolvePercentile(99)));
+        out.append("Wrong guesses:   ");
+        for (int wrong = 0; wrong <= MAX_GUESSES; wrong++) {
+            if (wrongGuessHistogram[wrong] > 0) {
+                out.append(String.format(Locale.ROOT, " %d:%.1f%%", wrong, 100.0 * wrongGuessHistogram[wrong] / games));
+            }
+        }
+        out.append(System.lineSeparator()).append("Win rate by difficulty:");
+        for (int bucket = 0; bucket < DifficultyIndex.BUCKETS; bucket++) {
+            if (bucketGames[bucket] > 0) {
+                out.append(String.format(Locale.ROOT, " %d:%.1f%%", bucket, getBucketWinRate(bucket) * 100));
+            }
+        }
+        return out.append(System.lineSeparator()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,399 @@
+package com.hangman.solver;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+
+import java.util.Arrays;
+
+/**
+ * Bot that plays a game using only what a player can see: the display word, the
+ * letters already guessed and the number of wrong guesses.
+ *
+ * <p>Each decision narrows the dictionary words of the right length to those that
+ * match the revealed pattern and then guesses the letter with the highest expected
+ * information gain, i.e. the letter whose possible reveal patterns split the
+ * remaining candidates most evenly. With one life left it guesses the letter most
+ * likely to be in the word instead.
+ *
+ * <p>Candidate sets are bitsets over the words of one length and are filtered with
+ * the precomputed bitmaps of a shared {@link SolverIndex}, so a decision is a few
+ * bitwise passes and does not allocate once the solver's scratch buffers have grown
+ * to size. A solver instance is not thread-safe; use one per thread.
+ */
+public final class HangmanSolver {
+
+    // Letter order used when no dictionary word matches the game
+    private static final String FALLBACK_ORDER = "ETAOINSHRDLCUMWFGYPBVKJXQZ";
+
+    // Widest candidate range (in longs) scored by exact reveal patterns; wider ranges
+    // only distinguish "letter present" from "letter absent"
+    private static final int EXACT_SPAN = 64;
+
+    private static final double LN2 = Math.log(2);
+
+    // n * ln(n) for every candidate count exact scoring can see
+    private static final double[] XLOGX = new double[EXACT_SPAN * 64 + 1];
+
+    static {
+        for (int n = 2; n < XLOGX.length; n++) {
+            XLOGX[n] = n * Math.log(n);
+        }
+    }
+
+    private final SolverIndex index;
+
+    private LengthGroup group;
+    private long[] candidates = new long[0];
+    private int lo;
+    private int hi;
+    private int candidateCount;
+    private int[] hidden = new int[0];
+    private int hiddenCount;
+    private long[] parts = new long[0];
+    private int[] partSizes = new int[0];
+    private final double[] gains = new double[26];
+    private final int[] hits = new int[26];
+
+    public HangmanSolver(SolverIndex index) {
+        this.index = index;
+    }
+
+    public SolverIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the letter to guess next in the given game.
+     */
+    public char nextGuess(GameLogic game) {
+        int livesLeft = game.getMaxWrongGuesses() - game.getWrongGuesses();
+        return nextGuess(game.getDisplayWord(), maskOf(game.getGuessedLetters()), livesLeft <= 1);
+    }
+
+    /**
+     * Returns the letter to guess next for a display word in the format of
+     * {@link GameLogic#getDisplayWord()} and a {@link LetterMask} of guessed letters.
+     */
+    public char nextGuess(CharSequence displayWord, int guessedMask) {
+        return nextGuess(displayWord, guessedMask, false);
+    }
+
+    private char nextGuess(CharSequence displayWord, int guessedMask, boolean safe) {
+        int unguessed = LetterMask.ALL_LETTERS & ~guessedMask;
+        if (unguessed == 0) {
+            throw new IllegalStateException("Every letter has been guessed");
+        }
+        evaluate(displayWord, guessedMask);
+        if (candidateCount == 0) {
+            return fallback(unguessed);
+        }
+        int best = -1;
+        for (int m = unguessed; m != 0; m &= m - 1) {
+            int letter = Integer.numberOfTrailingZeros(m);
+            if (hits[letter] == 0) {
+                continue;
+            }
+            if (best < 0 || better(letter, best, safe)) {
+                best = letter;
+            }
+        }
+        return best >= 0 ? LetterMask.letter(best) : fallback(unguessed);
+    }
+
+    private boolean better(int letter, int best, boolean safe) {
+        if (safe && hits[letter] != hits[best]) {
+            return hits[letter] > hits[best];
+        }
+        if (gains[letter] != gains[best]) {
+            return gains[letter] > gains[best];
+        }
+        return hits[letter] > hits[best];
+    }
+
+    /**
+     * Plays the game until it is over and returns whether it was won.
+     */
+    public boolean play(GameLogic game) {
+        while (!game.isGameOver()) {
+            game.makeGuess(nextGuess(game));
+        }
+        return game.isGameWon();
+    }
+
+    /**
+     * Filters the candidates for a game state and scores every unguessed letter.
+     * Results are read back with {@link #candidateCount()}, {@link #gain(char)} and
+     * {@link #hitCount(char)} until the next call.
+     */
+    public void evaluate(CharSequence displayWord, int guessedMask) {
+        Arrays.fill(gains, 0);
+        Arrays.fill(hits, 0);
+        filter(displayWord, guessedMask);
+        if (candidateCount == 0) {
+            return;
+        }
+        boolean exact = hi - lo <= EXACT_SPAN;
+        for (int m = group.letters & ~guessedMask; m != 0; m &= m - 1) {
+            int letter = Integer.numberOfTrailingZeros(m);
+            int has = group.has(letter);
+            int count = countAnd(has);
+            hits[letter] = count;
+            if (count == 0) {
+                continue;
+            }
+            gains[letter] = exact
+                ? exactGain(letter, has, count)
+                : entropy(candidateCount, count);
+        }
+    }
+
+    /**
+     * Returns how many dictionary words matched the last evaluated state.
+     */
+    public int candidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Returns the expected information, in bits, of guessing a letter in the last
+     * evaluated state.
+     */
+    public double gain(char letter) {
+        int bit = LetterMask.bit(letter);
+        return bit == 0 ? 0 : gains[Integer.numberOfTrailingZeros(bit)];
+    }
+
+    /**
+     * Returns how many of the last evaluated candidates contain a letter.
+     */
+    public int hitCount(char letter) {
+        int bit = LetterMask.bit(letter);
+        return bit == 0 ? 0 : hits[Integer.numberOfTrailingZeros(bit)];
+    }
+
+    private void filter(CharSequence displayWord, int guessedMask) {
+        int length = (displayWord.length() + 1) / 2;
+        group = index.group(length);
+        candidateCount = 0;
+        if (group == null) {
+            return;
+        }
+        if (candidates.length < group.words) {
+            candidates = new long[group.words];
+        }
+        lo = 0;
+        hi = group.words;
+        Arrays.fill(candidates, 0, hi, -1L);
+        if ((group.size & 63) != 0) {
+            candidates[hi - 1] = (1L << (group.size & 63)) - 1;
+        }
+
+        if (hidden.length < length) {
+            hidden = new int[length];
+        }
+        hiddenCount = 0;
+
+        // Revealed positions must match exactly
+        int revealed = 0;
+        for (int p = 0; p < length; p++) {
+            char c = displayWord.charAt(p << 1);
+            if (c == '_') {
+                hidden[hiddenCount++] = p;
+                continue;
+            }
+            int symbol = LengthGroup.symbol(c);
+            if (symbol != LengthGroup.NON_LETTER) {
+                revealed |= 1 << symbol;
+            }
+            and(group.at(p, symbol));
+        }
+        // Missed letters appear nowhere, and revealed letters nowhere else
+        for (int m = guessedMask & ~revealed; m != 0 && lo < hi; m &= m - 1) {
+            andNot(group.has(Integer.numberOfTrailingZeros(m)));
+        }
+        if (revealed != 0) {
+            for (int h = 0; h < hiddenCount && lo < hi; h++) {
+                for (int m = revealed & group.lettersAt[hidden[h]]; m != 0; m &= m - 1) {
+                    andNot(group.at(hidden[h], Integer.numberOfTrailingZeros(m)));
+                }
+            }
+        }
+        int count = 0;
+        for (int w = lo; w < hi; w++) {
+            count += Long.bitCount(candidates[w]);
+        }
+        candidateCount = count;
+    }
+
+    private void and(int bitmap) {
+        long[] bits = group.bits;
+        for (int w = lo; w < hi; w++) {
+            candidates[w] &= bits[bitmap + w];
+        }
+        shrink();
+    }
+
+    private void andNot(int bitmap) {
+        long[] bits = group.bits;
+        for (int w = lo; w < hi; w++) {
+            candidates[w] &= ~bits[bitmap + w];
+        }
+        shrink();
+    }
+
+    // Keeps [lo, hi) tight around the non-zero words so later passes skip empty space
+    private void shrink() {
+        while (lo < hi && candidates[lo] == 0) {
+            lo++;
+        }
+        while (hi > lo && candidates[hi - 1] == 0) {
+            hi--;
+        }
+    }
+
+    private int countAnd(int bitmap) {
+        long[] bits = group.bits;
+        int count = 0;
+        for (int w = lo; w < hi; w++) {
+            count += Long.bitCount(candidates[w] & bits[bitmap + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Splits the candidates containing a letter by the hidden positions it occupies,
+     * refining one position at a time, and returns the entropy of the resulting
+     * partition (candidates without the letter form one more part).
+     */
+    private double exactGain(int letter, int has, int count) {
+        long[] bits = group.bits;
+        int span = hi - lo;
+        if (span == 1) {
+            return exactGain(letter, candidates[lo] & bits[has + lo], count);
+        }
+        int maxParts = Math.min(count, 1 << Math.min(group.length, 20));
+        if (parts.length < maxParts * span) {
+            parts = new long[maxParts * span];
+        }
+        if (partSizes.length < maxParts) {
+            partSizes = new int[maxParts];
+        }
+        for (int w = 0; w < span; w++) {
+            parts[w] = candidates[lo + w] & bits[has + lo + w];
+        }
+        partSizes[0] = count;
+        int partCount = 1;
+
+        for (int h = 0; h < hiddenCount && partCount < count; h++) {
+            if ((group.lettersAt[hidden[h]] & (1 << letter)) == 0) {
+                continue;
+            }
+            int at = group.at(hidden[h], letter) + lo;
+            int existing = partCount;
+            for (int part = 0; part < existing; part++) {
+                int base = part * span;
+                int inside = 0;
+                for (int w = 0; w < span; w++) {
+                    inside += Long.bitCount(parts[base + w] & bits[at + w]);
+                }
+                if (inside == 0 || inside == partSizes[part]) {
+                    continue;
+                }
+                int target = partCount * span;
+                for (int w = 0; w < span; w++) {
+                    long in = parts[base + w] & bits[at + w];
+                    parts[target + w] = in;
+                    parts[base + w] &= ~in;
+                }
+                partSizes[partCount++] = inside;
+                partSizes[part] -= inside;
+            }
+        }
+
+        double sum = xlogx(candidateCount - count);
+        for (int part = 0; part < partCount; part++) {
+            sum += xlogx(partSizes[part]);
+        }
+        return (xlogx(candidateCount) - sum) / candidateCount / LN2;
+    }
+
+    // Same as above for candidates that fit in one long, the usual case for small
+    // dictionaries and late in a game
+    private double exactGain(int letter, long withLetter, int count) {
+        long[] bits = group.bits;
+        if (parts.length < 64) {
+            parts = new long[64];
+        }
+        parts[0] = withLetter;
+        int partCount = 1;
+        for (int h = 0; h < hiddenCount && partCount < count; h++) {
+            long mask = bits[group.at(hidden[h], letter) + lo];
+            if ((mask & withLetter) == 0) {
+                continue;
+            }
+            int existing = partCount;
+            for (int part = 0; part < existing; part++) {
+                long in = parts[part] & mask;
+                if (in != 0 && in != parts[part]) {
+                    parts[partCount++] = in;
+                    parts[part] &= ~in;
+                }
+            }
+        }
+        double sum = xlogx(candidateCount - count);
+        for (int part = 0; part < partCount; part++) {
+            sum += xlogx(Long.bitCount(parts[part]));
+        }
+        return (xlogx(candidateCount) - sum) / candidateCount / LN2;
+    }
+
+    private static double entropy(int total, int hits) {
+        return (xlogx(total) - xlogx(hits) - xlogx(total - hits)) / total / LN2;
+    }
+
+    private static double xlogx(int n) {
+        return n < XLOGX.length ? XLOGX[n] : n * Math.log(n);
+    }
+
+    /**
+     * Picks a letter when no candidate matches, e.g. a word missing from the
+     * dictionary: the letter found in most words of the same length, otherwise the
+     * most common English letter.
+     */
+    private char fallback(int unguessed) {
+        if (group != null) {
+            int best = -1;
+            int bestCount = 0;
+            for (int m = unguessed & group.letters; m != 0; m &= m - 1) {
+                int letter = Integer.numberOfTrailingZeros(m);
+                int has = group.has(letter);
+                int count = 0;
+                for (int w = 0; w < group.words; w++) {
+                    count += Long.bitCount(group.bits[has + w]);
+                }
+                if (count > bestCount) {
+                    best = letter;
+                    bestCount = count;
+                }
+            }
+            if (best >= 0) {
+                return LetterMask.letter(best);
+            }
+        }
+        for (int i = 0; i < FALLBACK_ORDER.length(); i++) {
+            char c = FALLBACK_ORDER.charAt(i);
+            if (LetterMask.contains(unguessed, c)) {
+                return c;
+            }
+        }
+        throw new IllegalStateException("Every letter has been guessed");
+    }
+
+    private static int maskOf(Iterable<Character> letters) {
+        int mask = 0;
+        for (char c : letters) {
+            mask |= LetterMask.bit(c);
+        }
+        return mask;
+    }
+}
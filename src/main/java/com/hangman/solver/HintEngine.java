@@ -0,0 +1,247 @@
+package com.hangman.solver;
+
+import com.hangman.GameLogic;
+import com.hangman.LetterMask;
+import com.hangman.dictionary.Dictionary;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Picks hint letters that help the most.
+ *
+ * <p>Every unguessed letter of the word is ranked by how many dictionary words
+ * would still match the display word once that letter is revealed. Fewer is
+ * better; ties go to the letter that reveals more positions. The best-ranked
+ * letter is the hint.
+ *
+ * <p>Hints are computed on a small pool of daemon threads with a bounded queue,
+ * never on the caller's thread. Results are cached by (word id, guessed letters),
+ * so asking again, or another player reaching the same state, is answered from the
+ * cache. {@link #prefetch(GameLogic)} computes a hint ahead of time so it is ready
+ * when the player asks.
+ */
+public final class HintEngine {
+
+    private static final int DEFAULT_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int CACHE_SIZE = 4096;
+
+    private final SolverIndex index;
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<HangmanSolver> solvers;
+    private final AtomicReferenceArray<Hint> cache = new AtomicReferenceArray<>(CACHE_SIZE);
+    private final ConcurrentHashMap<Long, CompletableFuture<Hint>> inFlight = new ConcurrentHashMap<>();
+
+    public HintEngine(Dictionary dictionary) {
+        this(new SolverIndex(dictionary), DEFAULT_THREADS);
+    }
+
+    public HintEngine(SolverIndex index, int threads) {
+        this.index = index;
+        this.solvers = ThreadLocal.withInitial(() -> new HangmanSolver(index));
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), task -> {
+                Thread thread = new Thread(task, "hangman-hint-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Returns the hint for the game's current state. The future completes on a
+     * hint thread, or immediately if the hint is cached.
+     */
+    public CompletableFuture<Hint> hint(GameLogic game) {
+        checkDictionary(game);
+        return hint(game.getWordId(), game.getGuessedMask());
+    }
+
+    /**
+     * Starts computing the hint for the game's current state if it is not cached,
+     * so a later {@link #hint(GameLogic)} finds it ready.
+     */
+    public void prefetch(GameLogic game) {
+        checkDictionary(game);
+        if (game.isGameOver() || executor.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+        hint(game.getWordId(), game.getGuessedMask());
+    }
+
+    /**
+     * Returns the hint for a word id of this engine's dictionary and a
+     * {@link LetterMask} of guessed letters.
+     */
+    public CompletableFuture<Hint> hint(int wordId, int guessedMask) {
+        long key = key(wordId, guessedMask);
+        Hint cached = cache.get(slot(key));
+        if (cached != null && cached.key == key) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Hint> future = new CompletableFuture<>();
+        CompletableFuture<Hint> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    Hint hint = compute(wordId, guessedMask);
+                    cache.set(slot(key), hint);
+                    future.complete(hint);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(key, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Stops the hint threads. Hints already queued are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void checkDictionary(GameLogic game) {
+        if (game.getDictionary() != index.getDictionary()) {
+            throw new IllegalArgumentException("Game uses a different dictionary than the hint engine");
+        }
+    }
+
+    private Hint compute(int wordId, int guessedMask) {
+        Dictionary dictionary = index.getDictionary();
+        HangmanSolver solver = solvers.get();
+        CharSequence word = dictionary.wordView(wordId);
+        int remaining = dictionary.letterMask(wordId) & ~guessedMask;
+
+        StringBuilder display = new StringBuilder(word.length() * 2);
+        solver.evaluate(display(word, guessedMask, display), guessedMask);
+        int before = solver.candidateCount();
+
+        // Insertion sort by (candidates left, -positions revealed, letter); at most 26 letters
+        char[] ranking = new char[Integer.bitCount(remaining)];
+        int[] after = new int[ranking.length];
+        int[] revealed = new int[ranking.length];
+        int ranked = 0;
+        for (int m = remaining; m != 0; m &= m - 1) {
+            int bit = m & -m;
+            char letter = LetterMask.letter(Integer.numberOfTrailingZeros(bit));
+            solver.evaluate(display(word, guessedMask | bit, display), guessedMask | bit);
+            int left = solver.candidateCount();
+            int positions = 0;
+            for (int i = 0; i < word.length(); i++) {
+                if (word.charAt(i) == letter) {
+                    positions++;
+                }
+            }
+            int i = ranked++;
+            while (i > 0 && (after[i - 1] > left || (after[i - 1] == left && revealed[i - 1] < positions))) {
+                ranking[i] = ranking[i - 1];
+                after[i] = after[i - 1];
+                revealed[i] = revealed[i - 1];
+                i--;
+            }
+            ranking[i] = letter;
+            after[i] = left;
+            revealed[i] = positions;
+        }
+        return new Hint(key(wordId, guessedMask), new String(ranking), before, ranked > 0 ? after[0] : before);
+    }
+
+    // Same format as GameLogic.getDisplayWord()
+    private static CharSequence display(CharSequence word, int guessedMask, StringBuilder display) {
+        display.setLength(0);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int bit = LetterMask.bit(c);
+            if (i > 0) {
+                display.append(' ');
+            }
+            if (bit == 0) {
+                display.append(c == '_' ? '-' : c);
+            } else {
+                display.append((guessedMask & bit) != 0 ? c : '_');
+            }
+        }
+        return display;
+    }
+
+    private static long key(int wordId, int guessedMask) {
+        return ((long) wordId << 32) | (guessedMask & 0xFFFFFFFFL);
+    }
+
+    private static int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * Ranked hint letters for one game state.
+     */
+    public static final class Hint {
+        private final long key;
+        private final String ranking;
+        private final int candidatesBefore;
+        private final int candidatesAfter;
+
+        Hint(long key, String ranking, int candidatesBefore, int candidatesAfter) {
+            this.key = key;
+            this.ranking = ranking;
+            this.candidatesBefore = candidatesBefore;
+            this.candidatesAfter = candidatesAfter;
+        }
+
+        /**
+         * Returns whether there is any letter left to hint.
+         */
+        public boolean hasLetter() {
+            return !ranking.isEmpty();
+        }
+
+        /**
+         * Returns the best hint letter.
+         */
+        public char getLetter() {
+            if (ranking.isEmpty()) {
+                throw new IllegalStateException("No letters left to hint");
+            }
+            return ranking.charAt(0);
+        }
+
+        /**
+         * Returns the word's unguessed letters, best hint first.
+         */
+        public String getRanking() {
+            return ranking;
+        }
+
+        /**
+         * Returns how many dictionary words match the display word now.
+         */
+        public int getCandidatesBefore() {
+            return candidatesBefore;
+        }
+
+        /**
+         * Returns how many would still match after revealing the best letter.
+         */
+        public int getCandidatesAfter() {
+            return candidatesAfter;
+        }
+    }
+}
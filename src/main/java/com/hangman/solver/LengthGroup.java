@@ -0,0 +1,74 @@
+package com.hangman.solver;
+
+import com.hangman.LetterMask;
+import com.hangman.dictionary.Dictionary;
+
+/**
+ * Bitmaps over the dictionary words of one length. Bit {@code i} of every bitmap
+ * stands for {@code ids[i]}, so candidate sets for a game are plain {@code long[]}
+ * bitsets of {@link #words} longs.
+ *
+ * <p>All bitmaps live in one array, {@link #bits}, addressed through
+ * {@link #has(int)} and {@link #at(int, int)}, which keeps the bitmaps of a small
+ * group on a handful of cache lines.
+ */
+final class LengthGroup {
+
+    /** Symbol for characters other than A-Z, which games reveal up front. */
+    static final int NON_LETTER = 26;
+    static final int SYMBOLS = 27;
+
+    final int length;
+    final int size;
+    final int words;
+    final int[] ids;
+    final long[] bits;
+    /** Letters found anywhere in the group. */
+    final int letters;
+    /** Letters found at each position. */
+    final int[] lettersAt;
+
+    LengthGroup(Dictionary dictionary, int length, int[] ids) {
+        this.length = length;
+        this.size = ids.length;
+        this.words = (size + 63) >>> 6;
+        this.ids = ids;
+        this.bits = new long[(26 + length * SYMBOLS) * words];
+        this.lettersAt = new int[length];
+        int letters = 0;
+        for (int i = 0; i < size; i++) {
+            int id = ids[i];
+            long bit = 1L << i;
+            int word = i >>> 6;
+            for (int p = 0; p < length; p++) {
+                int symbol = symbol(dictionary.charAt(id, p));
+                bits[at(p, symbol) + word] |= bit;
+                if (symbol != NON_LETTER) {
+                    bits[has(symbol) + word] |= bit;
+                    lettersAt[p] |= 1 << symbol;
+                    letters |= 1 << symbol;
+                }
+            }
+        }
+        this.letters = letters;
+    }
+
+    /**
+     * Returns the offset in {@link #bits} of the words containing a letter.
+     */
+    int has(int letter) {
+        return letter * words;
+    }
+
+    /**
+     * Returns the offset in {@link #bits} of the words with a symbol at a position.
+     */
+    int at(int position, int symbol) {
+        return (26 + position * SYMBOLS + symbol) * words;
+    }
+
+    static int symbol(char c) {
+        int bit = LetterMask.bit(c);
+        return bit == 0 ? NON_LETTER : Integer.numberOfTrailingZeros(bit);
+    }
+}
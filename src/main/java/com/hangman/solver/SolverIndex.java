@@ -0,0 +1,75 @@
+package com.hangman.solver;
+
+import com.hangman.dictionary.Dictionary;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed bitmaps the solver filters candidates with: for every word length,
+ * which words contain each letter and which words have each letter at each
+ * position.
+ *
+ * <p>Bitmaps for a length are built the first time a game of that length is seen.
+ * An index is immutable once built and can be shared by any number of
+ * {@link HangmanSolver}s on any threads.
+ */
+public final class SolverIndex {
+
+    private final Dictionary dictionary;
+    private final int[] lengthOffsets;
+    private final int[] byLength;
+    private final AtomicReferenceArray<LengthGroup> groups;
+
+    public SolverIndex(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        int words = dictionary.size();
+        int maxLength = 0;
+        for (int id = 0; id < words; id++) {
+            maxLength = Math.max(maxLength, dictionary.wordLength(id));
+        }
+        lengthOffsets = new int[maxLength + 2];
+        for (int id = 0; id < words; id++) {
+            lengthOffsets[dictionary.wordLength(id) + 1]++;
+        }
+        for (int length = 0; length <= maxLength; length++) {
+            lengthOffsets[length + 1] += lengthOffsets[length];
+        }
+        byLength = new int[words];
+        int[] next = lengthOffsets.clone();
+        for (int id = 0; id < words; id++) {
+            byLength[next[dictionary.wordLength(id)]++] = id;
+        }
+        groups = new AtomicReferenceArray<>(maxLength + 1);
+    }
+
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the number of dictionary words with the given length.
+     */
+    public int wordsOfLength(int length) {
+        if (length < 0 || length >= groups.length()) {
+            return 0;
+        }
+        return lengthOffsets[length + 1] - lengthOffsets[length];
+    }
+
+    LengthGroup group(int length) {
+        if (wordsOfLength(length) == 0) {
+            return null;
+        }
+        LengthGroup group = groups.get(length);
+        if (group == null) {
+            int[] ids = Arrays.copyOfRange(byLength, lengthOffsets[length], lengthOffsets[length + 1]);
+            group = new LengthGroup(dictionary, length, ids);
+            // Racing builders produce identical groups; keep whichever landed first
+            if (!groups.compareAndSet(length, null, group)) {
+                group = groups.get(length);
+            }
+        }
+        return group;
+    }
+}
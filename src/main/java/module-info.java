@@ -3,7 +3,18 @@ module com.hangman {
     requires javafx.fxml;
     requires transitive javafx.graphics;
     requires javafx.base;
+    requires jdk.httpserver;
+    requires jdk.jfr;
+    requires com.fasterxml.jackson.core;
+    requires com.fasterxml.jackson.databind;
     
     opens com.hangman to javafx.fxml;
     exports com.hangman;
+    exports com.hangman.dictionary;
+    exports com.hangman.solver;
+    exports com.hangman.sim;
+    exports com.hangman.journal;
+    exports com.hangman.leaderboard;
+    exports com.hangman.server;
+    exports com.hangman.metrics;
 }